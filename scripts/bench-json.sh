@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Compare reflective Jackson serialization with the hand-written serializers (kz.aitu.music_library_api.json)
+# on list-sized responses: throughput and bytes allocated per response. Needs no database.
+#
+#   scripts/bench-json.sh [seconds-per-run]
+set -euo pipefail
+
+SECONDS_PER_RUN=${1:-5}
+CP_FILE=$(mktemp)
+trap 'rm -f "$CP_FILE"' EXIT
+
+mvn -q -B test-compile dependency:build-classpath -Dmdep.outputFile="$CP_FILE" -Dmdep.includeScope=test
+java -cp "target/test-classes:target/classes:$(cat "$CP_FILE")" \
+    kz.aitu.music_library_api.json.JsonSerializationBenchmark "$SECONDS_PER_RUN"
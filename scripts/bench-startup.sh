@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Compare startup time and memory of the plain JVM build, the AOT + CDS build (-Paot) and, when
+# GraalVM's native-image is on the PATH, the native executable (-Pnative). Linux only (reads /proc).
+#
+#   scripts/bench-startup.sh [runs]
+#
+# Startup is the time from launch to the first response from /api/cache/stats, which reads no table,
+# so the database need not be running. RSS is read right after it. Each variant is
+# started [runs] times and the medians are printed.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=8099
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+# Each build starts clean: AOT-generated classes left in target/ would leak into the others.
+# The CDS training run logs a database error when none is running; that is expected.
+build() {
+  mvn -B -DskipTests "$@" > "$WORK/build.log" 2>&1 || { cat "$WORK/build.log"; exit 1; }
+}
+
+build clean package
+cp target/music-library-api-1.0.0.jar "$WORK/baseline.jar"
+NATIVE=
+if command -v native-image > /dev/null; then
+  build -Pnative clean native:compile
+  cp target/music-library-api "$WORK/music-library-api"
+  NATIVE=$WORK/music-library-api
+fi
+build -Paot clean package
+
+now_ms() { date +%s%3N; }
+rss_mb() { awk '/VmRSS/ { printf "%d", $2 / 1024 }' "/proc/$1/status"; }
+median() { sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+
+# run <name> <working dir> <command...>
+run() {
+  local name=$1 dir=$2
+  shift 2
+  local times=() rss=()
+  for _ in $(seq "$RUNS"); do
+    local start pid
+    start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port=$PORT > /dev/null 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/cache/stats"; do
+      kill -0 "$pid" 2> /dev/null || { echo "$name exited during startup" >&2; exit 1; }
+      sleep 0.02
+    done
+    times+=($(( $(now_ms) - start )))
+    rss+=("$(rss_mb "$pid")")
+    kill "$pid"
+    wait "$pid" || true
+  done
+  printf '%-8s startup %6s ms   RSS %4s MB\n' "$name" \
+    "$(printf '%s\n' "${times[@]}" | median)" "$(printf '%s\n' "${rss[@]}" | median)"
+}
+
+run jvm . java -jar "$WORK/baseline.jar"
+# The archive only applies to the classpath it was trained with, so run from target/ as the training run did
+run aot+cds target java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar music-library-api-1.0.0.jar
+if [ -n "$NATIVE" ]; then
+  run native . "$NATIVE"
+fi
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Compare platform-thread and virtual-thread request handling under the same load.
+# Needs a Java 21 JDK, wrk (https://github.com/wg/wrk) and the database from application.properties.
+#
+#   scripts/bench-threads.sh [connections] [duration]
+#
+# Requests go to /api/media/search with a random keyword each time, so they miss every cache
+# level and block in JDBC: the case virtual threads are meant for. Both runs use the same pool
+# size, so the difference comes from the threading model alone.
+set -euo pipefail
+
+CONNECTIONS=${1:-1000}
+DURATION=${2:-60s}
+PORT=8080
+POOL_SIZE=50
+JAR=target/music-library-api-1.0.0.jar
+LUA=$(mktemp)
+trap 'rm -f "$LUA"' EXIT
+
+cat > "$LUA" <<'LUA'
+local chars = "abcdefghijklmnopqrstuvwxyz"
+request = function()
+  local keyword = ""
+  for i = 1, 8 do
+    local n = math.random(1, #chars)
+    keyword = keyword .. chars:sub(n, n)
+  end
+  return wrk.format("GET", "/api/media/search?keyword=" .. keyword)
+end
+LUA
+
+./mvnw -q -Pjava21 -DskipTests package
+
+run() {
+  local mode=$1 profile=$2
+  java -jar "$JAR" --server.port=$PORT --spring.profiles.active="$profile" \
+       --spring.datasource.hikari.maximum-pool-size=$POOL_SIZE > "target/bench-$mode.log" 2>&1 &
+  local pid=$!
+  until curl -s -o /dev/null "http://localhost:$PORT/api/media"; do sleep 1; done
+
+  wrk -t4 -c100 -d10s -s "$LUA" "http://localhost:$PORT" > /dev/null # warm-up
+  echo "== $mode threads: $CONNECTIONS connections, $DURATION =="
+  wrk -t8 -c"$CONNECTIONS" -d"$DURATION" --latency -s "$LUA" "http://localhost:$PORT"
+
+  kill "$pid"
+  wait "$pid" || true
+}
+
+run platform default
+run virtual virtual
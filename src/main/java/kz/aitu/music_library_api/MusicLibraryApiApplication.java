@@ -2,9 +2,13 @@ package kz.aitu.music_library_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 
-@SpringBootApplication
+/* R2DBC is only used by the reactive variant (reactive.ReactiveMusicLibraryApplication) */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ImportRuntimeHints(MusicLibraryRuntimeHints.class)
 public class MusicLibraryApiApplication {
 
     public static void main(String[] args) {
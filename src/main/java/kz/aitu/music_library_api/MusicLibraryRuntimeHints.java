@@ -0,0 +1,27 @@
+package kz.aitu.music_library_api;
+
+import kz.aitu.music_library_api.changes.ChangeEvent;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection and resource hints for the AOT / native-image build (mvn -Paot, -Pnative).
+ *
+ * Controller parameter and return types (Media, Playlist, the DTOs) and every bean,
+ * MediaFactory included, are registered by Spring's AOT processing itself. Listed here
+ * is what Jackson only meets at runtime: the concrete Media types behind a List<Media>
+ * and the change feed events written by SseEmitter.
+ */
+class MusicLibraryRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), Song.class, Podcast.class, ChangeEvent.class);
+        hints.resources().registerPattern("static/schema/*.json");
+    }
+}
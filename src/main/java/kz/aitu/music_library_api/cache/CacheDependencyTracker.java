@@ -0,0 +1,38 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collects the tags of every cache entry read on the current thread between
+ * begin() and end(). Used to tag derived entries (cached HTTP responses) with
+ * everything they were built from, so they are invalidated together.
+ */
+public final class CacheDependencyTracker {
+
+    private static final ThreadLocal<Set<String>> DEPENDENCIES = new ThreadLocal<>();
+
+    private CacheDependencyTracker() {}
+
+    public static void begin() {
+        DEPENDENCIES.set(new HashSet<>());
+    }
+
+    public static void record(String key, Collection<String> tags) {
+        Set<String> dependencies = DEPENDENCIES.get();
+        if (dependencies != null) {
+            dependencies.add(CacheTags.key(key));
+            dependencies.addAll(tags);
+        }
+    }
+
+    /**
+     * Stop tracking and return what was read (empty if nothing was cached)
+     */
+    public static Set<String> end() {
+        Set<String> dependencies = DEPENDENCIES.get();
+        DEPENDENCIES.remove();
+        return dependencies != null ? dependencies : Set.of();
+    }
+}
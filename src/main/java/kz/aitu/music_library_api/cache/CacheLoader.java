@@ -0,0 +1,13 @@
+package kz.aitu.music_library_api.cache;
+
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+
+/**
+ * Computes the value for a cache key on a miss.
+ * Returning null means "nothing to cache" (e.g. the resource does not exist).
+ */
+@FunctionalInterface
+public interface CacheLoader<T> {
+
+    T load() throws DatabaseOperationException;
+}
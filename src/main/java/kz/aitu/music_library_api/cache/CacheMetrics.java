@@ -0,0 +1,108 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-region cache statistics.
+ * A region is the key prefix up to the second ':' (media:id, media:all, playlist:name, ...).
+ * Counters are LongAdders, so recording from many request threads does not contend.
+ */
+public class CacheMetrics {
+
+    private final Map<String, RegionCounters> regions = new ConcurrentHashMap<>();
+
+    public static String regionOf(String key) {
+        int first = key.indexOf(':');
+        if (first < 0) {
+            return key;
+        }
+        int second = key.indexOf(':', first + 1);
+        return second < 0 ? key : key.substring(0, second);
+    }
+
+    public RegionCounters region(String key) {
+        return regions.computeIfAbsent(regionOf(key), r -> new RegionCounters());
+    }
+
+    public void recordHit(String key) {
+        region(key).hits.increment();
+    }
+
+    public void recordMiss(String key) {
+        region(key).misses.increment();
+    }
+
+    public void recordLoad(String key, long nanos, boolean success) {
+        RegionCounters counters = region(key);
+        if (success) {
+            counters.loads.increment();
+        } else {
+            counters.loadFailures.increment();
+        }
+        counters.loadTime.record(nanos);
+    }
+
+    public void recordStore(String key, long bytes) {
+        region(key).bytes.add(bytes);
+    }
+
+    public void recordEviction(String key, long bytes) {
+        RegionCounters counters = region(key);
+        counters.evictions.increment();
+        counters.bytes.add(-bytes);
+    }
+
+    public void recordInvalidation(String key, long bytes) {
+        RegionCounters counters = region(key);
+        counters.invalidations.increment();
+        counters.bytes.add(-bytes);
+    }
+
+    /* A load finished after an invalidation that may have covered it, so its result was not cached */
+    public void recordStaleFill(String key) {
+        region(key).staleFills.increment();
+    }
+
+    public void recordPatch(String key, long oldBytes, long newBytes) {
+        RegionCounters counters = region(key);
+        counters.patches.increment();
+        counters.bytes.add(newBytes - oldBytes);
+    }
+
+    /* A load failed and the last known (stale) value was returned instead */
+    public void recordStaleServed(String key) {
+        region(key).staleServed.increment();
+    }
+
+    public void recordReplace(String key, long bytes) {
+        region(key).bytes.add(-bytes);
+    }
+
+    /**
+     * Bytes currently held by the regions whose name starts with the prefix
+     */
+    public long bytes(String regionPrefix) {
+        long total = 0;
+        for (Map.Entry<String, RegionCounters> region : regions.entrySet()) {
+            if (region.getKey().startsWith(regionPrefix)) {
+                total += region.getValue().bytes.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Snapshot of every region, sorted by region name
+     */
+    public Map<String, RegionStats> snapshot() {
+        Map<String, RegionStats> snapshot = new TreeMap<>();
+        regions.forEach((region, counters) -> snapshot.put(region, counters.snapshot()));
+        return snapshot;
+    }
+
+    public void reset() {
+        regions.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.Collection;
+
+/**
+ * A write applied to cached entries in place of invalidating them (see CacheManager.patchTags).
+ * Cached values are frozen and shared, so a patch must build a new value (copy-on-write)
+ * rather than modify the one it is given.
+ */
+public interface CachePatch {
+
+    /**
+     * New value for key given its cached value (null for a cached "not found").
+     * Returning null drops the entry, for entries the write cannot be applied to.
+     */
+    Object apply(String key, Object current);
+
+    /**
+     * Tags of the patched value (see CacheTags)
+     */
+    Collection<String> tags(String key, Object patched);
+}
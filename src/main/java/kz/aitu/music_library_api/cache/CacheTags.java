@@ -0,0 +1,104 @@
+package kz.aitu.music_library_api.cache;
+
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tag names used to index cache entries by what they depend on.
+ * Entries are tagged with the ids they contain plus the query they answer,
+ * so a write only invalidates the entries it can actually affect.
+ */
+public final class CacheTags {
+
+    public static final String MEDIA_ALL = "media-all";
+    public static final String MEDIA_SEARCH = "media-search";
+    public static final String PLAYLIST_ALL = "playlist-all";
+    /* Playlist summaries aggregate item durations, so media duration changes and deletes affect them */
+    public static final String PLAYLIST_SUMMARY = "playlist-summary";
+
+    private CacheTags() {}
+
+    /**
+     * Tag carried by entries derived from another cache entry (e.g. a cached HTTP response
+     * built from media:all); removing that entry also removes its dependents
+     */
+    public static String key(String cacheKey) {
+        return "key:" + cacheKey;
+    }
+
+    public static String media(int id) {
+        return "media#" + id;
+    }
+
+    public static String mediaType(Media.MediaType type) {
+        return "media-type#" + type.name();
+    }
+
+    public static String mediaCreator(String creator) {
+        return "media-creator#" + creator.toLowerCase();
+    }
+
+    public static String playlist(int id) {
+        return "playlist#" + id;
+    }
+
+    public static String playlistName(String name) {
+        return "playlist-name#" + name.toLowerCase();
+    }
+
+    public static Set<String> ofMedia(Media media) {
+        return media == null ? Set.of() : Set.of(media(media.getId()));
+    }
+
+    public static Set<String> ofMediaList(Collection<? extends Media> mediaList, String... queryTags) {
+        Set<String> tags = new HashSet<>(Set.of(queryTags));
+        for (Media media : mediaList) {
+            tags.add(media(media.getId()));
+        }
+        return tags;
+    }
+
+    public static Set<String> ofPlaylist(Playlist playlist, String... queryTags) {
+        Set<String> tags = new HashSet<>(Set.of(queryTags));
+        if (playlist != null) {
+            addPlaylist(tags, playlist);
+        }
+        return tags;
+    }
+
+    public static Set<String> ofPlaylists(Collection<Playlist> playlists, String... queryTags) {
+        Set<String> tags = new HashSet<>(Set.of(queryTags));
+        for (Playlist playlist : playlists) {
+            addPlaylist(tags, playlist);
+        }
+        return tags;
+    }
+
+    public static Set<String> ofPlaylistSummaries(Collection<PlaylistSummary> summaries, String... queryTags) {
+        Set<String> tags = new HashSet<>(Set.of(queryTags));
+        tags.add(PLAYLIST_SUMMARY);
+        for (PlaylistSummary summary : summaries) {
+            tags.add(playlist(summary.getId()));
+        }
+        return tags;
+    }
+
+    public static Set<String> ofItemsPage(int playlistId, PlaylistItemsPage page) {
+        Set<String> tags = ofMediaList(page.getItems());
+        tags.add(playlist(playlistId));
+        return tags;
+    }
+
+    private static void addPlaylist(Set<String> tags, Playlist playlist) {
+        tags.add(playlist(playlist.getId()));
+        for (Media media : playlist.getItems()) {
+            tags.add(media(media.getId()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package kz.aitu.music_library_api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A fully serialized HTTP response body, plus its gzip encoding when that is smaller
+ */
+public class CachedResponse {
+
+    private static final int MIN_GZIP_SIZE = 1024;
+
+    private final String contentType;
+    private final byte[] body;
+    private final byte[] gzipBody;
+
+    public CachedResponse(String contentType, byte[] body) {
+        this.contentType = contentType;
+        this.body = body;
+        this.gzipBody = body.length >= MIN_GZIP_SIZE ? gzip(body) : null;
+    }
+
+    public CachedResponse(String contentType, byte[] body, byte[] gzipBody) {
+        this.contentType = contentType;
+        this.body = body;
+        this.gzipBody = gzipBody;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public boolean hasGzip() {
+        return gzipBody != null;
+    }
+
+    public byte[] getGzipBody() {
+        return gzipBody;
+    }
+
+    public long getSize() {
+        return body.length + (gzipBody != null ? gzipBody.length : 0);
+    }
+}
@@ -0,0 +1,122 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Generation counter used to reject stale cache fills.
+ *
+ * Every invalidation advances a global generation and stamps what it touched: tags and keys
+ * into a fixed array of hashed stripes, patterns into a short log. A load remembers the
+ * generation it started at; when it stores, the value is stale if any stripe of its key or
+ * tags, or any later pattern matching its key, was stamped after that. Hash collisions and
+ * a truncated pattern log only ever make a fill look stale, so the error is always "not cached",
+ * never "stale value served".
+ *
+ * Invalidations must stamp before removing entries, and fills must index before checking;
+ * then either the fill sees the stamp or the invalidation sees the indexed entry.
+ */
+public class InvalidationClock {
+
+    private static final int STRIPES = 4096;
+    private static final int MAX_PATTERNS = 256;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES);
+    private final Deque<PatternStamp> patterns = new ArrayDeque<>();
+    private volatile long patternFloor;
+    private volatile long lastPattern;
+    private volatile long clearedAt;
+
+    public long current() {
+        return generation.get();
+    }
+
+    public void invalidateKey(String key) {
+        stamp(CacheTags.key(key), generation.incrementAndGet());
+    }
+
+    public void invalidateTags(Collection<String> tags) {
+        long stamp = generation.incrementAndGet();
+        for (String tag : tags) {
+            stamp(tag, stamp);
+        }
+    }
+
+    public synchronized void invalidateMatching(Predicate<String> keyMatcher) {
+        long stamp = generation.incrementAndGet();
+        patterns.addLast(new PatternStamp(stamp, keyMatcher));
+        lastPattern = stamp;
+        if (patterns.size() > MAX_PATTERNS) {
+            patternFloor = patterns.removeFirst().stamp;
+        }
+    }
+
+    public void invalidateAll() {
+        clearedAt = generation.incrementAndGet();
+    }
+
+    /**
+     * Whether a value for key carrying tags, loaded starting at generation since,
+     * may have been invalidated while it was loading
+     */
+    public boolean isStale(long since, String key, Collection<String> tags) {
+        if (generation.get() == since) {
+            return false;
+        }
+        if (clearedAt > since || stampOf(CacheTags.key(key)) > since) {
+            return true;
+        }
+        for (String tag : tags) {
+            if (stampOf(tag) > since) {
+                return true;
+            }
+        }
+        return lastPattern > since && matchesPatternSince(since, key);
+    }
+
+    private synchronized boolean matchesPatternSince(long since, String key) {
+        if (patternFloor > since) {
+            return true; // a pattern we no longer remember may have matched
+        }
+        Iterator<PatternStamp> iterator = patterns.descendingIterator();
+        while (iterator.hasNext()) {
+            PatternStamp pattern = iterator.next();
+            if (pattern.stamp <= since) {
+                break;
+            }
+            if (pattern.keyMatcher.test(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void stamp(String name, long stamp) {
+        stripes.accumulateAndGet(stripe(name), stamp, Math::max);
+    }
+
+    private long stampOf(String name) {
+        return stripes.get(stripe(name));
+    }
+
+    private static int stripe(String name) {
+        int h = name.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private static final class PatternStamp {
+        private final long stamp;
+        private final Predicate<String> keyMatcher;
+
+        private PatternStamp(long stamp, Predicate<String> keyMatcher) {
+            this.stamp = stamp;
+            this.keyMatcher = keyMatcher;
+        }
+    }
+}
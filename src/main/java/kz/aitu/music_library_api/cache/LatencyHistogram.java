@@ -0,0 +1,48 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram backed by striped counters
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MILLIS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long millis = nanos / 1_000_000;
+        int i = 0;
+        while (i < BOUNDS_MILLIS.length && millis >= BOUNDS_MILLIS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * Bucket counts keyed by upper bound ("<1ms", "<2ms", ..., ">=5000ms")
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            counts.put("<" + BOUNDS_MILLIS[i] + "ms", buckets[i].sum());
+        }
+        counts.put(">=" + BOUNDS_MILLIS[BOUNDS_MILLIS.length - 1] + "ms", buckets[BOUNDS_MILLIS.length].sum());
+        return counts;
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+}
@@ -0,0 +1,205 @@
+package kz.aitu.music_library_api.cache;
+
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of cached values for the off-heap tier.
+ * Supports Song, Podcast, Playlist, lists of those and CachedResponse.
+ * Ints are zigzag varints; strings are a varint length (0 = null, n = n-1 bytes) plus UTF-8.
+ */
+public final class MediaCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final byte SONG = 1;
+    private static final byte PODCAST = 2;
+    private static final byte PLAYLIST = 3;
+    private static final byte LIST = 4;
+    private static final byte RESPONSE = 5;
+
+    private MediaCodec() {}
+
+    public static boolean supports(Object value) {
+        if (value instanceof Media || value instanceof Playlist || value instanceof CachedResponse) {
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (!(element instanceof Media || element instanceof Playlist)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Encode a supported value (check supports() first)
+     */
+    public static byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeValue(out, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Object decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported cache codec version: " + version);
+            }
+            return readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Song song) {
+            out.writeByte(SONG);
+            writeMediaFields(out, song);
+            writeString(out, song.getAlbum());
+            writeString(out, song.getGenre());
+            out.writeDouble(song.getPrice());
+        } else if (value instanceof Podcast podcast) {
+            out.writeByte(PODCAST);
+            writeMediaFields(out, podcast);
+            writeString(out, podcast.getHost());
+            writeInt(out, podcast.getEpisodeNumber());
+            writeString(out, podcast.getCategory());
+        } else if (value instanceof Playlist playlist) {
+            out.writeByte(PLAYLIST);
+            writeInt(out, playlist.getId());
+            writeString(out, playlist.getName());
+            writeString(out, playlist.getDescription());
+            List<Media> items = playlist.getItems();
+            writeInt(out, items.size());
+            for (Media media : items) {
+                writeValue(out, media);
+            }
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            writeInt(out, list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof CachedResponse response) {
+            out.writeByte(RESPONSE);
+            writeString(out, response.getContentType());
+            writeBytes(out, response.getBody());
+            writeBytes(out, response.getGzipBody());
+        } else {
+            throw new IllegalArgumentException("Unsupported cache value: " + value.getClass().getName());
+        }
+    }
+
+    private static void writeMediaFields(DataOutputStream out, Media media) throws IOException {
+        writeInt(out, media.getId());
+        writeString(out, media.getName());
+        writeInt(out, media.getDuration());
+        writeString(out, media.getCreator());
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case SONG -> new Song(readInt(in), readString(in), readInt(in), readString(in),
+                    readString(in), readString(in), in.readDouble());
+            case PODCAST -> new Podcast(readInt(in), readString(in), readInt(in), readString(in),
+                    readString(in), readInt(in), readString(in));
+            case PLAYLIST -> readPlaylist(in);
+            case LIST -> readList(in);
+            case RESPONSE -> new CachedResponse(readString(in), readBytes(in), readBytes(in));
+            default -> throw new IllegalStateException("Unknown cache value type: " + type);
+        };
+    }
+
+    private static Playlist readPlaylist(DataInputStream in) throws IOException {
+        int id = readInt(in);
+        String name = readString(in);
+        String description = readString(in);
+        int size = readInt(in);
+        List<Media> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add((Media) readValue(in));
+        }
+        return new Playlist(id, name, description, items);
+    }
+
+    private static List<Object> readList(DataInputStream in) throws IOException {
+        int size = readInt(in);
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(in));
+        }
+        return list;
+    }
+
+    private static void writeInt(DataOutputStream out, int value) throws IOException {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            out.writeByte((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out.writeByte(zigzag);
+    }
+
+    private static int readInt(DataInputStream in) throws IOException {
+        int zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            zigzag |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            writeInt(out, 0);
+            return;
+        }
+        writeInt(out, value.length + 1);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = readInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
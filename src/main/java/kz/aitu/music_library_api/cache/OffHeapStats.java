@@ -0,0 +1,65 @@
+package kz.aitu.music_library_api.cache;
+
+/**
+ * Point-in-time usage of the off-heap cache tier
+ */
+public class OffHeapStats {
+    private final long maxBytes;
+    private final long allocatedBytes;
+    private final long usedBytes;
+    private final int entries;
+    private final long demotions;
+    private final long promotions;
+    private final long evictions;
+    private final long rejections;
+
+    public OffHeapStats(long maxBytes, long allocatedBytes, long usedBytes, int entries,
+                        long demotions, long promotions, long evictions, long rejections) {
+        this.maxBytes = maxBytes;
+        this.allocatedBytes = allocatedBytes;
+        this.usedBytes = usedBytes;
+        this.entries = entries;
+        this.demotions = demotions;
+        this.promotions = promotions;
+        this.evictions = evictions;
+        this.rejections = rejections;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getDemotions() {
+        return demotions;
+    }
+
+    public long getPromotions() {
+        return promotions;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getRejections() {
+        return rejections;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapStats{usedBytes=%d/%d, entries=%d, demotions=%d, promotions=%d, evictions=%d}",
+                usedBytes, maxBytes, entries, demotions, promotions, evictions);
+    }
+}
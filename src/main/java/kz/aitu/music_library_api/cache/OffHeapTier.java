@@ -0,0 +1,242 @@
+package kz.aitu.music_library_api.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Second cache tier holding MediaCodec-encoded entries outside the Java heap.
+ * Memory is a set of direct ByteBuffer slabs split into fixed-size pages; an entry
+ * occupies as many pages as its encoding needs. Slabs are allocated lazily up to
+ * maxBytes, after which the least recently used entries are evicted.
+ *
+ * slots is access-ordered, so its first entry is always the eviction victim. Reading an
+ * entry (take) moves it back to the heap, so an entry's last use here is its demotion.
+ */
+public class OffHeapTier {
+
+    private static final int PAGE_SIZE = 512;
+    private static final int SLAB_SIZE = 8 * 1024 * 1024;
+    private static final int PAGES_PER_SLAB = SLAB_SIZE / PAGE_SIZE;
+
+    private final long maxBytes;
+    private final int maxPages;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final Map<String, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] freePages = new int[0];
+    private int freeCount;
+    private long usedBytes;
+
+    private final LongAdder demotions = new LongAdder();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public OffHeapTier(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.maxPages = (int) Math.min(Integer.MAX_VALUE, maxBytes / PAGE_SIZE);
+    }
+
+    public boolean isEnabled() {
+        return maxPages > 0;
+    }
+
+    /**
+     * Store an entry demoted from the heap tier. Returns false if it cannot be held
+     * (unsupported type or larger than a quarter of the tier). The key and tags of
+     * every entry pushed out to make room are added to evicted.
+     */
+    public boolean put(String key, Object value, Set<String> tags, Map<String, Set<String>> evicted) {
+        if (!isEnabled() || !MediaCodec.supports(value)) {
+            rejections.increment();
+            return false;
+        }
+        byte[] data = MediaCodec.encode(value);
+        int pagesNeeded = Math.max(1, (data.length + PAGE_SIZE - 1) / PAGE_SIZE);
+        if (pagesNeeded > maxPages / 4) {
+            rejections.increment();
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Slot previous = slots.remove(key);
+            if (previous != null) {
+                release(previous);
+            }
+            while (!reserve(pagesNeeded)) {
+                Iterator<Slot> oldest = slots.values().iterator();
+                Slot victim = oldest.next();
+                oldest.remove();
+                release(victim);
+                evictions.increment();
+                evicted.put(victim.key, victim.tags);
+            }
+            Slot slot = new Slot(key, tags, data.length, new int[pagesNeeded]);
+            for (int i = 0; i < pagesNeeded; i++) {
+                slot.pages[i] = freePages[--freeCount];
+                int offset = i * PAGE_SIZE;
+                write(slot.pages[i], data, offset, Math.min(PAGE_SIZE, data.length - offset));
+            }
+            slots.put(key, slot);
+            usedBytes += (long) pagesNeeded * PAGE_SIZE;
+            demotions.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Remove and decode an entry for promotion back to the heap tier, or null if absent
+     */
+    public Promoted take(String key) {
+        // Most callers miss: answer those under the shared lock and only upgrade on a hit
+        if (!contains(key)) {
+            return null;
+        }
+        byte[] data;
+        Set<String> tags;
+        lock.writeLock().lock();
+        try {
+            Slot slot = slots.remove(key);
+            if (slot == null) {
+                return null;
+            }
+            data = new byte[slot.length];
+            for (int i = 0; i < slot.pages.length; i++) {
+                int offset = i * PAGE_SIZE;
+                read(slot.pages[i], data, offset, Math.min(PAGE_SIZE, slot.length - offset));
+            }
+            tags = slot.tags;
+            release(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        promotions.increment();
+        return new Promoted(MediaCodec.decode(data), tags);
+    }
+
+    /**
+     * Drop an entry, returning its tags (or null if it was not held here)
+     */
+    public Set<String> remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = slots.remove(key);
+            if (slot == null) {
+                return null;
+            }
+            release(slot);
+            return slot.tags;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return slots.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OffHeapStats getStats() {
+        lock.readLock().lock();
+        try {
+            return new OffHeapStats(maxBytes, (long) slabs.size() * SLAB_SIZE, usedBytes, slots.size(),
+                    demotions.sum(), promotions.sum(), evictions.sum(), rejections.sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean reserve(int pages) {
+        while (freeCount < pages) {
+            int allocatedPages = slabs.size() * PAGES_PER_SLAB;
+            if (allocatedPages >= maxPages) {
+                return false;
+            }
+            addSlab(Math.min(PAGES_PER_SLAB, maxPages - allocatedPages));
+        }
+        return true;
+    }
+
+    private void addSlab(int pages) {
+        int firstPage = slabs.size() * PAGES_PER_SLAB;
+        slabs.add(ByteBuffer.allocateDirect(pages * PAGE_SIZE));
+        if (freePages.length < freeCount + pages) {
+            int[] grown = new int[freeCount + pages];
+            System.arraycopy(freePages, 0, grown, 0, freeCount);
+            freePages = grown;
+        }
+        for (int i = pages - 1; i >= 0; i--) {
+            freePages[freeCount++] = firstPage + i;
+        }
+    }
+
+    private void release(Slot slot) {
+        if (freePages.length < freeCount + slot.pages.length) {
+            int[] grown = new int[Math.max(freePages.length * 2, freeCount + slot.pages.length)];
+            System.arraycopy(freePages, 0, grown, 0, freeCount);
+            freePages = grown;
+        }
+        for (int page : slot.pages) {
+            freePages[freeCount++] = page;
+        }
+        usedBytes -= (long) slot.pages.length * PAGE_SIZE;
+    }
+
+    private void write(int page, byte[] src, int offset, int length) {
+        slabs.get(page / PAGES_PER_SLAB).put((page % PAGES_PER_SLAB) * PAGE_SIZE, src, offset, length);
+    }
+
+    private void read(int page, byte[] dst, int offset, int length) {
+        slabs.get(page / PAGES_PER_SLAB).get((page % PAGES_PER_SLAB) * PAGE_SIZE, dst, offset, length);
+    }
+
+    private static class Slot {
+        final String key;
+        final Set<String> tags;
+        final int length;
+        final int[] pages;
+
+        Slot(String key, Set<String> tags, int length, int[] pages) {
+            this.key = key;
+            this.tags = tags;
+            this.length = length;
+            this.pages = pages;
+        }
+    }
+
+    /**
+     * A decoded entry leaving the off-heap tier
+     */
+    public static class Promoted {
+        private final Object value;
+        private final Set<String> tags;
+
+        Promoted(Object value, Set<String> tags) {
+            this.value = value;
+            this.tags = tags;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+    }
+}
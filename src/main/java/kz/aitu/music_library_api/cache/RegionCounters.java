@@ -0,0 +1,37 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for one cache region (see CacheMetrics)
+ */
+public class RegionCounters {
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder loads = new LongAdder();
+    final LongAdder loadFailures = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder invalidations = new LongAdder();
+    final LongAdder staleFills = new LongAdder();
+    final LongAdder patches = new LongAdder();
+    final LongAdder staleServed = new LongAdder();
+    final LongAdder bytes = new LongAdder();
+    final LatencyHistogram loadTime = new LatencyHistogram();
+
+    RegionStats snapshot() {
+        return new RegionStats(
+                hits.sum(),
+                misses.sum(),
+                loads.sum(),
+                loadFailures.sum(),
+                evictions.sum(),
+                invalidations.sum(),
+                staleFills.sum(),
+                patches.sum(),
+                staleServed.sum(),
+                Math.max(0, bytes.sum()),
+                loadTime.totalNanos(),
+                loadTime.snapshot());
+    }
+}
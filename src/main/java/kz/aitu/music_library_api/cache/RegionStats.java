@@ -0,0 +1,101 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.Map;
+
+/**
+ * Point-in-time statistics for one cache region
+ */
+public class RegionStats {
+    private final long hits;
+    private final long misses;
+    private final long loads;
+    private final long loadFailures;
+    private final long evictions;
+    private final long invalidations;
+    private final long staleFills;
+    private final long patches;
+    private final long staleServed;
+    private final long estimatedBytes;
+    private final long totalLoadNanos;
+    private final Map<String, Long> loadTimeHistogram;
+
+    public RegionStats(long hits, long misses, long loads, long loadFailures, long evictions,
+                       long invalidations, long staleFills, long patches, long staleServed,
+                       long estimatedBytes, long totalLoadNanos,
+                       Map<String, Long> loadTimeHistogram) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loads = loads;
+        this.loadFailures = loadFailures;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.staleFills = staleFills;
+        this.patches = patches;
+        this.staleServed = staleServed;
+        this.estimatedBytes = estimatedBytes;
+        this.totalLoadNanos = totalLoadNanos;
+        this.loadTimeHistogram = loadTimeHistogram;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public long getLoadFailures() {
+        return loadFailures;
+    }
+
+    public double getAverageLoadMillis() {
+        long attempts = loads + loadFailures;
+        return attempts == 0 ? 0.0 : totalLoadNanos / 1_000_000.0 / attempts;
+    }
+
+    public Map<String, Long> getLoadTimeHistogram() {
+        return loadTimeHistogram;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public long getStaleFills() {
+        return staleFills;
+    }
+
+    public long getPatches() {
+        return patches;
+    }
+
+    public long getStaleServed() {
+        return staleServed;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegionStats{hits=%d, misses=%d, hitRatio=%.3f, loads=%d, loadFailures=%d, " +
+                        "evictions=%d, invalidations=%d, staleFills=%d, patches=%d, staleServed=%d, estimatedBytes=%d}",
+                hits, misses, getHitRatio(), loads, loadFailures, evictions, invalidations, staleFills,
+                patches, staleServed, estimatedBytes);
+    }
+}
@@ -0,0 +1,69 @@
+package kz.aitu.music_library_api.cache;
+
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+
+import java.util.Collection;
+
+/**
+ * Rough retained-heap estimate for cached values.
+ * Good enough for comparing regions; not a substitute for a heap dump.
+ */
+public final class SizeEstimator {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private SizeEstimator() {}
+
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return estimate(string);
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + bytes.length;
+        }
+        if (value instanceof CachedResponse response) {
+            return OBJECT_HEADER + 3 * REFERENCE + 2 * OBJECT_HEADER + response.getSize();
+        }
+        if (value instanceof Media media) {
+            return estimate(media);
+        }
+        if (value instanceof Playlist playlist) {
+            long size = OBJECT_HEADER + 4 * REFERENCE + estimate(playlist.getName())
+                    + estimate(playlist.getDescription());
+            return size + estimateCollection(playlist.getItems());
+        }
+        if (value instanceof Collection<?> collection) {
+            return estimateCollection(collection);
+        }
+        return OBJECT_HEADER + 2 * REFERENCE;
+    }
+
+    private static long estimate(Media media) {
+        long size = OBJECT_HEADER + 5 * REFERENCE + estimate(media.getName()) + estimate(media.getCreator());
+        if (media instanceof Song song) {
+            size += 16 + estimate(song.getAlbum()) + estimate(song.getGenre());
+        } else if (media instanceof Podcast podcast) {
+            size += 16 + estimate(podcast.getHost()) + estimate(podcast.getCategory());
+        }
+        return size;
+    }
+
+    private static long estimate(String string) {
+        return string == null ? 0 : 40 + string.length();
+    }
+
+    private static long estimateCollection(Collection<?> collection) {
+        long size = OBJECT_HEADER + 16 + (long) collection.size() * REFERENCE;
+        for (Object element : collection) {
+            size += estimate(element);
+        }
+        return size;
+    }
+}
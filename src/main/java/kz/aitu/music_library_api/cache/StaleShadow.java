@@ -0,0 +1,65 @@
+package kz.aitu.music_library_api.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Last known values of entries that were invalidated, expired or evicted, kept only so
+ * they can be served (marked stale) when reloading fails because the database is down.
+ * Bounded, least recently remembered first out.
+ */
+public class StaleShadow {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Object> values;
+
+    public StaleShadow(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.values = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > StaleShadow.this.maxEntries;
+            }
+        };
+    }
+
+    public void remember(String key, Object value) {
+        if (maxEntries <= 0 || value == null) {
+            return;
+        }
+        synchronized (values) {
+            values.remove(key);
+            values.put(key, value);
+        }
+    }
+
+    public void forget(String key) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        synchronized (values) {
+            values.remove(key);
+        }
+    }
+
+    public Object get(String key) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        synchronized (values) {
+            return values.get(key);
+        }
+    }
+
+    public int size() {
+        synchronized (values) {
+            return values.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (values) {
+            values.clear();
+        }
+    }
+}
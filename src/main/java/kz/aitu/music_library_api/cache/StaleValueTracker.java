@@ -0,0 +1,24 @@
+package kz.aitu.music_library_api.cache;
+
+/**
+ * Flags the current request as having been answered from stale cache data
+ * (see CacheManager.getOrLoad), so the response can say so and is not cached itself.
+ */
+public final class StaleValueTracker {
+
+    private static final ThreadLocal<Boolean> STALE = new ThreadLocal<>();
+
+    private StaleValueTracker() {}
+
+    public static void markStale() {
+        STALE.set(Boolean.TRUE);
+    }
+
+    public static boolean isStale() {
+        return STALE.get() != null;
+    }
+
+    public static void clear() {
+        STALE.remove();
+    }
+}
@@ -0,0 +1,146 @@
+package kz.aitu.music_library_api.cache.sim;
+
+import kz.aitu.music_library_api.cache.trace.TraceEvent;
+import kz.aitu.music_library_api.cache.trace.TraceReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replays a cache trace (cache.trace.enabled=true) against other policies and sizes.
+ *
+ * <pre>
+ * java -cp target/classes kz.aitu.music_library_api.cache.sim.CacheSimulator logs/cache-trace.bin \
+ *      --sizes=1000,10000,100000 --policies=lru,lfu,w-tinylfu,lru+ttl=60s
+ * </pre>
+ *
+ * Policies: lru, lfu, w-tinylfu, each optionally followed by +ttl=&lt;duration&gt; (500ms, 30s, 5m).
+ * A read miss is filled like getOrLoad does, with the key's last recorded size.
+ */
+public final class CacheSimulator {
+
+    private static final String DEFAULT_SIZES = "1000,10000,100000";
+    private static final String DEFAULT_POLICIES = "lru,lfu,w-tinylfu,lru+ttl=60s,w-tinylfu+ttl=60s";
+
+    private CacheSimulator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: CacheSimulator <trace-file> [--sizes=" + DEFAULT_SIZES
+                    + "] [--policies=" + DEFAULT_POLICIES + "]");
+            System.exit(2);
+        }
+
+        Path trace = Path.of(args[0]);
+        String sizes = DEFAULT_SIZES;
+        String policies = DEFAULT_POLICIES;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--sizes=")) {
+                sizes = args[i].substring("--sizes=".length());
+            } else if (args[i].startsWith("--policies=")) {
+                policies = args[i].substring("--policies=".length());
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        try (TraceReader reader = TraceReader.open(trace)) {
+            System.out.printf("Trace %s: %d bytes, sample rate %s%n",
+                    trace, Files.size(trace), reader.getSampleRate());
+        }
+        System.out.printf("%-20s %10s %10s %12s %12s%n", "policy", "size", "hit ratio", "avg MB", "peak MB");
+        for (String policy : policies.split(",")) {
+            for (String size : sizes.split(",")) {
+                System.out.println(simulate(trace, policy.trim(), Integer.parseInt(size.trim())));
+            }
+        }
+    }
+
+    /**
+     * Replay trace against policy with room for capacity entries (before sampling)
+     */
+    public static SimulationResult simulate(Path trace, String policy, int capacity) throws IOException {
+        try (TraceReader reader = TraceReader.open(trace)) {
+            double sampleRate = reader.getSampleRate();
+            SimulatedCache cache = create(policy, (int) Math.max(1, Math.round(capacity * sampleRate)));
+
+            Map<Long, Integer> sizes = new HashMap<>();
+            long knownBytes = 0;
+            long hits = 0;
+            long misses = 0;
+            long byteSamples = 0;
+            long events = 0;
+            long peakBytes = 0;
+
+            for (TraceEvent event = reader.next(); event != null; event = reader.next()) {
+                long key = event.getKey();
+                long now = event.getTimeMicros();
+                if (event.getBytes() > 0) {
+                    Integer previous = sizes.put(key, event.getBytes());
+                    knownBytes += event.getBytes() - (previous != null ? previous : 0);
+                }
+
+                switch (event.getOp()) {
+                    case TraceEvent.GET -> {
+                        if (cache.get(key, now)) {
+                            hits++;
+                        } else {
+                            misses++;
+                            int average = sizes.isEmpty() ? 1 : (int) (knownBytes / sizes.size());
+                            cache.put(key, sizes.getOrDefault(key, average), now);
+                        }
+                    }
+                    case TraceEvent.PUT -> cache.put(key, event.getBytes(), now);
+                    case TraceEvent.INVALIDATE -> cache.invalidate(key);
+                    default -> throw new IOException("Unknown trace op: " + event.getOp());
+                }
+
+                events++;
+                byteSamples += cache.bytes();
+                peakBytes = Math.max(peakBytes, cache.bytes());
+            }
+
+            long averageBytes = events == 0 ? 0 : byteSamples / events;
+            return new SimulationResult(policy, capacity, hits, misses,
+                    Math.round(averageBytes / sampleRate), Math.round(peakBytes / sampleRate));
+        }
+    }
+
+    /**
+     * Build a policy from its name, e.g. "w-tinylfu" or "lru+ttl=30s"
+     */
+    public static SimulatedCache create(String policy, int capacity) {
+        String[] parts = policy.toLowerCase().split("\\+");
+        SimulatedCache cache = switch (parts[0]) {
+            case "lru" -> new LruCache(capacity);
+            case "lfu" -> new LfuCache(capacity);
+            case "w-tinylfu", "wtinylfu" -> new WTinyLfuCache(capacity);
+            default -> throw new IllegalArgumentException("Unknown cache policy: " + parts[0]);
+        };
+
+        for (int i = 1; i < parts.length; i++) {
+            String modifier = parts[i];
+            if (!modifier.startsWith("ttl=")) {
+                throw new IllegalArgumentException("Unknown policy modifier: " + modifier);
+            }
+            cache = new TtlCache(cache, parseDurationMicros(modifier.substring("ttl=".length())));
+        }
+        return cache;
+    }
+
+    private static long parseDurationMicros(String duration) {
+        if (duration.endsWith("ms")) {
+            return Long.parseLong(duration.substring(0, duration.length() - 2)) * 1_000;
+        }
+        if (duration.endsWith("s")) {
+            return Long.parseLong(duration.substring(0, duration.length() - 1)) * 1_000_000;
+        }
+        if (duration.endsWith("m")) {
+            return Long.parseLong(duration.substring(0, duration.length() - 1)) * 60_000_000;
+        }
+        return Long.parseLong(duration) * 1_000;
+    }
+}
@@ -0,0 +1,60 @@
+package kz.aitu.music_library_api.cache.sim;
+
+/**
+ * Count-min sketch of recent access frequency with 4-bit counters (saturating at 15).
+ * All counters are halved after 10 * capacity increments, so old popularity fades.
+ */
+class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int resetAt;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int width = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1);
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.resetAt = 10 * Math.max(1, capacity);
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = index(key, i);
+            if (counters[i][index] < 15) {
+                counters[i][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= resetAt) {
+            halve();
+        }
+    }
+
+    int frequency(long key) {
+        int frequency = 15;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, counters[i][index(key, i)]);
+        }
+        return frequency;
+    }
+
+    private int index(long key, int row) {
+        long hash = (key ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private void halve() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        additions /= 2;
+    }
+}
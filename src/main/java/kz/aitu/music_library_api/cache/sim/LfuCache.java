@@ -0,0 +1,103 @@
+package kz.aitu.music_library_api.cache.sim;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Least frequently used, ties broken by least recently used.
+ * Frequencies are kept only while an entry is resident.
+ */
+public class LfuCache implements SimulatedCache {
+
+    private final int capacity;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeMap<Integer, LinkedHashSet<Long>> byFrequency = new TreeMap<>();
+    private long bytes;
+
+    public LfuCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean get(long key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        bump(key, entry);
+        return true;
+    }
+
+    @Override
+    public void put(long key, int size, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            bytes += size - entry.bytes;
+            entry.bytes = size;
+            bump(key, entry);
+            return;
+        }
+        if (entries.size() >= capacity) {
+            evict();
+        }
+        entries.put(key, new Entry(size));
+        byFrequency.computeIfAbsent(1, f -> new LinkedHashSet<>()).add(key);
+        bytes += size;
+    }
+
+    @Override
+    public void invalidate(long key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlink(key, entry.frequency);
+            bytes -= entry.bytes;
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long bytes() {
+        return bytes;
+    }
+
+    private void bump(long key, Entry entry) {
+        unlink(key, entry.frequency);
+        entry.frequency++;
+        byFrequency.computeIfAbsent(entry.frequency, f -> new LinkedHashSet<>()).add(key);
+    }
+
+    private void unlink(long key, int frequency) {
+        LinkedHashSet<Long> keys = byFrequency.get(frequency);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            byFrequency.remove(frequency);
+        }
+    }
+
+    private void evict() {
+        Map.Entry<Integer, LinkedHashSet<Long>> lowest = byFrequency.firstEntry();
+        Iterator<Long> oldest = lowest.getValue().iterator();
+        long victim = oldest.next();
+        oldest.remove();
+        if (lowest.getValue().isEmpty()) {
+            byFrequency.remove(lowest.getKey());
+        }
+        bytes -= entries.remove(victim).bytes;
+    }
+
+    private static final class Entry {
+        private int bytes;
+        private int frequency = 1;
+
+        private Entry(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package kz.aitu.music_library_api.cache.sim;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used; what CacheManager's heap tier approximates with batch eviction
+ */
+public class LruCache implements SimulatedCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Long, Integer> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public LruCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean get(long key, long now) {
+        return entries.get(key) != null;
+    }
+
+    @Override
+    public void put(long key, int size, long now) {
+        Integer previous = entries.put(key, size);
+        bytes += size - (previous != null ? previous : 0);
+        Iterator<Map.Entry<Long, Integer>> eldest = entries.entrySet().iterator();
+        while (entries.size() > capacity) {
+            bytes -= eldest.next().getValue();
+            eldest.remove();
+        }
+    }
+
+    @Override
+    public void invalidate(long key) {
+        Integer previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous;
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long bytes() {
+        return bytes;
+    }
+}
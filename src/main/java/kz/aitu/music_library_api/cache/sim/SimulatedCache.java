@@ -0,0 +1,24 @@
+package kz.aitu.music_library_api.cache.sim;
+
+/**
+ * A cache policy replayed by CacheSimulator. Keys are trace key hashes and
+ * only sizes are tracked, never values.
+ */
+public interface SimulatedCache {
+
+    /**
+     * Look up key at time now (trace micros), updating recency/frequency. Returns true on a hit.
+     */
+    boolean get(long key, long now);
+
+    /**
+     * Insert or update key, evicting as the policy decides
+     */
+    void put(long key, int bytes, long now);
+
+    void invalidate(long key);
+
+    int size();
+
+    long bytes();
+}
@@ -0,0 +1,59 @@
+package kz.aitu.music_library_api.cache.sim;
+
+/**
+ * Outcome of replaying one trace against one policy and capacity.
+ * Capacity and bytes are scaled back up by the trace's sample rate.
+ */
+public class SimulationResult {
+
+    private final String policy;
+    private final int capacity;
+    private final long hits;
+    private final long misses;
+    private final long averageBytes;
+    private final long peakBytes;
+
+    public SimulationResult(String policy, int capacity, long hits, long misses, long averageBytes, long peakBytes) {
+        this.policy = policy;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.averageBytes = averageBytes;
+        this.peakBytes = peakBytes;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    public long getAverageBytes() {
+        return averageBytes;
+    }
+
+    public long getPeakBytes() {
+        return peakBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %10d %10.4f %12.2f %12.2f",
+                policy, capacity, getHitRatio(), averageBytes / 1048576.0, peakBytes / 1048576.0);
+    }
+}
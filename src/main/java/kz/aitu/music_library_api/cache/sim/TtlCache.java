@@ -0,0 +1,56 @@
+package kz.aitu.music_library_api.cache.sim;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adds a time-to-live (from the last write) on top of another policy.
+ * Expired entries are dropped lazily on their next read, as CacheManager does.
+ */
+public class TtlCache implements SimulatedCache {
+
+    private final SimulatedCache delegate;
+    private final long ttlMicros;
+    private final Map<Long, Long> expiresAt = new HashMap<>();
+
+    public TtlCache(SimulatedCache delegate, long ttlMicros) {
+        this.delegate = delegate;
+        this.ttlMicros = ttlMicros;
+    }
+
+    @Override
+    public boolean get(long key, long now) {
+        Long deadline = expiresAt.get(key);
+        if (deadline != null && now >= deadline) {
+            invalidate(key);
+            return false;
+        }
+        if (delegate.get(key, now)) {
+            return true;
+        }
+        expiresAt.remove(key); // evicted by the underlying policy
+        return false;
+    }
+
+    @Override
+    public void put(long key, int bytes, long now) {
+        delegate.put(key, bytes, now);
+        expiresAt.put(key, now + ttlMicros);
+    }
+
+    @Override
+    public void invalidate(long key) {
+        delegate.invalidate(key);
+        expiresAt.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public long bytes() {
+        return delegate.bytes();
+    }
+}
@@ -0,0 +1,109 @@
+package kz.aitu.music_library_api.cache.sim;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Window TinyLFU: new entries land in a small LRU window (1% of capacity); an entry
+ * leaving the window only enters the main segmented LRU if the frequency sketch says
+ * it is more popular than the main cache's victim. Resists scans and one-hit wonders.
+ */
+public class WTinyLfuCache implements SimulatedCache {
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+    private final LinkedHashMap<Long, Integer> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Integer> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Integer> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private long bytes;
+
+    public WTinyLfuCache(int capacity) {
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.mainCapacity = Math.max(1, capacity - windowCapacity);
+        this.protectedCapacity = (int) (mainCapacity * 0.8);
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    @Override
+    public boolean get(long key, long now) {
+        sketch.increment(key);
+        if (window.get(key) != null || protectedSegment.get(key) != null) {
+            return true;
+        }
+        Integer size = probation.remove(key);
+        if (size == null) {
+            return false;
+        }
+        protectedSegment.put(key, size);
+        if (protectedSegment.size() > protectedCapacity) {
+            Map.Entry<Long, Integer> demoted = removeEldest(protectedSegment);
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+        return true;
+    }
+
+    @Override
+    public void put(long key, int size, long now) {
+        for (LinkedHashMap<Long, Integer> segment : List.of(window, probation, protectedSegment)) {
+            Integer previous = segment.get(key);
+            if (previous != null) {
+                segment.put(key, size);
+                bytes += size - previous;
+                return;
+            }
+        }
+
+        window.put(key, size);
+        bytes += size;
+        if (window.size() <= windowCapacity) {
+            return;
+        }
+
+        Map.Entry<Long, Integer> candidate = removeEldest(window);
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        LinkedHashMap<Long, Integer> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        long victim = victimSegment.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            bytes -= victimSegment.remove(victim);
+            probation.put(candidate.getKey(), candidate.getValue());
+        } else {
+            bytes -= candidate.getValue();
+        }
+    }
+
+    @Override
+    public void invalidate(long key) {
+        for (LinkedHashMap<Long, Integer> segment : List.of(window, probation, protectedSegment)) {
+            Integer previous = segment.remove(key);
+            if (previous != null) {
+                bytes -= previous;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    @Override
+    public long bytes() {
+        return bytes;
+    }
+
+    private static Map.Entry<Long, Integer> removeEldest(LinkedHashMap<Long, Integer> segment) {
+        Iterator<Map.Entry<Long, Integer>> iterator = segment.entrySet().iterator();
+        Map.Entry<Long, Integer> eldest = iterator.next();
+        Map.Entry<Long, Integer> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return removed;
+    }
+}
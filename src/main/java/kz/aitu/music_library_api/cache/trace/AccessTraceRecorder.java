@@ -0,0 +1,167 @@
+package kz.aitu.music_library_api.cache.trace;
+
+import kz.aitu.music_library_api.patterns.LoggingService;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records a sample of cache accesses to a binary trace file (see TraceFormat) for
+ * offline replay with CacheSimulator.
+ *
+ * Sampling is by key hash, so a sampled key has all of its accesses recorded and reuse
+ * distances are preserved; a cache of C * rate entries then behaves like one of C.
+ * Request threads only hash the key and offer to a bounded queue; a background thread
+ * does the I/O. Events are dropped rather than blocking when the queue is full, and
+ * recording stops once the file reaches maxBytes.
+ */
+public class AccessTraceRecorder {
+
+    private static final int QUEUE_CAPACITY = 64 * 1024;
+    private static final int BATCH = 1024;
+
+    private final Path file;
+    private final long sampleThreshold;
+    private final double sampleRate;
+    private final long maxBytes;
+    private final long startNanos;
+    private final BlockingQueue<TraceEvent> queue;
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean recording;
+    private final Thread writer;
+
+    private AccessTraceRecorder() {
+        this.file = null;
+        this.sampleThreshold = 0;
+        this.sampleRate = 0;
+        this.maxBytes = 0;
+        this.startNanos = 0;
+        this.queue = null;
+        this.writer = null;
+    }
+
+    public AccessTraceRecorder(Path file, double sampleRate, long maxBytes) throws IOException {
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Trace sample rate must be in (0, 1]: " + sampleRate);
+        }
+        this.file = file;
+        this.sampleRate = sampleRate;
+        // Compared against the top 24 bits of the key hash
+        this.sampleThreshold = (long) Math.ceil(sampleRate * (1 << 24));
+        this.maxBytes = maxBytes;
+        this.startNanos = System.nanoTime();
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        out.writeInt(TraceFormat.MAGIC);
+        out.writeByte(TraceFormat.VERSION);
+        out.writeDouble(sampleRate);
+        out.writeLong(System.currentTimeMillis());
+
+        this.recording = true;
+        this.writer = new Thread(() -> drain(out), "cache-trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static AccessTraceRecorder disabled() {
+        return new AccessTraceRecorder();
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public void record(byte op, String key, long bytes) {
+        if (!recording) {
+            return;
+        }
+        long hash = TraceEvent.hashKey(key);
+        if ((hash >>> 40) >= sampleThreshold) {
+            return;
+        }
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        if (queue.offer(new TraceEvent(op, micros, hash, (int) Math.min(Integer.MAX_VALUE, bytes)))) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long getRecorded() {
+        return recorded.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Stop recording and flush everything queued so far
+     */
+    public void close() throws InterruptedException {
+        recording = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void drain(DataOutputStream out) {
+        List<TraceEvent> batch = new ArrayList<>(BATCH);
+        long lastTime = 0;
+        try (out) {
+            while (recording || !queue.isEmpty()) {
+                TraceEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    out.flush();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH - 1);
+                for (TraceEvent event : batch) {
+                    // Threads enqueue slightly out of order; clamp so deltas stay non-negative
+                    long time = Math.max(lastTime, event.getTimeMicros());
+                    out.writeByte(event.getOp());
+                    TraceFormat.writeVarLong(out, time - lastTime);
+                    out.writeLong(event.getKey());
+                    TraceFormat.writeVarLong(out, event.getBytes());
+                    lastTime = time;
+                }
+                batch.clear();
+                if (out.size() >= maxBytes) {
+                    recording = false;
+                    queue.clear();
+                }
+            }
+        } catch (IOException e) {
+            recording = false;
+            queue.clear();
+            LoggingService.getInstance().logError("Cache trace stopped, cannot write " + file, e);
+        } catch (InterruptedException e) {
+            recording = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package kz.aitu.music_library_api.cache.trace;
+
+/**
+ * One recorded cache access. Keys are stored as 64-bit hashes: enough to tell keys
+ * apart in a simulation, and the trace never contains ids, names or search terms.
+ */
+public class TraceEvent {
+
+    public static final byte GET = 1;
+    public static final byte PUT = 2;
+    public static final byte INVALIDATE = 3;
+
+    private final byte op;
+    private final long timeMicros;
+    private final long key;
+    private final int bytes;
+
+    public TraceEvent(byte op, long timeMicros, long key, int bytes) {
+        this.op = op;
+        this.timeMicros = timeMicros;
+        this.key = key;
+        this.bytes = bytes;
+    }
+
+    /**
+     * FNV-1a over the key's chars, with a final mix so the high bits (used for sampling) are well spread
+     */
+    public static long hashKey(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        return hash ^ (hash >>> 33);
+    }
+
+    public byte getOp() {
+        return op;
+    }
+
+    /** Microseconds since the start of the trace */
+    public long getTimeMicros() {
+        return timeMicros;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    /** Estimated entry size (see SizeEstimator); 0 for misses and invalidations */
+    public int getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,41 @@
+package kz.aitu.music_library_api.cache.trace;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary layout of a trace file:
+ * <pre>
+ * header: int magic "CTRC", byte version, double sample rate, long start (epoch millis)
+ * event:  byte op, varint time delta (micros), long key hash, varint size (bytes)
+ * </pre>
+ * A typical event is 11-13 bytes.
+ */
+final class TraceFormat {
+
+    static final int MAGIC = 0x43545243;
+    static final byte VERSION = 1;
+
+    private TraceFormat() {}
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in cache trace");
+    }
+}
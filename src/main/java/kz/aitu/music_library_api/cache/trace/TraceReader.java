@@ -0,0 +1,72 @@
+package kz.aitu.music_library_api.cache.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a trace written by AccessTraceRecorder, one event at a time
+ */
+public class TraceReader implements Closeable {
+
+    private final DataInputStream in;
+    private final double sampleRate;
+    private final long startEpochMillis;
+    private long time;
+
+    public TraceReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+        if (in.readInt() != TraceFormat.MAGIC) {
+            throw new IOException("Not a cache trace file");
+        }
+        byte version = in.readByte();
+        if (version != TraceFormat.VERSION) {
+            throw new IOException("Unsupported cache trace version: " + version);
+        }
+        this.sampleRate = in.readDouble();
+        this.startEpochMillis = in.readLong();
+    }
+
+    public static TraceReader open(Path file) throws IOException {
+        return new TraceReader(Files.newInputStream(file));
+    }
+
+    /**
+     * Fraction of keys recorded; a simulated capacity of C * sampleRate stands for C
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Next event, or null at the end of the trace (including a truncated last event)
+     */
+    public TraceEvent next() throws IOException {
+        int op = in.read();
+        if (op < 0) {
+            return null;
+        }
+        try {
+            time += TraceFormat.readVarLong(in);
+            long key = in.readLong();
+            int bytes = (int) TraceFormat.readVarLong(in);
+            return new TraceEvent((byte) op, time, key, bytes);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
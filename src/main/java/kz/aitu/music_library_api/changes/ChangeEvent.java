@@ -0,0 +1,70 @@
+package kz.aitu.music_library_api.changes;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One committed change, as sent on the change feed. Carries ids only: clients refetch
+ * what they display (e.g. GET /api/media?ids=...) rather than receiving full items.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+
+    public static final String MEDIA = "media";
+    public static final String PLAYLIST = "playlist";
+    public static final String PLAYLIST_ITEM = "playlist-item";
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String ADDED = "added";
+    public static final String REMOVED = "removed";
+
+    private final long id;
+    private final String entity;
+    private final String action;
+    private final int entityId;
+    private final Integer playlistId;
+    private final long timestamp;
+
+    public ChangeEvent(long id, String entity, String action, int entityId, Integer playlistId, long timestamp) {
+        this.id = id;
+        this.entity = entity;
+        this.action = action;
+        this.entityId = entityId;
+        this.playlistId = playlistId;
+        this.timestamp = timestamp;
+    }
+
+    /* The SSE event id; not repeated in the data */
+    @JsonIgnore
+    public long getId() {
+        return id;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Media id for media and playlist-item events, playlist id for playlist events
+     */
+    public int getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Playlist of a playlist-item event
+     */
+    public Integer getPlaylistId() {
+        return playlistId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
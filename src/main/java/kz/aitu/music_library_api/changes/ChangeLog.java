@@ -0,0 +1,79 @@
+package kz.aitu.music_library_api.changes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded in-memory history of recent changes (a ring buffer), numbered from 1 in commit
+ * order, so a reconnecting client can resume after the last event id it saw.
+ * Event ids sent to clients are "<epoch>-<number>", the epoch being the log's creation time,
+ * so an id from before a restart is recognized rather than matched against the new numbering.
+ * Not thread-safe; ChangeFeedServiceImpl guards it (the epoch is final and safe to read).
+ */
+public class ChangeLog {
+
+    private final ChangeEvent[] ring;
+    private final long epoch;
+    private long lastId;
+
+    public ChangeLog(int capacity) {
+        this(capacity, System.currentTimeMillis());
+    }
+
+    public ChangeLog(int capacity, long epoch) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change log capacity must be positive: " + capacity);
+        }
+        this.ring = new ChangeEvent[capacity];
+        this.epoch = epoch;
+    }
+
+    public ChangeEvent append(String entity, String action, int entityId, Integer playlistId) {
+        ChangeEvent event = new ChangeEvent(++lastId, entity, action, entityId, playlistId, System.currentTimeMillis());
+        ring[(int) (event.getId() % ring.length)] = event;
+        return event;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * The id clients see for event number id of this log
+     */
+    public String eventId(long id) {
+        return epoch + "-" + id;
+    }
+
+    /**
+     * Same as since(long), for an id as sent to the client; null as well when the id belongs
+     * to another epoch (an earlier run) or carries none
+     */
+    public List<ChangeEvent> since(String lastEventId) {
+        int dash = lastEventId.indexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(String.valueOf(epoch))) {
+            return null;
+        }
+        try {
+            return since(Long.parseLong(lastEventId.substring(dash + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Events after afterId in order, or null if some of them are no longer held (or afterId
+     * is from before a restart), in which case the client has to reload instead
+     */
+    public List<ChangeEvent> since(long afterId) {
+        long oldest = Math.max(1, lastId - ring.length + 1);
+        if (afterId > lastId || afterId < oldest - 1) {
+            return null;
+        }
+        List<ChangeEvent> events = new ArrayList<>((int) (lastId - afterId));
+        for (long id = afterId + 1; id <= lastId; id++) {
+            events.add(ring[(int) (id % ring.length)]);
+        }
+        return events;
+    }
+}
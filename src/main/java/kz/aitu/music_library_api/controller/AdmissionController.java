@@ -0,0 +1,36 @@
+package kz.aitu.music_library_api.controller;
+
+import kz.aitu.music_library_api.dto.ApiResponse;
+import kz.aitu.music_library_api.patterns.AdaptiveLimiter;
+import kz.aitu.music_library_api.web.AdmissionControlFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admission Control Controller
+ * Exposes the current bulkhead limits for tuning
+ */
+@RestController
+@RequestMapping("/api/admission")
+public class AdmissionController {
+
+    private final AdmissionControlFilter admissionControlFilter;
+
+    @Autowired
+    public AdmissionController(AdmissionControlFilter admissionControlFilter) {
+        this.admissionControlFilter = admissionControlFilter;
+    }
+
+    /**
+     * Current limit, in-flight, accepted and rejected counts per endpoint class
+     * Endpoint: GET /api/admission/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<List<AdaptiveLimiter>>> getAdmissionStats() {
+        return ResponseEntity.ok(ApiResponse.success("Admission statistics retrieved",
+                admissionControlFilter.getLimiters()));
+    }
+}
@@ -13,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/api/cache")
-@CrossOrigin(origins = "*")
 public class CacheController {
 
     private final CacheService cacheService;
@@ -64,7 +63,8 @@ public class CacheController {
     }
 
     /**
-     * Get cache statistics
+     * Get cache statistics: hit ratio, loads, load time histogram, evictions,
+     * invalidations and estimated bytes per key region (media:id, media:all, ...)
      * Endpoint: GET /api/cache/stats
      */
     @GetMapping("/stats")
@@ -72,4 +72,20 @@ public class CacheController {
         CacheManager.CacheStats stats = CacheManager.getInstance().getStats();
         return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved", stats));
     }
+
+    /**
+     * List cached keys one page at a time
+     * Endpoint: GET /api/cache/keys?prefix=media:id:&after=media:id:42&limit=100
+     */
+    @GetMapping("/keys")
+    public ResponseEntity<ApiResponse<CacheManager.KeyPage>> listCacheKeys(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new IllegalArgumentException("limit must be between 1 and 1000");
+        }
+        CacheManager.KeyPage page = CacheManager.getInstance().listKeys(prefix, after, limit);
+        return ResponseEntity.ok(ApiResponse.success("Cache keys retrieved", page));
+    }
 }
@@ -0,0 +1,48 @@
+package kz.aitu.music_library_api.controller;
+
+import kz.aitu.music_library_api.exception.InvalidInputException;
+import kz.aitu.music_library_api.exception.ServiceUnavailableException;
+import kz.aitu.music_library_api.service.interfaces.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Change Stream Controller
+ * Pushes media, playlist and playlist item changes as Server-Sent Events
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeStreamController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Autowired
+    public ChangeStreamController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Follow committed changes. A reconnecting EventSource sends Last-Event-ID and receives
+     * what it missed; a "reset" event means that is no longer available and the client
+     * should reload its data. lastEventId is accepted as a parameter for clients that
+     * cannot set headers.
+     * Endpoint: GET /api/changes/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam)
+            throws InvalidInputException, ServiceUnavailableException {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return changeFeedService.subscribe(null);
+        }
+        // <epoch>-<number>; a bare number (an id from an older server) gets a reset event
+        if (!lastEventId.trim().matches("\\d{1,19}(-\\d{1,19})?")) {
+            throw new InvalidInputException("Invalid Last-Event-ID: " + lastEventId);
+        }
+        return changeFeedService.subscribe(lastEventId.trim());
+    }
+}
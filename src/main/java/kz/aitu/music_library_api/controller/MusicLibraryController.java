@@ -1,9 +1,15 @@
 package kz.aitu.music_library_api.controller;
 
+import kz.aitu.music_library_api.dto.BatchRequest;
+import kz.aitu.music_library_api.dto.BatchResult;
+import kz.aitu.music_library_api.dto.NormalizedPlaylists;
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
 import kz.aitu.music_library_api.exception.*;
 import kz.aitu.music_library_api.model.*;
 import kz.aitu.music_library_api.service.MediaServiceImpl;
 import kz.aitu.music_library_api.service.PlaylistServiceImpl;
+import kz.aitu.music_library_api.service.interfaces.BatchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,17 +17,19 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = "*")
 public class MusicLibraryController {
 
     private final MediaServiceImpl mediaService;
     private final PlaylistServiceImpl playlistService;
+    private final BatchService batchService;
 
     @Autowired
     public MusicLibraryController(MediaServiceImpl mediaService,
-                                  PlaylistServiceImpl playlistService) {
+                                  PlaylistServiceImpl playlistService,
+                                  BatchService batchService) {
         this.mediaService = mediaService;
         this.playlistService = playlistService;
+        this.batchService = batchService;
     }
 
     @PostMapping("/songs")
@@ -56,6 +64,18 @@ public class MusicLibraryController {
         return mediaService.getAllMedia();
     }
 
+    @GetMapping(value = "/media", params = "ids")
+    public List<Media> getMediaByIds(@RequestParam List<Integer> ids)
+            throws InvalidInputException, DatabaseOperationException {
+        return mediaService.getMediaByIds(ids);
+    }
+
+    @PostMapping("/media/batch-get")
+    public List<Media> batchGetMedia(@RequestBody List<Integer> ids)
+            throws InvalidInputException, DatabaseOperationException {
+        return mediaService.getMediaByIds(ids);
+    }
+
     @GetMapping("/media/{id}")
     public Media getMediaById(@PathVariable int id)
             throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
@@ -93,17 +113,49 @@ public class MusicLibraryController {
         return playlistService.createPlaylist(playlist);
     }
 
+    /* Metadata only; items are paged with /playlists/{id}/items or requested with ?expand=items */
     @GetMapping("/playlists")
-    public List<Playlist> getAllPlaylists() throws DatabaseOperationException {
+    public List<PlaylistSummary> getAllPlaylists() throws DatabaseOperationException {
+        return playlistService.getPlaylistSummaries();
+    }
+
+    @GetMapping(value = "/playlists", params = {"expand=items", "!include"})
+    public List<Playlist> getAllPlaylistsWithItems() throws DatabaseOperationException {
         return playlistService.getAllPlaylists();
     }
 
+    /* Same playlists, with each distinct media item serialized once (see NormalizedPlaylists) */
+    @GetMapping(value = "/playlists", params = {"include=media", "!expand"})
+    public NormalizedPlaylists getAllPlaylistsNormalized() throws DatabaseOperationException {
+        return NormalizedPlaylists.of(playlistService.getAllPlaylists());
+    }
+
+    /* The two shapes above exclude each other; asking for both is an error rather than a guess */
+    @GetMapping(value = "/playlists", params = {"expand", "include"})
+    public void getAllPlaylistsConflicting() throws InvalidInputException {
+        throw new InvalidInputException("Use either expand=items or include=media, not both");
+    }
+
     @GetMapping("/playlists/{id}")
-    public Playlist getPlaylistById(@PathVariable int id)
+    public PlaylistSummary getPlaylistById(@PathVariable int id)
+            throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
+        return playlistService.getPlaylistSummary(id);
+    }
+
+    @GetMapping(value = "/playlists/{id}", params = "expand=items")
+    public Playlist getPlaylistWithItems(@PathVariable int id)
             throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
         return playlistService.getPlaylistById(id);
     }
 
+    @GetMapping("/playlists/{id}/items")
+    public PlaylistItemsPage getPlaylistItems(@PathVariable int id,
+                                              @RequestParam(required = false) String after,
+                                              @RequestParam(required = false) Integer limit)
+            throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
+        return playlistService.getPlaylistItems(id, after, limit);
+    }
+
     @DeleteMapping("/playlists/{id}")
     public void deletePlaylist(@PathVariable int id)
             throws ResourceNotFoundException, DatabaseOperationException {
@@ -113,7 +165,7 @@ public class MusicLibraryController {
     @PostMapping("/playlists/{playlistId}/media/{mediaId}")
     public void addMediaToPlaylist(@PathVariable int playlistId,
                                    @PathVariable int mediaId)
-            throws ResourceNotFoundException, DatabaseOperationException {
+            throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
         playlistService.addMediaToPlaylist(playlistId, mediaId);
     }
 
@@ -123,4 +175,13 @@ public class MusicLibraryController {
             throws DatabaseOperationException {
         playlistService.removeMediaFromPlaylist(playlistId, mediaId);
     }
-}
\ No newline at end of file
+
+    /*
+      Ordered media/playlist writes in one transaction; "$ref" ids point at earlier creates
+     */
+    @PostMapping("/batch")
+    public List<BatchResult> executeBatch(@RequestBody BatchRequest request)
+            throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException {
+        return batchService.execute(request.getOperations());
+    }
+}
@@ -0,0 +1,77 @@
+package kz.aitu.music_library_api.dto;
+
+/**
+ * One operation of a POST /api/batch request.
+ *
+ * op is one of createMedia, updateMedia, deleteMedia, createPlaylist, updatePlaylist,
+ * deletePlaylist, addMediaToPlaylist, removeMediaFromPlaylist. id, playlistId and mediaId
+ * take a number or "$name", the id created by an earlier operation with ref "name".
+ */
+public class BatchOperation {
+
+    private String op;
+    private String ref;
+    private String id;
+    private String playlistId;
+    private String mediaId;
+    private MediaRequest media;
+    private PlaylistRequest playlist;
+
+    public BatchOperation() {}
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPlaylistId() {
+        return playlistId;
+    }
+
+    public void setPlaylistId(String playlistId) {
+        this.playlistId = playlistId;
+    }
+
+    public String getMediaId() {
+        return mediaId;
+    }
+
+    public void setMediaId(String mediaId) {
+        this.mediaId = mediaId;
+    }
+
+    public MediaRequest getMedia() {
+        return media;
+    }
+
+    public void setMedia(MediaRequest media) {
+        this.media = media;
+    }
+
+    public PlaylistRequest getPlaylist() {
+        return playlist;
+    }
+
+    public void setPlaylist(PlaylistRequest playlist) {
+        this.playlist = playlist;
+    }
+}
@@ -0,0 +1,21 @@
+package kz.aitu.music_library_api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchRequest {
+
+    private List<BatchOperation> operations;
+
+    public BatchRequest() {
+        this.operations = new ArrayList<>();
+    }
+
+    public List<BatchOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperation> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,45 @@
+package kz.aitu.music_library_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one batch operation, in request order: the id it created or affected
+ * and, for creates and updates, the saved media item or playlist
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+
+    private final int index;
+    private final String op;
+    private final String ref;
+    private final Integer id;
+    private final Object data;
+
+    public BatchResult(int index, String op, String ref, Integer id, Object data) {
+        this.index = index;
+        this.op = op;
+        this.ref = ref;
+        this.id = id;
+        this.data = data;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Object getData() {
+        return data;
+    }
+}
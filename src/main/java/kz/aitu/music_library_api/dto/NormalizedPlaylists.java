@@ -0,0 +1,48 @@
+package kz.aitu.music_library_api.dto;
+
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Playlists with their items as ordered media ids, plus each distinct media item once,
+ * keyed by id, in included (GET /api/playlists?include=media). A track that appears in
+ * hundreds of playlists is serialized once instead of once per playlist.
+ * Written by NormalizedPlaylistsSerializer.
+ */
+public class NormalizedPlaylists {
+
+    private final List<Playlist> playlists;
+    private final Map<Integer, Media> included;
+
+    public NormalizedPlaylists(List<Playlist> playlists, Map<Integer, Media> included) {
+        this.playlists = playlists;
+        this.included = included;
+    }
+
+    /**
+     * Collects the distinct items of the given playlists in first-appearance order
+     */
+    public static NormalizedPlaylists of(List<Playlist> playlists) {
+        Map<Integer, Media> included = new LinkedHashMap<>();
+        for (Playlist playlist : playlists) {
+            for (Media item : playlist.viewItems()) {
+                if (item != null) {
+                    included.putIfAbsent(item.getId(), item);
+                }
+            }
+        }
+        return new NormalizedPlaylists(playlists, included);
+    }
+
+    public List<Playlist> getPlaylists() {
+        return playlists;
+    }
+
+    public Map<Integer, Media> getIncluded() {
+        return included;
+    }
+}
@@ -0,0 +1,85 @@
+package kz.aitu.music_library_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import kz.aitu.music_library_api.exception.InvalidInputException;
+import kz.aitu.music_library_api.model.Freezable;
+import kz.aitu.music_library_api.model.Media;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a playlist's items, in playlist order (GET /api/playlists/{id}/items).
+ * next is the cursor to pass as ?after= for the following page, null on the last one.
+ * Cursors are keyset positions ("position.mediaId"), so a page costs the same however
+ * deep into the playlist it is, and concurrent adds never shift or repeat items.
+ */
+public class PlaylistItemsPage implements Freezable {
+
+    private List<Media> items;
+    private final String next;
+    private volatile boolean frozen;
+
+    public PlaylistItemsPage(List<Media> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public static String cursor(int position, int mediaId) {
+        return position + "." + mediaId;
+    }
+
+    /**
+     * {position, mediaId} of a cursor from cursor(); null or empty starts before the first item
+     */
+    public static int[] parseCursor(String after) throws InvalidInputException {
+        if (after == null || after.isEmpty()) {
+            return new int[]{-1, -1};
+        }
+        int dot = after.indexOf('.');
+        try {
+            if (dot > 0) {
+                return new int[]{Integer.parseInt(after.substring(0, dot)), Integer.parseInt(after.substring(dot + 1))};
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidInputException("Invalid cursor: " + after);
+    }
+
+    public List<Media> getItems() {
+        return items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    @Override
+    public PlaylistItemsPage freeze() {
+        if (!frozen) {
+            items.forEach(Media::freeze);
+            items = List.copyOf(items);
+            frozen = true;
+        }
+        return this;
+    }
+
+    @Override
+    public PlaylistItemsPage frozenCopy() {
+        if (frozen) {
+            return this;
+        }
+        List<Media> copies = new ArrayList<>(items.size());
+        for (Media item : items) {
+            copies.add(item.frozenCopy());
+        }
+        return new PlaylistItemsPage(copies, next).freeze();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+}
@@ -0,0 +1,52 @@
+package kz.aitu.music_library_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import kz.aitu.music_library_api.model.Playlist;
+
+/**
+ * Playlist metadata without its items (GET /api/playlists, GET /api/playlists/{id}).
+ * itemCount and totalDuration are aggregated by the database, so a playlist of 100k
+ * items costs one row; the items themselves are paged (PlaylistItemsPage) or
+ * requested with ?expand=items.
+ */
+@JsonPropertyOrder({"id", "name", "description", "itemCount", "totalDuration", "formattedTotalDuration"})
+public class PlaylistSummary {
+
+    private final int id;
+    private final String name;
+    private final String description;
+    private final int itemCount;
+    private final int totalDuration;
+
+    public PlaylistSummary(int id, String name, String description, int itemCount, int totalDuration) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.itemCount = itemCount;
+        this.totalDuration = totalDuration;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int getTotalDuration() {
+        return totalDuration;
+    }
+
+    public String getFormattedTotalDuration() {
+        return Playlist.formatTotalDuration(totalDuration);
+    }
+}
@@ -0,0 +1,12 @@
+package kz.aitu.music_library_api.exception;
+
+/**
+ * Exception thrown when a request ran out of its deadline (see RequestDeadline)
+ * while waiting on the database or on another request's cache load.
+ */
+public class DeadlineExceededException extends DatabaseOperationException {
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
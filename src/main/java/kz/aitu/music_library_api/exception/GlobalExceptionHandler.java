@@ -1,8 +1,10 @@
 package kz.aitu.music_library_api.exception;
 
 import kz.aitu.music_library_api.patterns.LoggingService;
+import kz.aitu.music_library_api.patterns.RequestDeadline;
 import kz.aitu.music_library_api.dto.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -22,7 +24,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleResourceNotFound(ResourceNotFoundException ex) {
-        loggingService.logError("Resource not found: " + ex.getMessage());
+        // Expected client-side condition (and frequent for stale ids), not a server error
+        loggingService.logDebug("Resource not found: {}", ex.getMessage());
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(ApiResponse.error(ex.getMessage()));
@@ -44,8 +47,31 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        // The circuit is open: the cause was already logged when it tripped
+        loggingService.logWarn("Service unavailable: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDeadlineExceeded(DatabaseOperationException ex) {
+        // The client's time budget ran out; the query was cancelled, nothing is broken
+        loggingService.logWarn("Deadline exceeded: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ApiResponse.error("Request deadline exceeded"));
+    }
+
     @ExceptionHandler(DatabaseOperationException.class)
     public ResponseEntity<ApiResponse<Void>> handleDatabaseOperation(DatabaseOperationException ex) {
+        if (RequestDeadline.isExpired()) {
+            // e.g. a statement cancelled by its query timeout outside the circuit breaker
+            return handleDeadlineExceeded(ex);
+        }
         loggingService.logError("Database operation failed", ex);
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,19 @@
+package kz.aitu.music_library_api.exception;
+
+/**
+ * Exception thrown when the database is not being called at all because
+ * its circuit breaker is open. Clients should retry after retryAfterSeconds.
+ */
+public class ServiceUnavailableException extends DatabaseOperationException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message, null);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,51 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import kz.aitu.music_library_api.dto.ApiResponse;
+
+import java.io.IOException;
+
+/**
+ * Writes the ApiResponse envelope with its NON_NULL fields. data goes through the
+ * provider (so media and playlists use their own serializers) and so does timestamp,
+ * which keeps the configured date format.
+ */
+@SuppressWarnings("rawtypes")
+public class ApiResponseSerializer extends StdSerializer<ApiResponse> {
+
+    private static final SerializableString SUCCESS = new SerializedString("success");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString DATA = new SerializedString("data");
+    private static final SerializableString ERROR = new SerializedString("error");
+
+    public ApiResponseSerializer() {
+        super(ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        gen.writeFieldName(SUCCESS);
+        gen.writeBoolean(response.isSuccess());
+        if (response.getMessage() != null) {
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(response.getMessage());
+        }
+        if (response.getData() != null) {
+            gen.writeFieldName(DATA);
+            provider.defaultSerializeValue(response.getData(), gen);
+        }
+        if (response.getTimestamp() != null) {
+            provider.defaultSerializeField("timestamp", response.getTimestamp(), gen);
+        }
+        if (response.getError() != null) {
+            gen.writeFieldName(ERROR);
+            gen.writeString(response.getError());
+        }
+        gen.writeEndObject();
+    }
+}
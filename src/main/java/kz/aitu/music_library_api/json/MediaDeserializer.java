@@ -0,0 +1,52 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+
+import java.io.IOException;
+
+/**
+ * Reads a Media body (e.g. PUT /api/media/{id}) as a Song or Podcast by its type field,
+ * which may appear anywhere in the object. Computed fields (description, formattedDuration,
+ * valid) are ignored, so a previously read item can be sent back as is.
+ */
+public class MediaDeserializer extends StdDeserializer<Media> {
+
+    public MediaDeserializer() {
+        super(Media.class);
+    }
+
+    @Override
+    public Media deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonNode node = parser.readValueAsTree();
+        if (node == null || !node.isObject()) {
+            return (Media) context.handleUnexpectedToken(Media.class, parser);
+        }
+        String type = text(node, "type");
+        if (type == null) {
+            throw context.weirdStringException(null, Media.class, "missing type (SONG or PODCAST)");
+        }
+        int id = node.path("id").asInt(0);
+        String name = text(node, "name");
+        int duration = node.path("duration").asInt(0);
+        String creator = text(node, "creator");
+
+        return switch (type.toUpperCase()) {
+            case "SONG" -> new Song(id, name, duration, creator, text(node, "album"), text(node, "genre"),
+                    node.path("price").asDouble(0.99));
+            case "PODCAST" -> new Podcast(id, name, duration, creator, text(node, "host"),
+                    node.path("episodeNumber").asInt(0), text(node, "category"));
+            default -> throw context.weirdStringException(type, Media.class, "unknown media type");
+        };
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
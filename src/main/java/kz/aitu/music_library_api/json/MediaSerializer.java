@@ -0,0 +1,92 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+
+import java.io.IOException;
+
+/**
+ * Writes Song and Podcast field by field, with the same fields and values as Jackson's
+ * reflective bean serializer did, in a fixed order.
+ * type is the discriminator MediaDeserializer reads back.
+ */
+public class MediaSerializer extends StdSerializer<Media> {
+
+    /* Field names pre-encoded once instead of per write */
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString NAME = new SerializedString("name");
+    static final SerializableString DURATION = new SerializedString("duration");
+    static final SerializableString CREATOR = new SerializedString("creator");
+    static final SerializableString TYPE = new SerializedString("type");
+    static final SerializableString ALBUM = new SerializedString("album");
+    static final SerializableString GENRE = new SerializedString("genre");
+    static final SerializableString PRICE = new SerializedString("price");
+    static final SerializableString HOST = new SerializedString("host");
+    static final SerializableString EPISODE_NUMBER = new SerializedString("episodeNumber");
+    static final SerializableString CATEGORY = new SerializedString("category");
+    static final SerializableString DESCRIPTION = new SerializedString("description");
+    static final SerializableString FORMATTED_DURATION = new SerializedString("formattedDuration");
+    static final SerializableString VALID = new SerializedString("valid");
+
+    private static final SerializableString SONG = new SerializedString(Media.MediaType.SONG.name());
+    private static final SerializableString PODCAST = new SerializedString(Media.MediaType.PODCAST.name());
+
+    public MediaSerializer() {
+        super(Media.class);
+    }
+
+    @Override
+    public void serialize(Media media, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(media);
+        writeFields(media, gen);
+        gen.writeEndObject();
+    }
+
+    static void writeFields(Media media, JsonGenerator gen) throws IOException {
+        gen.writeFieldName(ID);
+        gen.writeNumber(media.getId());
+        gen.writeFieldName(NAME);
+        gen.writeString(media.getName());
+        gen.writeFieldName(DURATION);
+        gen.writeNumber(media.getDuration());
+        gen.writeFieldName(CREATOR);
+        gen.writeString(media.getCreator());
+        gen.writeFieldName(TYPE);
+        if (media.getType() == Media.MediaType.SONG) {
+            gen.writeString(SONG);
+        } else if (media.getType() == Media.MediaType.PODCAST) {
+            gen.writeString(PODCAST);
+        } else {
+            gen.writeNull();
+        }
+
+        if (media instanceof Song song) {
+            gen.writeFieldName(ALBUM);
+            gen.writeString(song.getAlbum());
+            gen.writeFieldName(GENRE);
+            gen.writeString(song.getGenre());
+            gen.writeFieldName(PRICE);
+            gen.writeNumber(song.getPrice());
+        } else if (media instanceof Podcast podcast) {
+            gen.writeFieldName(HOST);
+            gen.writeString(podcast.getHost());
+            gen.writeFieldName(EPISODE_NUMBER);
+            gen.writeNumber(podcast.getEpisodeNumber());
+            gen.writeFieldName(CATEGORY);
+            gen.writeString(podcast.getCategory());
+        }
+
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(media.describe());
+        gen.writeFieldName(FORMATTED_DURATION);
+        gen.writeString(media.durationText());
+        gen.writeFieldName(VALID);
+        gen.writeBoolean(media.isValid());
+    }
+}
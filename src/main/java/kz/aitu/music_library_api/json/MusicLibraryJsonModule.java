@@ -0,0 +1,25 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import kz.aitu.music_library_api.dto.ApiResponse;
+import kz.aitu.music_library_api.dto.NormalizedPlaylists;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written serializers for the hot response types, replacing reflective bean
+ * serialization; picked up by Spring Boot's ObjectMapper as a Module bean
+ */
+@Component
+public class MusicLibraryJsonModule extends SimpleModule {
+
+    public MusicLibraryJsonModule() {
+        super("MusicLibraryJsonModule");
+        addSerializer(Media.class, new MediaSerializer());
+        addSerializer(Playlist.class, new PlaylistSerializer());
+        addSerializer(ApiResponse.class, new ApiResponseSerializer());
+        addSerializer(NormalizedPlaylists.class, new NormalizedPlaylistsSerializer());
+        addDeserializer(Media.class, new MediaDeserializer());
+    }
+}
@@ -0,0 +1,49 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import kz.aitu.music_library_api.dto.NormalizedPlaylists;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * {"playlists": [{..., "itemIds": [1, 2], ...}], "included": {"1": {media}, "2": {media}}}
+ * Playlists have the same fields as PlaylistSerializer writes, with itemIds in place of items.
+ */
+public class NormalizedPlaylistsSerializer extends StdSerializer<NormalizedPlaylists> {
+
+    private static final SerializableString PLAYLISTS = new SerializedString("playlists");
+    private static final SerializableString INCLUDED = new SerializedString("included");
+
+    public NormalizedPlaylistsSerializer() {
+        super(NormalizedPlaylists.class);
+    }
+
+    @Override
+    public void serialize(NormalizedPlaylists normalized, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(normalized);
+        gen.writeFieldName(PLAYLISTS);
+        gen.writeStartArray(normalized.getPlaylists(), normalized.getPlaylists().size());
+        for (Playlist playlist : normalized.getPlaylists()) {
+            PlaylistSerializer.writePlaylist(playlist, gen, true);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(INCLUDED);
+        gen.writeStartObject();
+        for (Map.Entry<Integer, Media> entry : normalized.getIncluded().entrySet()) {
+            gen.writeFieldName(String.valueOf(entry.getKey()));
+            gen.writeStartObject(entry.getValue());
+            MediaSerializer.writeFields(entry.getValue(), gen);
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+}
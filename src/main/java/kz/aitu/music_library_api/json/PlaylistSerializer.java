@@ -0,0 +1,76 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a Playlist like the reflective serializer did, but reads the items through
+ * viewItems() instead of the copying getItems(), and sums the duration in the same pass.
+ */
+public class PlaylistSerializer extends StdSerializer<Playlist> {
+
+    private static final SerializableString ITEMS = new SerializedString("items");
+    private static final SerializableString ITEM_IDS = new SerializedString("itemIds");
+    private static final SerializableString TOTAL_DURATION = new SerializedString("totalDuration");
+    private static final SerializableString FORMATTED_TOTAL_DURATION = new SerializedString("formattedTotalDuration");
+
+    public PlaylistSerializer() {
+        super(Playlist.class);
+    }
+
+    @Override
+    public void serialize(Playlist playlist, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writePlaylist(playlist, gen, false);
+    }
+
+    /**
+     * Writes one playlist object; with itemIds, each item is written as its media id
+     * (NormalizedPlaylistsSerializer) instead of the full object
+     */
+    static void writePlaylist(Playlist playlist, JsonGenerator gen, boolean itemIds) throws IOException {
+        gen.writeStartObject(playlist);
+        gen.writeFieldName(MediaSerializer.ID);
+        gen.writeNumber(playlist.getId());
+        gen.writeFieldName(MediaSerializer.NAME);
+        gen.writeString(playlist.getName());
+
+        List<Media> items = playlist.viewItems();
+        gen.writeFieldName(itemIds ? ITEM_IDS : ITEMS);
+        gen.writeStartArray(items, items.size());
+        int totalDuration = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Media item = items.get(i);
+            if (item == null) {
+                gen.writeNull();
+            } else {
+                totalDuration += item.getDuration();
+                if (itemIds) {
+                    gen.writeNumber(item.getId());
+                } else {
+                    gen.writeStartObject(item);
+                    MediaSerializer.writeFields(item, gen);
+                    gen.writeEndObject();
+                }
+            }
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(MediaSerializer.DESCRIPTION);
+        gen.writeString(playlist.getDescription());
+        gen.writeFieldName(TOTAL_DURATION);
+        gen.writeNumber(totalDuration);
+        gen.writeFieldName(FORMATTED_TOTAL_DURATION);
+        gen.writeString(Playlist.formatTotalDuration(totalDuration));
+        gen.writeFieldName(MediaSerializer.VALID);
+        gen.writeBoolean(playlist.isValid());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,18 @@
+package kz.aitu.music_library_api.model;
+
+public interface Freezable {
+
+    /**
+     * Make this object read-only so it can be shared (e.g. as a cached value).
+     * Setters throw IllegalStateException afterwards. Returns this for chaining.
+     */
+    Freezable freeze();
+
+    /**
+     * A frozen copy, leaving this object mutable; this itself when it is already frozen.
+     * CacheManager caches these, so a value handed to it stays the caller's to change.
+     */
+    Freezable frozenCopy();
+
+    boolean isFrozen();
+}
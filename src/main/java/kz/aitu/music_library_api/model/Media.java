@@ -1,14 +1,19 @@
 package kz.aitu.music_library_api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import kz.aitu.music_library_api.exception.InvalidInputException;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
-public abstract class Media implements Playable, Validatable<Media> {
+public abstract class Media implements Playable, Validatable<Media>, Freezable, Cloneable {
     private int id;
     private String name;
     private int duration; // in seconds
     private String creator;
     private MediaType type;
+    private volatile boolean frozen;
+    /* Computed text of a frozen instance, see describe() */
+    private String frozenDescription;
+    private String frozenFormattedDuration;
 
     public enum MediaType {
         SONG, PODCAST
@@ -33,9 +38,42 @@ public abstract class Media implements Playable, Validatable<Media> {
     public abstract void displayInfo();
 
     public String getFormattedDuration() {
+        // Same as String.format("%d:%02d", ...) without the format parsing; runs for every serialized item
         int minutes = duration / 60;
         int seconds = duration % 60;
-        return String.format("%d:%02d", minutes, seconds);
+        return seconds < 10 ? minutes + ":0" + seconds : minutes + ":" + seconds;
+    }
+
+    /**
+     * getDescription(), computed once per frozen instance: shared (cached) items are
+     * serialized on every request and can no longer change. Strings are immutable, so
+     * racing threads at worst compute it twice.
+     */
+    public final String describe() {
+        if (!frozen) {
+            return getDescription();
+        }
+        String description = frozenDescription;
+        if (description == null) {
+            description = getDescription();
+            frozenDescription = description;
+        }
+        return description;
+    }
+
+    /**
+     * getFormattedDuration(), computed once per frozen instance like describe()
+     */
+    public final String durationText() {
+        if (!frozen) {
+            return getFormattedDuration();
+        }
+        String formatted = frozenFormattedDuration;
+        if (formatted == null) {
+            formatted = getFormattedDuration();
+            frozenFormattedDuration = formatted;
+        }
+        return formatted;
     }
 
     @Override
@@ -61,11 +99,43 @@ public abstract class Media implements Playable, Validatable<Media> {
         System.out.println("Now playing: " + name + " by " + creator + " (" + getFormattedDuration() + ")");
     }
 
+    @Override
+    public Media freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /* Every field is an immutable value, so a shallow clone is a full copy */
+    @Override
+    public Media frozenCopy() {
+        if (frozen) {
+            return this;
+        }
+        try {
+            return ((Media) clone()).freeze();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    protected final void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Media '" + name + "' is a shared read-only instance");
+        }
+    }
+
     public int getId() {
         return id;
     }
 
     public void setId(int id) {
+        checkMutable();
         this.id = id;
     }
 
@@ -74,10 +144,12 @@ public abstract class Media implements Playable, Validatable<Media> {
     }
 
     public void setName(String name) {
+        checkMutable();
         this.name = name;
     }
 
     public void setDuration(int duration) {
+        checkMutable();
         this.duration = duration;
     }
 
@@ -86,6 +158,7 @@ public abstract class Media implements Playable, Validatable<Media> {
     }
 
     public void setCreator(String creator) {
+        checkMutable();
         this.creator = creator;
     }
 
@@ -94,6 +167,7 @@ public abstract class Media implements Playable, Validatable<Media> {
     }
 
     protected void setType(MediaType type) {
+        checkMutable();
         this.type = type;
     }
 
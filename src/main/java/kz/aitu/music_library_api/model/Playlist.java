@@ -1,16 +1,24 @@
 package kz.aitu.music_library_api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import kz.aitu.music_library_api.exception.InvalidInputException;
+import kz.aitu.music_library_api.patterns.LoggingService;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
-public class Playlist implements Validatable<Playlist>, Printable {
+public class Playlist implements Validatable<Playlist>, Printable, Freezable {
     private int id;
     private String name;
     private List<Media> items;
     private String description;
+    /* Membership index for addMedia, built on first use; null until then and after setItems */
+    private Set<Media> members;
+    private volatile boolean frozen;
 
     public Playlist(String name) {
         this.name = name;
@@ -37,34 +45,47 @@ public class Playlist implements Validatable<Playlist>, Printable {
     }
 
     public void addMedia(Media media) {
-        if (media != null && !items.contains(media)) {
+        checkMutable();
+        if (members == null) {
+            members = new HashSet<>(items);
+        }
+        if (media != null && members.add(media)) {
             items.add(media);
-            System.out.println("Added: " + media.getName() + " to playlist '" + name + "'");
+            LoggingService.getInstance().logDebug("Added: {} to playlist '{}'", media.getName(), name);
         }
     }
 
     public void removeMedia(Media media) {
+        checkMutable();
         if (items.remove(media)) {
-            System.out.println("Removed: " + media.getName() + " from playlist '" + name + "'");
+            if (members != null) {
+                members.remove(media);
+            }
+            LoggingService.getInstance().logDebug("Removed: {} from playlist '{}'", media.getName(), name);
         }
     }
 
     public int getTotalDuration() {
-        return items.stream()
-                .mapToInt(Media::getDuration)
-                .sum();
+        int total = 0;
+        for (Media item : items) {
+            total += item.getDuration();
+        }
+        return total;
     }
 
     public String getFormattedTotalDuration() {
-        int totalSeconds = getTotalDuration();
+        return formatTotalDuration(getTotalDuration());
+    }
+
+    public static String formatTotalDuration(int totalSeconds) {
         int hours = totalSeconds / 3600;
         int minutes = (totalSeconds % 3600) / 60;
         int seconds = totalSeconds % 60;
 
         if (hours > 0) {
-            return String.format("%dh %dm %ds", hours, minutes, seconds);
+            return hours + "h " + minutes + "m " + seconds + "s";
         } else {
-            return String.format("%dm %ds", minutes, seconds);
+            return minutes + "m " + seconds + "s";
         }
     }
 
@@ -114,11 +135,50 @@ public class Playlist implements Validatable<Playlist>, Printable {
         }
     }
 
+    /**
+     * Freeze this playlist and its items; getItems() then returns the shared unmodifiable list
+     */
+    @Override
+    public Playlist freeze() {
+        if (!frozen) {
+            items.forEach(Media::freeze);
+            items = List.copyOf(items);
+            members = null;
+            frozen = true;
+        }
+        return this;
+    }
+
+    @Override
+    public Playlist frozenCopy() {
+        if (frozen) {
+            return this;
+        }
+        List<Media> copies = new ArrayList<>(items.size());
+        for (Media item : items) {
+            copies.add(item.frozenCopy());
+        }
+        return new Playlist(id, name, description, copies).freeze();
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Playlist '" + name + "' is a shared read-only instance");
+        }
+    }
+
     public int getId() {
         return id;
     }
 
     public void setId(int id) {
+        checkMutable();
         this.id = id;
     }
 
@@ -127,15 +187,28 @@ public class Playlist implements Validatable<Playlist>, Printable {
     }
 
     public void setName(String name) {
+        checkMutable();
         this.name = name;
     }
 
     public List<Media> getItems() {
+        if (frozen) {
+            return items; // already unmodifiable
+        }
         return new ArrayList<>(items); // Return copy for encapsulation
     }
 
+    /**
+     * Read-only view of the items without getItems()'s defensive copy (for serializers)
+     */
+    public List<Media> viewItems() {
+        return frozen ? items : Collections.unmodifiableList(items);
+    }
+
     public void setItems(List<Media> items) {
+        checkMutable();
         this.items = items != null ? new ArrayList<>(items) : new ArrayList<>();
+        this.members = null;
     }
 
     public String getDescription() {
@@ -143,6 +216,7 @@ public class Playlist implements Validatable<Playlist>, Printable {
     }
 
     public void setDescription(String description) {
+        checkMutable();
         this.description = description;
     }
 
@@ -28,9 +28,9 @@ public class Podcast extends Media {
 
     @Override
     public String getDescription() {
-        return String.format("Podcast: '%s' hosted by %s (Episode #%d, Category: %s)",
-                getName(), host, episodeNumber,
-                category != null ? category : "General");
+        return "Podcast: '" + getName() + "' hosted by " + host
+                + " (Episode #" + episodeNumber
+                + ", Category: " + (category != null ? category : "General") + ")";
     }
 
     @Override
@@ -64,6 +64,7 @@ public class Podcast extends Media {
     }
 
     public void setHost(String host) {
+        checkMutable();
         this.host = host;
     }
 
@@ -72,6 +73,7 @@ public class Podcast extends Media {
     }
 
     public void setEpisodeNumber(int episodeNumber) {
+        checkMutable();
         this.episodeNumber = episodeNumber;
     }
 
@@ -80,6 +82,7 @@ public class Podcast extends Media {
     }
 
     public void setCategory(String category) {
+        checkMutable();
         this.category = category;
     }
 }
\ No newline at end of file
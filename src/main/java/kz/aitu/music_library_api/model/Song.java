@@ -28,9 +28,9 @@ public class Song extends Media implements PricedItem {
 
     @Override
     public String getDescription() {
-        return String.format("Song: '%s' by %s from album '%s' (Genre: %s)",
-                getName(), getCreator(), album != null ? album : "Unknown",
-                genre != null ? genre : "Unknown");
+        return "Song: '" + getName() + "' by " + getCreator()
+                + " from album '" + (album != null ? album : "Unknown")
+                + "' (Genre: " + (genre != null ? genre : "Unknown") + ")";
     }
 
     @Override
@@ -62,6 +62,7 @@ public class Song extends Media implements PricedItem {
 
     @Override
     public void setPrice(double price) {
+        checkMutable();
         this.price = price;
     }
 
@@ -75,6 +76,7 @@ public class Song extends Media implements PricedItem {
     }
 
     public void setAlbum(String album) {
+        checkMutable();
         this.album = album;
     }
 
@@ -83,6 +85,7 @@ public class Song extends Media implements PricedItem {
     }
 
     public void setGenre(String genre) {
+        checkMutable();
         this.genre = genre;
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package kz.aitu.music_library_api.patterns;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to measured latency (AIMD).
+ *
+ * A call that finishes within the latency target while the limiter is at least half used
+ * grows the limit by 1/limit (about +1 per limit's worth of calls); a call that is slower
+ * than the target or fails shrinks it by backoffRatio. Calls that started before the last
+ * decrease do not decrease it again, so one slow spell costs one backoff, not one per
+ * call that was in flight. Calls over the limit are rejected immediately, never queued.
+ */
+public class AdaptiveLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private volatile long lastDecreaseAt;
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                           long latencyTargetMillis, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": " + minLimit + ".." + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1): " + backoffRatio);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseAt = System.nanoTime();
+    }
+
+    /**
+     * Start time to pass to release, or -1 if the limit is reached
+     */
+    public long tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return System.nanoTime();
+            }
+        }
+    }
+
+    public void release(long startNanos, boolean failed) {
+        long now = System.nanoTime();
+        int current = inFlight.getAndDecrement();
+        if (failed || now - startNanos > latencyTargetNanos) {
+            synchronized (this) {
+                if (startNanos - lastDecreaseAt > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseAt = now;
+                }
+            }
+        } else if (current * 2 >= limit) {
+            synchronized (this) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getLatencyTargetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyTargetNanos);
+    }
+}
@@ -1,40 +1,62 @@
 package kz.aitu.music_library_api.patterns;
 
-import org.springframework.stereotype.Component;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.env.PropertySourcesPropertyResolver;
+
 import java.util.Properties;
 import java.io.InputStream;
 import java.io.IOException;
 
-@Component
+/**
+ * Configuration for code outside of Spring's injection (singletons, filters, repositories).
+ *
+ * In the application it reads Spring's Environment, bound by AppConfigEnvironmentPostProcessor
+ * before the first bean is created, so application.properties is parsed once and command
+ * line / environment variable overrides apply here too. Without Spring (unit tests,
+ * CacheSimulator) it falls back to reading application.properties from the classpath.
+ */
 public class AppConfig {
 
-    private static AppConfig instance;
-    private Properties properties;
     private final String appName;
     private final String version;
-    private final int maxPlaylistSize;
+    private volatile PropertyResolver source;
 
     private AppConfig() {
-        this.properties = new Properties();
         this.appName = "Music Library API";
         this.version = "2.0";
-        this.maxPlaylistSize = 1000;
-        loadProperties();
+    }
+
+    /* First touched by AppConfigEnvironmentPostProcessor, which binds it before any bean reads it */
+    private static final class Holder {
+        private static final AppConfig INSTANCE = new AppConfig();
     }
 
     public static AppConfig getInstance() {
-        if (instance == null) {
-            synchronized (AppConfig.class) {
-                if (instance == null) {
-                    instance = new AppConfig();
+        return Holder.INSTANCE;
+    }
+
+    public void bind(PropertyResolver environment) {
+        this.source = environment;
+    }
+
+    private PropertyResolver source() {
+        PropertyResolver current = source;
+        if (current == null) {
+            synchronized (this) {
+                if (source == null) {
+                    source = loadProperties();
                 }
+                current = source;
             }
         }
-        return instance;
+        return current;
     }
 
-    private void loadProperties() {
-        try (InputStream input = getClass().getClassLoader()
+    private static PropertyResolver loadProperties() {
+        Properties properties = new Properties();
+        try (InputStream input = AppConfig.class.getClassLoader()
                 .getResourceAsStream("application.properties")) {
             if (input != null) {
                 properties.load(input);
@@ -42,6 +64,9 @@ public class AppConfig {
         } catch (IOException e) {
             System.err.println("Could not load application.properties: " + e.getMessage());
         }
+        MutablePropertySources sources = new MutablePropertySources();
+        sources.addFirst(new PropertiesPropertySource("application.properties", properties));
+        return new PropertySourcesPropertyResolver(sources);
     }
 
     public String getAppName() {
@@ -53,14 +78,14 @@ public class AppConfig {
     }
 
     public int getMaxPlaylistSize() {
-        return maxPlaylistSize;
+        return Integer.parseInt(getProperty("playlist.max-size", "1000"));
     }
 
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return source().getProperty(key);
     }
 
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return source().getProperty(key, defaultValue);
     }
-}
\ No newline at end of file
+}
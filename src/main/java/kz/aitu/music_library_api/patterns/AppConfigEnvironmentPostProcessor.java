@@ -0,0 +1,23 @@
+package kz.aitu.music_library_api.patterns;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Points AppConfig at the application's Environment once application.properties, profiles
+ * and overrides are loaded (registered in META-INF/spring.factories)
+ */
+public class AppConfigEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        AppConfig.getInstance().bind(environment);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
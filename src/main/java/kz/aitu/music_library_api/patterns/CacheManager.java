@@ -1,85 +1,208 @@
 package kz.aitu.music_library_api.patterns;
 
-import org.springframework.stereotype.Component;
+import kz.aitu.music_library_api.cache.CacheDependencyTracker;
+import kz.aitu.music_library_api.cache.CacheLoader;
+import kz.aitu.music_library_api.cache.CacheMetrics;
+import kz.aitu.music_library_api.cache.CachePatch;
+import kz.aitu.music_library_api.cache.CacheTags;
+import kz.aitu.music_library_api.cache.InvalidationClock;
+import kz.aitu.music_library_api.cache.OffHeapStats;
+import kz.aitu.music_library_api.cache.OffHeapTier;
+import kz.aitu.music_library_api.cache.RegionStats;
+import kz.aitu.music_library_api.cache.SizeEstimator;
+import kz.aitu.music_library_api.cache.StaleShadow;
+import kz.aitu.music_library_api.cache.StaleValueTracker;
+import kz.aitu.music_library_api.cache.trace.AccessTraceRecorder;
+import kz.aitu.music_library_api.cache.trace.TraceEvent;
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.DeadlineExceededException;
+import kz.aitu.music_library_api.model.Freezable;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
-/* Singleton */
-@Component
+/*
+  Singleton, reached through getInstance() only. It is deliberately not a Spring bean:
+  a second instance would duplicate the off-heap tier, stale shadow and trace file.
+ */
 public class CacheManager {
 
-    private static volatile CacheManager instance;
-    private static volatile boolean initialized = false;
+    /* Cached "not found" result; never handed out to callers */
+    private static final Object ABSENT = new Object();
+    /* Generation for writes that are not the result of a load and are never stale */
+    private static final long UNCONDITIONAL = -1;
     private final Map<String, CacheEntry<?>> cache;
+    private final NavigableSet<String> keyIndex;
+    private final Map<String, Set<String>> tagIndex;
+    private final CacheMetrics metrics;
+    private final InvalidationClock clock;
+    private final Map<String, CompletableFuture<Object>> inFlight;
+    private final Set<String> negativeKeys;
+    private final OffHeapTier offHeap;
+    private final AccessTraceRecorder trace;
+    private final StaleShadow staleShadow;
+    /* Heap entries in access order, least recently used first; guarded by evictionLock */
+    private final LinkedHashMap<String, CacheEntry<?>> recency;
+    private final ReentrantLock evictionLock;
     private final LoggingService loggingService;
+    private final long loadTimeoutMillis;
+    private final int maxHeapEntries;
+    private final long negativeTtlNanos;
+    private final int maxNegativeEntries;
 
     /*  Private constructor
      */
     private CacheManager() {
         this.cache = new ConcurrentHashMap<>();
+        this.keyIndex = new ConcurrentSkipListSet<>();
+        this.tagIndex = new ConcurrentHashMap<>();
+        this.metrics = new CacheMetrics();
+        this.clock = new InvalidationClock();
+        this.inFlight = new ConcurrentHashMap<>();
+        this.negativeKeys = ConcurrentHashMap.newKeySet();
+        this.recency = new LinkedHashMap<>(16, 0.75f, true);
+        this.evictionLock = new ReentrantLock();
         this.loggingService = LoggingService.getInstance();
-        
-        // Only log initialization once
-        if (!initialized) {
-            synchronized (CacheManager.class) {
-                if (!initialized) {
-                    loggingService.logInfo("CacheManager initialized (Singleton instance created)");
-                    initialized = true;
-                }
-            }
+        AppConfig config = AppConfig.getInstance();
+        this.loadTimeoutMillis = Long.parseLong(config.getProperty("cache.load-timeout-ms", "10000"));
+        this.maxHeapEntries = Integer.parseInt(config.getProperty("cache.heap.max-entries", "10000"));
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(
+                Long.parseLong(config.getProperty("cache.negative.ttl-ms", "30000")));
+        this.maxNegativeEntries = Integer.parseInt(config.getProperty("cache.negative.max-entries", "10000"));
+        this.offHeap = new OffHeapTier(Long.parseLong(config.getProperty("cache.offheap.max-bytes", "67108864")));
+        this.trace = createTraceRecorder(config);
+        this.staleShadow = new StaleShadow(Integer.parseInt(config.getProperty("cache.stale.max-entries", "10000")));
+
+        loggingService.logInfo("CacheManager initialized (Singleton instance created)");
+    }
+
+    private AccessTraceRecorder createTraceRecorder(AppConfig config) {
+        if (!Boolean.parseBoolean(config.getProperty("cache.trace.enabled", "false"))) {
+            return AccessTraceRecorder.disabled();
+        }
+        Path file = Path.of(config.getProperty("cache.trace.file", "logs/cache-trace.bin"));
+        try {
+            AccessTraceRecorder recorder = new AccessTraceRecorder(file,
+                    Double.parseDouble(config.getProperty("cache.trace.sample-rate", "0.01")),
+                    Long.parseLong(config.getProperty("cache.trace.max-bytes", "104857600")));
+            loggingService.logInfo("Cache access trace recording to {}", file.toAbsolutePath());
+            return recorder;
+        } catch (IOException e) {
+            loggingService.logError("Cannot record cache access trace to " + file, e);
+            return AccessTraceRecorder.disabled();
         }
     }
 
-    
+    /*
+      Initialization-on-demand holder: getInstance() is called on every cache access, so it must be
+      lazy and thread-safe without taking a lock on each call. The other singletons in this package
+      use the same idiom
+     */
+    private static final class Holder {
+        private static final CacheManager INSTANCE = new CacheManager();
+    }
+
     public static CacheManager getInstance() {
-        if (instance == null) {
-            synchronized (CacheManager.class) {
-                if (instance == null) {
-                    instance = new CacheManager();
-                }
-            }
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     
     public <T> void put(String key, T value) {
+        put(key, value, Set.of());
+    }
+
+    /*
+      Cache a value tagged with the things it depends on (e.g. the media ids it contains),
+      so invalidateTags can drop exactly the entries affected by a write.
+      The value is frozen (see Freezable) and then shared by every reader.
+     */
+    public <T> void put(String key, T value, Collection<String> tags) {
         if (key == null || value == null) {
             loggingService.logWarn("Attempted to cache null key or value");
             return;
         }
         
-        cache.put(key, new CacheEntry<>(value));
-        loggingService.logDebug("Cached: " + key);
+        store(key, value, tags);
+        loggingService.logDebug("Cached: {}", key);
+    }
+
+    /*
+      Cache a value loaded outside getOrLoad, unless something it depends on was invalidated
+      since generation (taken with currentGeneration() before the load started).
+      Returns false if the value was stale and not cached.
+     */
+    public <T> boolean putIfCurrent(String key, T value, Collection<String> tags, long generation) {
+        if (key == null || value == null) {
+            loggingService.logWarn("Attempted to cache null key or value");
+            return false;
+        }
+
+        boolean stored = store(key, value, tags, 0, generation);
+        loggingService.logDebug(stored ? "Cached: {}" : "Discarded stale load: {}", key);
+        return stored;
+    }
+
+    /*
+      Current invalidation generation; see putIfCurrent
+     */
+    public long currentGeneration() {
+        return clock.current();
     }
 
     public <T> void putList(String key, List<T> value) {
+        putList(key, value, Set.of());
+    }
+
+    public <T> void putList(String key, List<T> value, Collection<String> tags) {
         if (key == null || value == null) {
             loggingService.logWarn("Attempted to cache null key or list");
             return;
         }
         
-        cache.put(key, new CacheEntry<>(new ArrayList<>(value)));
-        loggingService.logDebug("Cached list: " + key + " (size: " + value.size() + ")");
+        store(key, value, tags);
+        loggingService.logDebug(() -> "Cached list: " + key + " (size: " + value.size() + ")");
     }
 
     
-    @SuppressWarnings("unchecked")
     public <T> Optional<T> get(String key, Class<T> type) {
+        Optional<T> cached = getCached(key);
+        return cached != null ? cached : Optional.empty();
+    }
+
+    /*
+      Single-key form of getAll: the cached value, Optional.empty() for a cached "not found",
+      or null if the key is not cached at all
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getCached(String key) {
         if (key == null) {
-            return Optional.empty();
+            return null;
         }
 
-        CacheEntry<?> entry = cache.get(key);
+        CacheEntry<?> entry = lookup(key);
         if (entry != null) {
-            loggingService.logDebug("Cache HIT: " + key);
-            return Optional.ofNullable((T) entry.getValue());
+            metrics.recordHit(key);
+            trace.record(TraceEvent.GET, key, entry.getEstimatedBytes());
+            CacheDependencyTracker.record(key, entry.getTags());
+            loggingService.logDebug("Cache HIT: {}", key);
+            return entry.isAbsent() ? Optional.empty() : Optional.ofNullable((T) entry.getValue());
         }
-        
-        loggingService.logDebug("Cache MISS: " + key);
-        return Optional.empty();
+
+        metrics.recordMiss(key);
+        trace.record(TraceEvent.GET, key, 0);
+        loggingService.logDebug("Cache MISS: {}", key);
+        return null;
     }
 
     
@@ -89,27 +212,668 @@ public class CacheManager {
             return Optional.empty();
         }
 
-        CacheEntry<?> entry = cache.get(key);
+        CacheEntry<?> entry = lookup(key);
         if (entry != null && entry.getValue() instanceof List) {
-            loggingService.logDebug("Cache HIT (list): " + key);
-            // Return a copy to maintain immutability
-            List<T> originalList = (List<T>) entry.getValue();
-            return Optional.of(new ArrayList<>(originalList));
+            metrics.recordHit(key);
+            trace.record(TraceEvent.GET, key, entry.getEstimatedBytes());
+            CacheDependencyTracker.record(key, entry.getTags());
+            loggingService.logDebug("Cache HIT (list): {}", key);
+            // Stored lists are unmodifiable, so the shared instance is returned as-is
+            return Optional.of((List<T>) entry.getValue());
         }
         
-        loggingService.logDebug("Cache MISS (list): " + key);
+        metrics.recordMiss(key);
+        trace.record(TraceEvent.GET, key, 0);
+        loggingService.logDebug("Cache MISS (list): {}", key);
         return Optional.empty();
     }
 
+    /*
+      Multi-get: the entry for each of keys that is cached, in the order of keys.
+      A cached "not found" maps to Optional.empty(); keys that are not cached are left out.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, Optional<T>> getAll(Collection<String> keys) {
+        Map<String, Optional<T>> found = new LinkedHashMap<>();
+        int hits = 0;
+        for (String key : keys) {
+            CacheEntry<?> entry = key != null ? lookup(key) : null;
+            if (entry == null) {
+                metrics.recordMiss(key);
+                trace.record(TraceEvent.GET, key, 0);
+                continue;
+            }
+            hits++;
+            metrics.recordHit(key);
+            trace.record(TraceEvent.GET, key, entry.getEstimatedBytes());
+            CacheDependencyTracker.record(key, entry.getTags());
+            found.put(key, entry.isAbsent() ? Optional.empty() : Optional.ofNullable((T) entry.getValue()));
+        }
+        loggingService.logDebug("Cache multi-get: {}/{} hits", hits, keys.size());
+        return found;
+    }
+
+    /*
+      Bulk counterpart of putIfCurrent for the misses of a getAll: each value is cached
+      tagged with tagger(value), and each key mapped to null as a "not found" tagged with
+      absentTagger(key), unless invalidated since generation. Dependencies are recorded either way.
+      Returns the number of entries cached.
+     */
+    public <T> int putAllIfCurrent(Map<String, T> values, Function<? super T, ? extends Collection<String>> tagger,
+                                   Function<String, ? extends Collection<String>> absentTagger, long generation) {
+        int stored = 0;
+        for (Map.Entry<String, T> value : values.entrySet()) {
+            String key = value.getKey();
+            Collection<String> tags;
+            boolean cached;
+            if (value.getValue() != null) {
+                Object frozen = immutable(value.getValue());
+                @SuppressWarnings("unchecked")
+                T typed = (T) frozen;
+                tags = tagger.apply(typed);
+                cached = store(key, frozen, tags, 0, generation);
+            } else {
+                tags = absentTagger.apply(key);
+                cached = storeAbsent(key, tags, generation);
+            }
+            CacheDependencyTracker.record(key, tags);
+            if (cached) {
+                stored++;
+            }
+        }
+        loggingService.logDebug("Cached {}/{} entries in bulk", stored, values.size());
+        return stored;
+    }
+
+    /*
+      Get a cached value or load it, running at most one loader per key at a time.
+      Concurrent callers for the same key wait on the in-flight load instead of
+      hitting the database themselves.
+     */
+    public <T> T getOrLoad(String key, CacheLoader<T> loader) throws DatabaseOperationException {
+        return getOrLoad(key, loader, value -> Set.of());
+    }
+
+    /*
+      Same as getOrLoad(key, loader), tagging the loaded value with tagger(value)
+     */
+    public <T> T getOrLoad(String key, CacheLoader<T> loader,
+                           Function<? super T, ? extends Collection<String>> tagger)
+            throws DatabaseOperationException {
+        return getOrLoad(key, loader, tagger, null);
+    }
+
+    /*
+      Same as getOrLoad(key, loader, tagger), but a null (not found) result is also cached
+      for cache.negative.ttl-ms, tagged with absentTags so creating the missing thing drops it.
+      Callers get null back for a cached miss exactly as for a fresh one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String key, CacheLoader<T> loader,
+                           Function<? super T, ? extends Collection<String>> tagger,
+                           Collection<String> absentTags)
+            throws DatabaseOperationException {
+        if (key == null) {
+            return loader.load();
+        }
+
+        CacheEntry<?> entry = lookup(key);
+        if (entry != null) {
+            metrics.recordHit(key);
+            trace.record(TraceEvent.GET, key, entry.getEstimatedBytes());
+            CacheDependencyTracker.record(key, entry.getTags());
+            loggingService.logDebug("Cache HIT: {}", key);
+            return entry.isAbsent() ? null : (T) entry.getValue();
+        }
+
+        metrics.recordMiss(key);
+        trace.record(TraceEvent.GET, key, 0);
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            loggingService.logDebug("Cache MISS (waiting on in-flight load): {}", key);
+            T value;
+            try {
+                value = (T) await(key, existing);
+            } catch (DeadlineExceededException e) {
+                if (!RequestDeadline.isExpired()) {
+                    // The leader ran out of its own (shorter) deadline; load again under ours
+                    return getOrLoad(key, loader, tagger, absentTags);
+                }
+                return (T) serveStale(key, e);
+            } catch (DatabaseOperationException e) {
+                return (T) serveStale(key, e);
+            }
+            CacheEntry<?> loaded = cache.get(key);
+            if (loaded != null) {
+                CacheDependencyTracker.record(key, loaded.getTags());
+            }
+            return value;
+        }
+
+        try {
+            // A load may have finished between our miss and claiming the key
+            entry = lookup(key);
+            if (entry != null) {
+                CacheDependencyTracker.record(key, entry.getTags());
+                T cached = entry.isAbsent() ? null : (T) entry.getValue();
+                load.complete(cached);
+                return cached;
+            }
+
+            loggingService.logDebug("Cache MISS (loading): {}", key);
+            long generation = clock.current();
+            T value = timedLoad(key, loader);
+            T stored = (T) immutable(value);
+            // Dependencies are recorded even for a stale load, so a response built from it is rejected too
+            if (stored != null) {
+                Collection<String> tags = tagger.apply(stored);
+                store(key, stored, tags, 0, generation);
+                CacheDependencyTracker.record(key, tags);
+            } else if (absentTags != null) {
+                storeAbsent(key, absentTags, generation);
+                CacheDependencyTracker.record(key, absentTags);
+            }
+            load.complete(stored);
+            return stored;
+        } catch (DatabaseOperationException e) {
+            load.completeExceptionally(e);
+            return (T) serveStale(key, e);
+        } catch (Throwable t) {
+            load.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /*
+      The database could not be reached (or its circuit is open): answer with the last value
+      this key had before it was invalidated, expired or evicted, if we still have it, and flag
+      the request as stale. Otherwise the failure propagates as usual.
+     */
+    private Object serveStale(String key, DatabaseOperationException failure) throws DatabaseOperationException {
+        Object stale = staleShadow.get(key);
+        if (stale == null) {
+            throw failure;
+        }
+        metrics.recordStaleServed(key);
+        StaleValueTracker.markStale();
+        loggingService.logWarn("Serving stale cache value for {}: {}", key, failure.getMessage());
+        return stale == ABSENT ? null : stale;
+    }
+
+    private <T> T timedLoad(String key, CacheLoader<T> loader) throws DatabaseOperationException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T value = loader.load();
+            success = true;
+            return value;
+        } finally {
+            metrics.recordLoad(key, System.nanoTime() - start, success);
+        }
+    }
+
+    private Object await(String key, CompletableFuture<Object> load) throws DatabaseOperationException {
+        // Bounded by the request's deadline as well, whichever comes first
+        long remaining = RequestDeadline.remainingMillis();
+        long timeout = Math.min(loadTimeoutMillis, remaining);
+        try {
+            return load.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (remaining <= loadTimeoutMillis) {
+                throw new DeadlineExceededException(
+                        "Request deadline exceeded waiting for cache load: " + key, e);
+            }
+            throw new DatabaseOperationException(
+                    "Timed out after " + loadTimeoutMillis + " ms waiting for cache load: " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseOperationException("Interrupted while waiting for cache load: " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseOperationException dbException) {
+                throw dbException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new DatabaseOperationException("Cache load failed: " + key, cause);
+        }
+    }
+
+    /*
+      Cached values are shared between all readers without copying, so what is stored is a
+      frozen copy: lists become unmodifiable and Media/Playlist reject setters. The caller's
+      own objects are left mutable; values that are already frozen (read from the cache) are
+      stored as they are
+     */
+    private static Object immutable(Object value) {
+        if (value instanceof Freezable freezable) {
+            return freezable.frozenCopy();
+        }
+        if (value instanceof List<?> list) {
+            Object[] copies = new Object[list.size()];
+            boolean copied = false;
+            int i = 0;
+            for (Object element : list) {
+                Object frozen = element instanceof Freezable freezable ? freezable.frozenCopy() : element;
+                copied |= frozen != element;
+                copies[i++] = frozen;
+            }
+            // List.copyOf keeps a list that is already unmodifiable (a cached one) as it is
+            return copied ? List.of(copies) : List.copyOf(list);
+        }
+        return value;
+    }
+
+    /*
+      Heap entry for key, promoting it from the off-heap tier if it was demoted there
+     */
+    private CacheEntry<?> lookup(String key) {
+        CacheEntry<?> entry = cache.get(key);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            expire(key, entry);
+            entry = null;
+        }
+        // contains() only takes the tier's read lock: plain misses never enter compute
+        if (entry == null && offHeap.isEnabled() && offHeap.contains(key)) {
+            // Promote inside compute so a concurrent remove(key) cannot interleave
+            entry = cache.compute(key, (k, existing) -> {
+                if (existing != null) {
+                    return existing;
+                }
+                OffHeapTier.Promoted promoted = offHeap.take(k);
+                if (promoted == null) {
+                    return null;
+                }
+                // Tags and key stay indexed while an entry is off-heap
+                Object value = immutable(promoted.getValue());
+                long bytes = SizeEstimator.estimate(value);
+                metrics.recordStore(k, bytes);
+                return new CacheEntry<>(value, promoted.getTags(), bytes, 0);
+            });
+            if (entry != null) {
+                recordStored(key, entry);
+                return entry;
+            }
+        }
+        if (entry != null) {
+            recordAccess(key);
+        }
+        return entry;
+    }
+
+    private void store(String key, Object rawValue, Collection<String> tags) {
+        store(key, rawValue, tags, 0, UNCONDITIONAL);
+    }
+
+    /*
+      Remember that key has nothing behind it. Negative entries are capped at
+      cache.negative.max-entries so a scan over random ids cannot flood the heap tier;
+      once full, expired ones are purged and, failing that, the miss is simply not cached.
+     */
+    private boolean storeAbsent(String key, Collection<String> tags, long generation) {
+        if (negativeTtlNanos <= 0 || maxNegativeEntries <= 0) {
+            return false;
+        }
+        if (negativeKeys.size() >= maxNegativeEntries) {
+            purgeExpired();
+            if (negativeKeys.size() >= maxNegativeEntries) {
+                return false;
+            }
+        }
+        return store(key, ABSENT, tags, System.nanoTime() + negativeTtlNanos, generation);
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        for (String key : negativeKeys) {
+            CacheEntry<?> entry = cache.get(key);
+            if (entry == null || !entry.isAbsent()) {
+                negativeKeys.remove(key);
+            } else if (entry.isExpired(now)) {
+                expire(key, entry);
+            }
+        }
+    }
+
+    private void expire(String key, CacheEntry<?> expired) {
+        cache.computeIfPresent(key, (k, entry) -> {
+            if (entry != expired) {
+                return entry;
+            }
+            metrics.recordEviction(k, entry.getEstimatedBytes());
+            staleShadow.remember(k, entry.getValue());
+            unindex(k, entry.getTags());
+            keyIndex.remove(k);
+            negativeKeys.remove(k);
+            return null;
+        });
+    }
+
+    /*
+      Store a value loaded at generation (UNCONDITIONAL for plain puts).
+      The new tags are indexed before the staleness check: an invalidation either stamped the
+      clock before the check (and the value is rejected) or scans the index after it (and finds it).
+      A rejected value takes the previous entry with it, since that was invalidated as well.
+     */
+    private boolean store(String key, Object rawValue, Collection<String> tags, long expiresAt, long generation) {
+        Object value = immutable(rawValue);
+        Set<String> entryTags = tags == null || tags.isEmpty() ? Set.of() : Set.copyOf(tags);
+        long bytes = SizeEstimator.estimate(value);
+        CacheEntry<?>[] stored = new CacheEntry<?>[1];
+        cache.compute(key, (k, previous) -> {
+            if (previous != null) {
+                unindex(k, previous.getTags());
+                metrics.recordReplace(k, previous.getEstimatedBytes());
+                if (previous.isAbsent()) {
+                    negativeKeys.remove(k);
+                }
+            } else {
+                Set<String> offHeapTags = offHeap.remove(k);
+                if (offHeapTags != null) {
+                    unindex(k, offHeapTags);
+                }
+            }
+            for (String tag : entryTags) {
+                tagIndex.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(k);
+            }
+            keyIndex.add(k);
+            if (generation != UNCONDITIONAL && clock.isStale(generation, k, entryTags)) {
+                unindex(k, entryTags);
+                keyIndex.remove(k);
+                metrics.recordStaleFill(k);
+                return null;
+            }
+            metrics.recordStore(k, bytes);
+            if (value == ABSENT) {
+                negativeKeys.add(k);
+            }
+            stored[0] = new CacheEntry<>(value, entryTags, bytes, expiresAt);
+            return stored[0];
+        });
+        if (stored[0] == null) {
+            return false;
+        }
+        staleShadow.forget(key);
+        trace.record(TraceEvent.PUT, key, bytes);
+        recordStored(key, stored[0]);
+        return true;
+    }
+
+    /*
+      Moves key to the most recently used end. Reads skip this while an eviction or another
+      access holds the lock rather than wait for it, so the order is approximate under contention
+     */
+    private void recordAccess(String key) {
+        if (evictionLock.tryLock()) {
+            try {
+                recency.get(key);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /*
+      Entries removed from the heap tier are not unlinked from recency (that would take the lock
+      inside the map's compute, against evictIfNeeded's order); eviction skips them when it
+      reaches them, and they are swept once they outnumber the live entries by maxHeapEntries
+     */
+    private void recordStored(String key, CacheEntry<?> entry) {
+        evictionLock.lock();
+        try {
+            recency.put(key, entry);
+            if (recency.size() > cache.size() + Math.max(maxHeapEntries, 16)) {
+                recency.entrySet().removeIf(node -> cache.get(node.getKey()) != node.getValue());
+            }
+            evictIfNeeded();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /*
+      Keep the heap tier within cache.heap.max-entries by popping the least recently used
+      entries off the head of recency. Called with evictionLock held. Victims are demoted to
+      the off-heap tier when it can hold them.
+     */
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, CacheEntry<?>>> oldest = recency.entrySet().iterator();
+        while (cache.size() > maxHeapEntries && oldest.hasNext()) {
+            Map.Entry<String, CacheEntry<?>> victim = oldest.next();
+            oldest.remove();
+            evict(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private void evict(String key, CacheEntry<?> victim) {
+        Map<String, Set<String>> displaced = new HashMap<>();
+        cache.computeIfPresent(key, (k, entry) -> {
+            if (entry != victim) {
+                return entry; // replaced (or patched) since it was recorded
+            }
+            metrics.recordEviction(k, entry.getEstimatedBytes());
+            if (entry.isAbsent()) {
+                negativeKeys.remove(k);
+            }
+            // Negative entries are cheap to recompute and carry a TTL, so they are not demoted
+            if (entry.isAbsent() || !offHeap.put(k, entry.getValue(), entry.getTags(), displaced)) {
+                staleShadow.remember(k, entry.getValue());
+                unindex(k, entry.getTags());
+                keyIndex.remove(k);
+            }
+            return null;
+        });
+        displaced.forEach(this::dropOffHeapVictim);
+    }
+
+    /*
+      An entry pushed out of the off-heap tier is gone for good, unless it has been re-cached on heap since
+     */
+    private void dropOffHeapVictim(String key, Set<String> tags) {
+        cache.compute(key, (k, entry) -> {
+            if (entry == null) {
+                unindex(k, tags);
+                keyIndex.remove(k);
+                metrics.recordEviction(k, 0);
+            }
+            return entry;
+        });
+    }
+
+    private boolean remove(String key) {
+        boolean[] removed = new boolean[1];
+        cache.compute(key, (k, entry) -> {
+            Set<String> tags;
+            if (entry != null) {
+                tags = entry.getTags();
+                staleShadow.remember(k, entry.getValue());
+                metrics.recordInvalidation(k, entry.getEstimatedBytes());
+                if (entry.isAbsent()) {
+                    negativeKeys.remove(k);
+                }
+            } else {
+                tags = offHeap.remove(k);
+                if (tags != null) {
+                    metrics.recordInvalidation(k, 0);
+                }
+            }
+            if (tags != null) {
+                unindex(k, tags);
+                keyIndex.remove(k);
+                removed[0] = true;
+            }
+            return null;
+        });
+        if (removed[0]) {
+            trace.record(TraceEvent.INVALIDATE, key, 0);
+            // Stamp before looking up dependents, so a response still being built from this entry is not cached
+            clock.invalidateKey(key);
+            removeDependents(key);
+        }
+        return removed[0];
+    }
+
+    /*
+      Entries derived from this key (e.g. cached HTTP responses) are stale once it is gone
+     */
+    private void removeDependents(String key) {
+        Set<String> dependents = tagIndex.get(CacheTags.key(key));
+        if (dependents != null) {
+            for (String dependent : List.copyOf(dependents)) {
+                remove(dependent);
+            }
+        }
+    }
+
+    private void unindex(String key, Set<String> tags) {
+        for (String tag : tags) {
+            tagIndex.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
     /*
       Invalidate (remove) a specific cache entry
      */
     public void invalidate(String key) {
-        if (key != null && cache.remove(key) != null) {
-            loggingService.logInfo("Cache invalidated: " + key);
+        if (key == null) {
+            return;
+        }
+        clock.invalidateKey(key);
+        if (remove(key)) {
+            loggingService.logInfo("Cache invalidated: {}", key);
+        }
+    }
+
+    /*
+      Invalidate every entry carrying any of the given tags.
+      Cost is proportional to the number of affected entries, not the cache size.
+     */
+    public void invalidateTags(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+
+        clock.invalidateTags(tags);
+        int removed = 0;
+        for (String tag : tags) {
+            Set<String> keys = tagIndex.get(tag);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : List.copyOf(keys)) {
+                if (remove(key)) {
+                    removed++;
+                }
+            }
+        }
+
+        if (removed > 0) {
+            loggingService.logInfo("Cache invalidated (tags): {} ({} entries removed)", tags, removed);
         }
     }
 
+    /*
+      Write-through alternative to invalidateTags: every entry carrying any of the tags is
+      replaced by patch.apply(key, value) instead of being dropped. Loads already in flight
+      for these tags are rejected as if the tags had been invalidated, and entries derived
+      from a patched key (cached responses) are dropped. Entries demoted off-heap are dropped
+      rather than promoted just to be patched.
+     */
+    public void patchTags(Collection<String> tags, CachePatch patch) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+
+        clock.invalidateTags(tags);
+        Set<String> keys = new TreeSet<>();
+        for (String tag : tags) {
+            Set<String> tagged = tagIndex.get(tag);
+            if (tagged != null) {
+                keys.addAll(tagged);
+            }
+        }
+
+        int patched = 0;
+        for (String key : keys) {
+            if (patchEntry(key, patch)) {
+                patched++;
+            }
+        }
+        loggingService.logDebug("Cache patched (tags): {} ({} entries)", tags, patched);
+    }
+
+    private boolean patchEntry(String key, CachePatch patch) {
+        boolean[] changed = new boolean[1];
+        boolean[] kept = new boolean[1];
+        long[] patchedBytes = new long[1];
+        CacheEntry<?>[] patched = new CacheEntry<?>[1];
+        cache.compute(key, (k, entry) -> {
+            if (entry == null) {
+                Set<String> offHeapTags = offHeap.remove(k);
+                if (offHeapTags != null) {
+                    unindex(k, offHeapTags);
+                    keyIndex.remove(k);
+                    metrics.recordInvalidation(k, 0);
+                    changed[0] = true;
+                }
+                return null;
+            }
+
+            Object current = entry.isAbsent() ? null : entry.getValue();
+            Object value = immutable(patch.apply(k, current));
+            if (value == current) {
+                kept[0] = true;
+                return entry;
+            }
+            changed[0] = true;
+            if (entry.isAbsent()) {
+                negativeKeys.remove(k);
+            }
+            if (value == null) {
+                staleShadow.remember(k, entry.getValue());
+                unindex(k, entry.getTags());
+                keyIndex.remove(k);
+                metrics.recordInvalidation(k, entry.getEstimatedBytes());
+                return null;
+            }
+
+            // Index the new tags before dropping the old ones, so the key is never briefly unreachable by tag
+            Collection<String> tags = patch.tags(k, value);
+            Set<String> entryTags = tags == null || tags.isEmpty() ? Set.of() : Set.copyOf(tags);
+            for (String tag : entryTags) {
+                tagIndex.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(k);
+            }
+            Set<String> droppedTags = new HashSet<>(entry.getTags());
+            droppedTags.removeAll(entryTags);
+            unindex(k, droppedTags);
+            long bytes = SizeEstimator.estimate(value);
+            metrics.recordPatch(k, entry.getEstimatedBytes(), bytes);
+            patchedBytes[0] = bytes;
+            kept[0] = true;
+            patched[0] = new CacheEntry<>(value, entryTags, bytes, 0);
+            return patched[0];
+        });
+        if (patched[0] != null) {
+            recordStored(key, patched[0]);
+        }
+        if (changed[0]) {
+            trace.record(kept[0] ? TraceEvent.PUT : TraceEvent.INVALIDATE, key, patchedBytes[0]);
+            clock.invalidateKey(key);
+            removeDependents(key);
+        }
+        return changed[0] && kept[0];
+    }
+
     /* Invalidate all cache entries matching a pattern
      */
     public void invalidatePattern(String pattern) {
@@ -117,42 +881,112 @@ public class CacheManager {
             return;
         }
 
-        String regex = pattern.replace("*", ".*");
+        int wildcard = pattern.indexOf('*');
+        boolean prefixOnly = wildcard == pattern.length() - 1;
+        String prefix = prefixOnly ? pattern.substring(0, wildcard) : null;
+        Pattern regex = prefixOnly ? null : compileGlob(pattern);
+        clock.invalidateMatching(prefixOnly ? key -> key.startsWith(prefix) : key -> regex.matcher(key).matches());
         List<String> keysToRemove = new ArrayList<>();
         
-        for (String key : cache.keySet()) {
-            if (key.matches(regex)) {
+        if (prefixOnly) {
+            // Keys are kept sorted, so a prefix is a contiguous range
+            for (String key : keyIndex.tailSet(prefix)) {
+                if (!key.startsWith(prefix)) {
+                    break;
+                }
                 keysToRemove.add(key);
             }
+        } else {
+            for (String key : keyIndex) {
+                if (regex.matcher(key).matches()) {
+                    keysToRemove.add(key);
+                }
+            }
         }
 
-        keysToRemove.forEach(cache::remove);
+        keysToRemove.forEach(this::remove);
         
         if (!keysToRemove.isEmpty()) {
-            loggingService.logInfo("Cache invalidated (pattern): " + pattern + 
-                                   " (" + keysToRemove.size() + " entries removed)");
+            loggingService.logInfo("Cache invalidated (pattern): {} ({} entries removed)", pattern, keysToRemove.size());
+        }
+    }
+
+    private static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        for (int i = glob.indexOf('*'); i >= 0; i = glob.indexOf('*', start)) {
+            regex.append(Pattern.quote(glob.substring(start, i))).append(".*");
+            start = i + 1;
         }
+        regex.append(Pattern.quote(glob.substring(start)));
+        return Pattern.compile(regex.toString());
     }
 
     /* Clear all cache entries
      */
     public void clearAll() {
-        int size = cache.size();
-        cache.clear();
-        loggingService.logInfo("Cache cleared: " + size + " entries removed");
+        clock.invalidateAll();
+        int size = 0;
+        for (String key : keyIndex) {
+            if (remove(key)) {
+                size++;
+            }
+        }
+        staleShadow.clear();
+        evictionLock.lock();
+        try {
+            recency.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+        loggingService.logInfo("Cache cleared: {} entries removed", size);
     }
 
     /* Check if a key exists in cache
      */
     public boolean containsKey(String key) {
-        return key != null && cache.containsKey(key);
+        return key != null && (cache.containsKey(key) || offHeap.contains(key));
     }
 
     /**
-     * Get cache statistics
+     * Get cache statistics (entry count plus per-region counters)
      */
     public CacheStats getStats() {
-        return new CacheStats(cache.size(), cache.keySet());
+        return new CacheStats(cache.size(), negativeKeys.size(), staleShadow.size(), metrics.snapshot(),
+                offHeap.getStats());
+    }
+
+    /**
+     * Estimated bytes held on heap by the regions whose name starts with the prefix
+     */
+    public long getEstimatedBytes(String regionPrefix) {
+        return metrics.bytes(regionPrefix);
+    }
+
+    /**
+     * List cached keys in lexical order, a page at a time.
+     * Pass the previous page's nextCursor as "after" to continue.
+     */
+    public KeyPage listKeys(String prefix, String after, int limit) {
+        String from = prefix != null ? prefix : "";
+        if (after != null && after.compareTo(from) >= 0) {
+            from = after;
+        }
+        boolean inclusive = after == null || !after.equals(from);
+
+        List<String> keys = new ArrayList<>(Math.min(limit, 1000));
+        String last = null;
+        for (String key : keyIndex.tailSet(from, inclusive)) {
+            if (prefix != null && !key.startsWith(prefix)) {
+                break;
+            }
+            if (keys.size() == limit) {
+                return new KeyPage(keys, last);
+            }
+            keys.add(key);
+            last = key;
+        }
+        return new KeyPage(keys, null);
     }
 
     /**
@@ -160,17 +994,40 @@ public class CacheManager {
      */
     private static class CacheEntry<T> {
         private final T value;
+        private final Set<String> tags;
+        private final long estimatedBytes;
         private final LocalDateTime createdAt;
+        private final long expiresAt;
 
-        public CacheEntry(T value) {
+        /* expiresAt is a System.nanoTime() deadline, 0 for entries that only leave by invalidation or eviction */
+        public CacheEntry(T value, Set<String> tags, long estimatedBytes, long expiresAt) {
             this.value = value;
+            this.tags = tags;
+            this.estimatedBytes = estimatedBytes;
+            this.expiresAt = expiresAt;
             this.createdAt = LocalDateTime.now();
         }
 
+        public boolean isAbsent() {
+            return value == ABSENT;
+        }
+
+        public boolean isExpired(long now) {
+            return expiresAt != 0 && now - expiresAt >= 0;
+        }
+
         public T getValue() {
             return value;
         }
 
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+
         public LocalDateTime getCreatedAt() {
             return createdAt;
         }
@@ -181,24 +1038,84 @@ public class CacheManager {
      */
     public static class CacheStats {
         private final int size;
-        private final Set<String> keys;
+        private final int negativeEntries;
+        private final int staleEntries;
+        private final Map<String, RegionStats> regions;
+        private final OffHeapStats offHeap;
 
-        public CacheStats(int size, Set<String> keys) {
+        public CacheStats(int size, int negativeEntries, int staleEntries, Map<String, RegionStats> regions,
+                          OffHeapStats offHeap) {
             this.size = size;
-            this.keys = new HashSet<>(keys);
+            this.negativeEntries = negativeEntries;
+            this.staleEntries = staleEntries;
+            this.regions = regions;
+            this.offHeap = offHeap;
         }
 
         public int getSize() {
             return size;
         }
 
-        public Set<String> getKeys() {
-            return new HashSet<>(keys);
+        /* Cached "not found" results, included in size */
+        public int getNegativeEntries() {
+            return negativeEntries;
+        }
+
+        /* Last known values kept for serving while the database is unavailable, not included in size */
+        public int getStaleEntries() {
+            return staleEntries;
+        }
+
+        public long getHits() {
+            return regions.values().stream().mapToLong(RegionStats::getHits).sum();
+        }
+
+        public long getMisses() {
+            return regions.values().stream().mapToLong(RegionStats::getMisses).sum();
+        }
+
+        public double getHitRatio() {
+            long requests = getHits() + getMisses();
+            return requests == 0 ? 0.0 : (double) getHits() / requests;
+        }
+
+        public long getEstimatedBytes() {
+            return regions.values().stream().mapToLong(RegionStats::getEstimatedBytes).sum();
+        }
+
+        public Map<String, RegionStats> getRegions() {
+            return regions;
+        }
+
+        public OffHeapStats getOffHeap() {
+            return offHeap;
         }
 
         @Override
         public String toString() {
-            return String.format("CacheStats{size=%d, keys=%s}", size, keys);
+            return String.format("CacheStats{size=%d, negativeEntries=%d, hitRatio=%.3f, regions=%s, offHeap=%s}",
+                    size, negativeEntries, getHitRatio(), regions, offHeap);
+        }
+    }
+
+    /**
+     * One page of cache keys
+     */
+    public static class KeyPage {
+        private final List<String> keys;
+        private final String nextCursor;
+
+        public KeyPage(List<String> keys, String nextCursor) {
+            this.keys = keys;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<String> getKeys() {
+            return keys;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
         }
     }
 }
@@ -0,0 +1,152 @@
+package kz.aitu.music_library_api.patterns;
+
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.DeadlineExceededException;
+import kz.aitu.music_library_api.exception.ServiceUnavailableException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker for calls to a backend that can stall (the database).
+ *
+ * CLOSED: calls go through; failureThreshold consecutive failures open the circuit.
+ * OPEN: calls fail immediately with ServiceUnavailableException for openMillis.
+ * HALF_OPEN: one probe call is let through; success closes the circuit, failure re-opens it.
+ *
+ * Only DatabaseOperationException and runtime exceptions count as failures; business
+ * outcomes such as ResourceNotFoundException mean the backend answered. A call that fails
+ * after the request's deadline (see RequestDeadline) passed is reported as
+ * DeadlineExceededException and not counted either way.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T run() throws E, DatabaseOperationException;
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LoggingService loggingService;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    /* State and when it opened, replaced together by compare-and-set; never a lock held by a caller */
+    private final AtomicReference<Phase> phase = new AtomicReference<>(Phase.CLOSED);
+
+    private record Phase(State state, long openedAt) {
+        static final Phase CLOSED = new Phase(State.CLOSED, 0);
+    }
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.loggingService = LoggingService.getInstance();
+    }
+
+    public State getState() {
+        return phase.get().state();
+    }
+
+    public <T, E extends Exception> T call(Call<T, E> call) throws E, DatabaseOperationException {
+        RequestDeadline.check(name + " call");
+        boolean probe = acquire();
+        boolean failed = false;
+        boolean abandoned = false;
+        try {
+            return call.run();
+        } catch (DatabaseOperationException | RuntimeException e) {
+            if (RequestDeadline.isExpired()) {
+                abandoned = true;
+                throw deadlineExceeded(e);
+            }
+            failed = true;
+            throw e;
+        } finally {
+            if (abandoned) {
+                onAbandoned(probe);
+            } else if (failed) {
+                onFailure(probe);
+            } else {
+                onSuccess(probe);
+            }
+        }
+    }
+
+    /* The DeadlineExceededException behind e (DeadlineJdbcTemplate wraps one), or a new one */
+    private DeadlineExceededException deadlineExceeded(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException deadline) {
+                return deadline;
+            }
+        }
+        return new DeadlineExceededException("Request deadline exceeded during " + name + " call", e);
+    }
+
+    private boolean acquire() throws ServiceUnavailableException {
+        Phase current = phase.get();
+        if (current.state() == State.CLOSED) {
+            return false;
+        }
+        if (current.state() == State.OPEN) {
+            long remaining = openNanos - (System.nanoTime() - current.openedAt());
+            if (remaining > 0) {
+                throw unavailable(remaining);
+            }
+            phase.compareAndSet(current, new Phase(State.HALF_OPEN, current.openedAt()));
+            current = phase.get();
+        }
+        if (current.state() == State.HALF_OPEN && probeInFlight.compareAndSet(false, true)) {
+            return true;
+        }
+        if (current.state() == State.CLOSED) {
+            return false;
+        }
+        throw unavailable(openNanos);
+    }
+
+    /* The probe slot is released only after the new phase is visible, so no second probe slips in */
+    private void onSuccess(boolean probe) {
+        consecutiveFailures.set(0);
+        if (probe) {
+            phase.set(Phase.CLOSED);
+            probeInFlight.set(false);
+            loggingService.logInfo("Circuit {} closed, probe call succeeded", name);
+        }
+    }
+
+    /*
+      The caller's deadline ran out: says nothing about the backend, so the outcome is not
+      counted and a probe slot is simply handed to the next call
+     */
+    private void onAbandoned(boolean probe) {
+        if (probe) {
+            probeInFlight.set(false);
+        }
+    }
+
+    private void onFailure(boolean probe) {
+        if (probe) {
+            phase.set(new Phase(State.OPEN, System.nanoTime()));
+            probeInFlight.set(false);
+            loggingService.logWarn("Circuit {} re-opened, probe call failed", name);
+            return;
+        }
+        // Only the caller whose compare-and-set opens the circuit logs it
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold
+                && phase.compareAndSet(Phase.CLOSED, new Phase(State.OPEN, System.nanoTime()))) {
+            loggingService.logWarn("Circuit {} opened after {} consecutive failures", name, failureThreshold);
+        }
+    }
+
+    private ServiceUnavailableException unavailable(long remainingNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L));
+        return new ServiceUnavailableException(name + " is unavailable (circuit open)", retryAfter);
+    }
+}
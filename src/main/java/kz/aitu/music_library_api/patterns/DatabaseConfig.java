@@ -5,7 +5,6 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConfig {
-    private static DatabaseConfig instance;
     private String url;
     private String username;
     private String password;
@@ -16,11 +15,12 @@ public class DatabaseConfig {
         this.password = "Hinata03";
     }
 
-    public static synchronized DatabaseConfig getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConfig();
-        }
-        return instance;
+    private static final class Holder {
+        private static final DatabaseConfig INSTANCE = new DatabaseConfig();
+    }
+
+    public static DatabaseConfig getInstance() {
+        return Holder.INSTANCE;
     }
 
     public Connection getConnection() throws SQLException {
@@ -4,59 +4,104 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
+/**
+ * Application log. Every method checks the level before doing any work, so a disabled
+ * call costs a level check only. On hot paths, pass arguments to a {} format instead of
+ * concatenating, or a Supplier when the message itself is expensive to build.
+ *
+ * Events are written by the asynchronous appender configured in logback-spring.xml; a
+ * request thread only hands the event over and never waits on the console or a file.
+ */
 @Service
 public class LoggingService {
 
-    private static LoggingService instance;
     private static final Logger logger = LoggerFactory.getLogger(LoggingService.class);
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private LoggingService() {}
 
+    private static final class Holder {
+        private static final LoggingService INSTANCE = new LoggingService();
+    }
+
     public static LoggingService getInstance() {
-        if (instance == null) {
-            synchronized (LoggingService.class) {
-                if (instance == null) {
-                    instance = new LoggingService();
-                }
-            }
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
     }
 
     public void logInfo(String message) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info("[{}] {}", timestamp, message);
+        logger.info(message);
+    }
+
+    public void logInfo(String format, Object arg) {
+        logger.info(format, arg);
+    }
+
+    public void logInfo(String format, Object arg1, Object arg2) {
+        logger.info(format, arg1, arg2);
+    }
+
+    public void logInfo(Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message.get());
+        }
     }
 
     public void logError(String message) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.error("[{}] {}", timestamp, message);
+        logger.error(message);
     }
 
     public void logError(String message, Throwable throwable) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.error("[{}] {}", timestamp, message, throwable);
+        logger.error(message, throwable);
     }
 
     public void logDebug(String message) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.debug("[{}] {}", timestamp, message);
+        logger.debug(message);
+    }
+
+    public void logDebug(String format, Object arg) {
+        logger.debug(format, arg);
+    }
+
+    public void logDebug(String format, Object arg1, Object arg2) {
+        logger.debug(format, arg1, arg2);
+    }
+
+    public void logDebug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
+        }
     }
 
     public void logWarn(String message) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.warn("[{}] {}", timestamp, message);
+        logger.warn(message);
+    }
+
+    public void logWarn(String format, Object arg) {
+        logger.warn(format, arg);
+    }
+
+    public void logWarn(String format, Object arg1, Object arg2) {
+        logger.warn(format, arg1, arg2);
+    }
+
+    public void logWarn(Supplier<String> message) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(message.get());
+        }
     }
 
     public void logApiRequest(String method, String endpoint) {
-        logInfo(String.format("API Request: %s %s", method, endpoint));
+        logger.info("API Request: {} {}", method, endpoint);
     }
 
     public void logApiResponse(String method, String endpoint, int statusCode) {
-        logInfo(String.format("API Response: %s %s - Status: %d", method, endpoint, statusCode));
+        if (logger.isInfoEnabled()) {
+            logger.info("API Response: {} {} - Status: {}", method, endpoint, statusCode);
+        }
     }
-}
\ No newline at end of file
+}
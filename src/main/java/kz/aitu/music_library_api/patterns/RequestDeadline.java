@@ -0,0 +1,69 @@
+package kz.aitu.music_library_api.patterns;
+
+import kz.aitu.music_library_api.exception.DeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the current request (see RequestDeadlineFilter). Work done on the request
+ * thread reads it implicitly: JDBC statements get the remaining time as their query timeout
+ * and cache waits are bounded by it. Threads without a deadline are unbounded.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {}
+
+    public static void begin(long timeoutMillis) {
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    public static void end() {
+        DEADLINE.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE.get() != null;
+    }
+
+    /**
+     * Milliseconds left (0 once passed), or Long.MAX_VALUE without a deadline
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * Remaining time as a JDBC query timeout: whole seconds, rounded up and at least 1, or 0
+     * (no limit) without a deadline. Fails fast once the deadline has passed instead of
+     * sending a statement that could only be cancelled.
+     */
+    public static int queryTimeoutSeconds() throws DeadlineExceededException {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return 0;
+        }
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before the statement was sent", null);
+        }
+        long seconds = (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, seconds));
+    }
+
+    public static boolean isExpired() {
+        Long deadline = DEADLINE.get();
+        return deadline != null && deadline - System.nanoTime() <= 0;
+    }
+
+    public static void check(String operation) throws DeadlineExceededException {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + operation, null);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package kz.aitu.music_library_api.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.reactive.server.ReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Non-blocking variant of the API: WebFlux on Netty with R2DBC repositories, so slow
+ * clients and database calls hold no thread while they wait.
+ * Serves the same endpoints as MusicLibraryApiApplication and shares its model, cache
+ * and exception handling; only one of the two is meant to run on a port.
+ *
+ * Beans of this package only exist in a reactive web application, so the servlet
+ * application, which also scans this package, ignores them.
+ *
+ * Tomcat is on the classpath for the servlet application, and Spring Boot prefers it for a
+ * reactive server too, so the Netty server factory is declared here explicitly: requests are
+ * served by Netty's event loop (a few threads, one per core), not a Tomcat thread pool.
+ */
+@SpringBootApplication(
+        scanBasePackages = {
+                "kz.aitu.music_library_api.reactive",
+                "kz.aitu.music_library_api.patterns",
+                "kz.aitu.music_library_api.exception",
+                "kz.aitu.music_library_api.json"},
+        exclude = DataSourceAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMusicLibraryApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveMusicLibraryApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run(args);
+    }
+
+    @Bean
+    public ReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
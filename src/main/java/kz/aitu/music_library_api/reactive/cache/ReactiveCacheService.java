@@ -0,0 +1,39 @@
+package kz.aitu.music_library_api.reactive.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of CacheService over the same CacheManager
+ */
+public interface ReactiveCacheService {
+
+    /**
+     * Cached value for key, or subscribe to loader on a miss and cache what it emits, tagged
+     * with tagger(value). Concurrent misses for the same key share one subscription to a loader.
+     */
+    <T> Mono<T> getOrLoad(String key, Mono<T> loader, Function<? super T, ? extends Collection<String>> tagger);
+
+    /**
+     * Same as getOrLoad(key, loader, tagger), also caching an empty loader result (not found)
+     * tagged with absentTags; a cached miss completes empty.
+     */
+    <T> Mono<T> getOrLoad(String key, Mono<T> loader, Function<? super T, ? extends Collection<String>> tagger,
+                          Collection<String> absentTags);
+
+    /**
+     * Cached list for key, emitted element by element, or subscribe to loader on a miss and pass
+     * its elements on at the subscriber's pace, caching the whole list (tagged with tagger(list))
+     * once it completes. Each miss subscribes to loader itself.
+     */
+    <T> Flux<T> getOrLoadMany(String key, Flux<T> loader, Function<? super List<T>, ? extends Collection<String>> tagger);
+
+    /**
+     * Invalidate all entries carrying any of the given tags
+     */
+    void invalidateTags(Collection<String> tags);
+}
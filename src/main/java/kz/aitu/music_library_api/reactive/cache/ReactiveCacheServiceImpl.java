@@ -0,0 +1,119 @@
+package kz.aitu.music_library_api.reactive.cache;
+
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.patterns.CacheManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Reactive Cache Service Implementation
+ * Lookups and stores go straight to CacheManager (in-memory, never blocks on I/O); loads are
+ * shared per key like CacheManager.getOrLoad and cached only if nothing they depend on was
+ * invalidated while they ran (see CacheManager.putIfCurrent).
+ *
+ * A list miss streams rows from the database with the subscriber's demand (backpressure reaches
+ * R2DBC) and keeps a copy for the cache, up to cache.reactive.max-list-elements; larger lists
+ * are served but not cached. List loads are not shared: concurrent misses each read the rows
+ * at their own pace rather than one of them buffering for the others.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCacheServiceImpl implements ReactiveCacheService {
+
+    private final CacheManager cacheManager;
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final int maxListElements;
+
+    public ReactiveCacheServiceImpl() {
+        this.cacheManager = CacheManager.getInstance();
+        this.maxListElements = Integer.parseInt(
+                AppConfig.getInstance().getProperty("cache.reactive.max-list-elements", "10000"));
+    }
+
+    @Override
+    public <T> Mono<T> getOrLoad(String key, Mono<T> loader, Function<? super T, ? extends Collection<String>> tagger) {
+        return getOrLoad(key, loader, tagger, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getOrLoad(String key, Mono<T> loader, Function<? super T, ? extends Collection<String>> tagger,
+                                 Collection<String> absentTags) {
+        return Mono.defer(() -> {
+            Optional<T> cached = cacheManager.getCached(key);
+            if (cached != null) {
+                return Mono.justOrEmpty(cached);
+            }
+            return (Mono<T>) inFlight.computeIfAbsent(key, k -> load(k, loader, tagger, absentTags));
+        });
+    }
+
+    private <T> Mono<T> load(String key, Mono<T> loader, Function<? super T, ? extends Collection<String>> tagger,
+                             Collection<String> absentTags) {
+        Mono<T> shared = Mono.defer(() -> {
+            long generation = cacheManager.currentGeneration();
+            return loader
+                    .doOnNext(value -> cacheManager.putIfCurrent(key, value, tagger.apply(value), generation))
+                    .doOnSuccess(value -> {
+                        if (value == null && absentTags != null) {
+                            Map<String, T> absent = new HashMap<>();
+                            absent.put(key, null);
+                            cacheManager.putAllIfCurrent(absent, tagger, k -> absentTags, generation);
+                        }
+                    });
+        });
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        self.set(shared.doFinally(signal -> inFlight.remove(key, self.get())).cache());
+        return self.get();
+    }
+
+    @Override
+    public <T> Flux<T> getOrLoadMany(String key, Flux<T> loader,
+                                     Function<? super List<T>, ? extends Collection<String>> tagger) {
+        return Flux.defer(() -> {
+            Optional<List<T>> cached = cacheManager.getCached(key);
+            if (cached != null) {
+                return cached.map(Flux::fromIterable).orElseGet(Flux::empty);
+            }
+            long generation = cacheManager.currentGeneration();
+            List<T> loaded = new ArrayList<>();
+            AtomicBoolean tooLarge = new AtomicBoolean();
+            return loader
+                    .doOnNext(value -> {
+                        if (tooLarge.get()) {
+                            return;
+                        }
+                        if (loaded.size() < maxListElements) {
+                            loaded.add(value);
+                        } else {
+                            tooLarge.set(true);
+                            loaded.clear();
+                        }
+                    })
+                    // Only a complete read is cached; a cancelled one is partial
+                    .doOnComplete(() -> {
+                        if (!tooLarge.get()) {
+                            cacheManager.putIfCurrent(key, loaded, tagger.apply(loaded), generation);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public void invalidateTags(Collection<String> tags) {
+        cacheManager.invalidateTags(tags);
+    }
+}
@@ -0,0 +1,165 @@
+package kz.aitu.music_library_api.reactive.controller;
+
+import kz.aitu.music_library_api.dto.NormalizedPlaylists;
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
+import kz.aitu.music_library_api.exception.InvalidInputException;
+import kz.aitu.music_library_api.model.*;
+import kz.aitu.music_library_api.reactive.service.ReactiveMediaService;
+import kz.aitu.music_library_api.reactive.service.ReactivePlaylistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same endpoints as MusicLibraryController, non-blocking.
+ * List endpoints also produce application/x-ndjson: one JSON object per line, written as
+ * the client reads them, so large lists are streamed with backpressure.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMusicLibraryController {
+
+    private static final String NDJSON = MediaType.APPLICATION_NDJSON_VALUE;
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+
+    private final ReactiveMediaService mediaService;
+    private final ReactivePlaylistService playlistService;
+
+    @Autowired
+    public ReactiveMusicLibraryController(ReactiveMediaService mediaService,
+                                          ReactivePlaylistService playlistService) {
+        this.mediaService = mediaService;
+        this.playlistService = playlistService;
+    }
+
+    @PostMapping("/songs")
+    public Mono<Media> createSong(@RequestParam String name,
+                                  @RequestParam int duration,
+                                  @RequestParam String creator,
+                                  @RequestParam String album,
+                                  @RequestParam String genre,
+                                  @RequestParam double price) {
+        Song song = new Song(name, duration, creator, album, genre);
+        song.setPrice(price);
+        return mediaService.createMedia(song);
+    }
+
+    @PostMapping("/podcasts")
+    public Mono<Media> createPodcast(@RequestParam String name,
+                                     @RequestParam int duration,
+                                     @RequestParam String creator,
+                                     @RequestParam String host,
+                                     @RequestParam int episodeNumber,
+                                     @RequestParam String category) {
+        return mediaService.createMedia(new Podcast(name, duration, creator, host, episodeNumber, category));
+    }
+
+    @GetMapping(value = "/media", produces = {JSON, NDJSON})
+    public Flux<Media> getAllMedia() {
+        return mediaService.getAllMedia();
+    }
+
+    @GetMapping(value = "/media", params = "ids", produces = {JSON, NDJSON})
+    public Flux<Media> getMediaByIds(@RequestParam List<Integer> ids) {
+        return mediaService.getMediaByIds(ids);
+    }
+
+    @PostMapping(value = "/media/batch-get", produces = {JSON, NDJSON})
+    public Flux<Media> batchGetMedia(@RequestBody List<Integer> ids) {
+        return mediaService.getMediaByIds(ids);
+    }
+
+    @GetMapping("/media/{id}")
+    public Mono<Media> getMediaById(@PathVariable int id) {
+        return mediaService.getMediaById(id);
+    }
+
+    @PutMapping("/media/{id}")
+    public Mono<Media> updateMedia(@PathVariable int id,
+                                   @RequestBody Media media) {
+        return mediaService.updateMedia(id, media);
+    }
+
+    @DeleteMapping("/media/{id}")
+    public Mono<Void> deleteMedia(@PathVariable int id) {
+        return mediaService.deleteMedia(id);
+    }
+
+    @GetMapping(value = "/media/type/{type}", produces = {JSON, NDJSON})
+    public Flux<Media> getMediaByType(@PathVariable Media.MediaType type) {
+        return mediaService.getMediaByType(type);
+    }
+
+    @GetMapping(value = "/media/search", produces = {JSON, NDJSON})
+    public Flux<Media> searchMedia(@RequestParam String keyword) {
+        return mediaService.searchMediaByName(keyword);
+    }
+
+    @PostMapping("/playlists")
+    public Mono<Playlist> createPlaylist(@RequestBody Playlist playlist) {
+        return playlistService.createPlaylist(playlist);
+    }
+
+    /* Metadata only; items are paged with /playlists/{id}/items or requested with ?expand=items */
+    @GetMapping(value = "/playlists", produces = {JSON, NDJSON})
+    public Flux<PlaylistSummary> getAllPlaylists() {
+        return playlistService.getPlaylistSummaries();
+    }
+
+    @GetMapping(value = "/playlists", params = {"expand=items", "!include"}, produces = {JSON, NDJSON})
+    public Flux<Playlist> getAllPlaylistsWithItems() {
+        return playlistService.getAllPlaylists();
+    }
+
+    @GetMapping(value = "/playlists", params = {"include=media", "!expand"})
+    public Mono<NormalizedPlaylists> getAllPlaylistsNormalized() {
+        return playlistService.getAllPlaylistsNormalized();
+    }
+
+    @GetMapping(value = "/playlists", params = {"expand", "include"})
+    public Mono<Void> getAllPlaylistsConflicting() {
+        return Mono.error(new InvalidInputException("Use either expand=items or include=media, not both"));
+    }
+
+    @GetMapping("/playlists/{id}")
+    public Mono<PlaylistSummary> getPlaylistById(@PathVariable int id) {
+        return playlistService.getPlaylistSummary(id);
+    }
+
+    @GetMapping(value = "/playlists/{id}", params = "expand=items")
+    public Mono<Playlist> getPlaylistWithItems(@PathVariable int id) {
+        return playlistService.getPlaylistById(id);
+    }
+
+    @GetMapping("/playlists/{id}/items")
+    public Mono<PlaylistItemsPage> getPlaylistItems(@PathVariable int id,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) Integer limit) {
+        return playlistService.getPlaylistItems(id, after, limit);
+    }
+
+    @DeleteMapping("/playlists/{id}")
+    public Mono<Void> deletePlaylist(@PathVariable int id) {
+        return playlistService.deletePlaylist(id);
+    }
+
+    @PostMapping("/playlists/{playlistId}/media/{mediaId}")
+    public Mono<Void> addMediaToPlaylist(@PathVariable int playlistId,
+                                         @PathVariable int mediaId) {
+        return playlistService.addMediaToPlaylist(playlistId, mediaId);
+    }
+
+    @DeleteMapping("/playlists/{playlistId}/media/{mediaId}")
+    public Mono<Void> removeMediaFromPlaylist(@PathVariable int playlistId,
+                                              @PathVariable int mediaId) {
+        return playlistService.removeMediaFromPlaylist(playlistId, mediaId);
+    }
+}
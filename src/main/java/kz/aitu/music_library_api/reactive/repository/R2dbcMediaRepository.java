@@ -0,0 +1,212 @@
+package kz.aitu.music_library_api.reactive.repository;
+
+import io.r2dbc.spi.Readable;
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+import kz.aitu.music_library_api.patterns.MediaFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * MediaRepository over R2DBC; same SQL as MediaRepositoryImpl, rows are streamed
+ * as they arrive and demand from the subscriber is passed on to the driver.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class R2dbcMediaRepository implements ReactiveMediaRepository {
+
+    private final DatabaseClient databaseClient;
+    private final MediaFactory mediaFactory;
+
+    @Autowired
+    public R2dbcMediaRepository(DatabaseClient databaseClient, MediaFactory mediaFactory) {
+        this.databaseClient = databaseClient;
+        this.mediaFactory = mediaFactory;
+    }
+
+    Media mapMedia(Readable row) {
+        return mediaFactory.createMediaFromData(
+                intValue(row.get("id")),
+                row.get("name", String.class),
+                intValue(row.get("duration")),
+                row.get("type", String.class),
+                row.get("creator", String.class),
+                row.get("album", String.class),
+                row.get("genre", String.class),
+                row.get("price") instanceof Number price ? price.doubleValue() : 0.0,
+                row.get("host", String.class),
+                intValue(row.get("episode_number")),
+                row.get("category", String.class)
+        );
+    }
+
+    @Override
+    public Mono<Media> create(Media media) {
+        String sql = """
+            INSERT INTO media (name, duration, type, creator, album, genre, price, host, episode_number, category)
+            VALUES (:name, :duration, :type, :creator, :album, :genre, :price, :host, :episodeNumber, :category)
+        """;
+        DatabaseClient.GenericExecuteSpec spec = bindFields(databaseClient.sql(sql), media)
+                .bind("type", media.getType().name())
+                .filter(statement -> statement.returnGeneratedValues("id"));
+        return spec.map(row -> intValue(row.get("id")))
+                .one()
+                .map(id -> {
+                    media.setId(id);
+                    return media;
+                })
+                .onErrorMap(e -> failure("Failed to create media", e));
+    }
+
+    @Override
+    public Flux<Media> getAll() {
+        return databaseClient.sql("SELECT * FROM media ORDER BY id")
+                .map(this::mapMedia)
+                .all()
+                .onErrorMap(e -> failure("Failed to retrieve all media", e));
+    }
+
+    @Override
+    public Mono<Media> getById(int id) {
+        return databaseClient.sql("SELECT * FROM media WHERE id = :id")
+                .bind("id", id)
+                .map(this::mapMedia)
+                .one()
+                .onErrorMap(e -> failure("Failed to retrieve media by id", e))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Media", id)));
+    }
+
+    @Override
+    public Mono<Media> update(int id, Media media) {
+        String sql = """
+            UPDATE media
+            SET name = :name, duration = :duration, creator = :creator, album = :album, genre = :genre,
+                price = :price, host = :host, episode_number = :episodeNumber, category = :category
+            WHERE id = :id
+        """;
+        return bindFields(databaseClient.sql(sql), media)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(e -> failure("Failed to update media", e))
+                .flatMap(rows -> {
+                    if (rows == 0) {
+                        return Mono.error(new ResourceNotFoundException("Media", id));
+                    }
+                    media.setId(id);
+                    return Mono.just(media);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> delete(int id) {
+        return databaseClient.sql("DELETE FROM media WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(e -> failure("Failed to delete media", e))
+                .flatMap(rows -> rows > 0 ? Mono.just(true) : Mono.error(new ResourceNotFoundException("Media", id)));
+    }
+
+    @Override
+    public Mono<Boolean> exists(int id) {
+        return count("SELECT COUNT(*) FROM media WHERE id = :id", Map.of("id", id))
+                .onErrorMap(e -> failure("Failed to check media existence", e));
+    }
+
+    @Override
+    public Flux<Media> findByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT * FROM media WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(this::mapMedia)
+                .all()
+                .onErrorMap(e -> failure("Failed to find media by ids", e));
+    }
+
+    @Override
+    public Flux<Media> findByType(Media.MediaType type) {
+        return databaseClient.sql("SELECT * FROM media WHERE type = :type ORDER BY LOWER(name), id")
+                .bind("type", type.name())
+                .map(this::mapMedia)
+                .all()
+                .onErrorMap(e -> failure("Failed to find media by type", e));
+    }
+
+    @Override
+    public Flux<Media> findByCreator(String creator) {
+        return databaseClient.sql("SELECT * FROM media WHERE LOWER(creator) = LOWER(:creator) ORDER BY LOWER(name), id")
+                .bind("creator", creator)
+                .map(this::mapMedia)
+                .all()
+                .onErrorMap(e -> failure("Failed to find media by creator", e));
+    }
+
+    @Override
+    public Flux<Media> searchByName(String keyword) {
+        return databaseClient.sql("SELECT * FROM media WHERE LOWER(name) LIKE LOWER(:keyword) ORDER BY LOWER(name), id")
+                .bind("keyword", "%" + keyword + "%")
+                .map(this::mapMedia)
+                .all()
+                .onErrorMap(e -> failure("Failed to find media by name", e));
+    }
+
+    @Override
+    public Mono<Boolean> existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator) {
+        String sql = "SELECT COUNT(*) FROM media WHERE LOWER(name) = LOWER(:name) AND type = :type AND LOWER(creator) = LOWER(:creator)";
+        return count(sql, Map.of("name", name, "type", type.name(), "creator", creator))
+                .onErrorMap(e -> failure("Failed to check media existence", e));
+    }
+
+    private Mono<Boolean> count(String sql, Map<String, Object> parameters) {
+        return databaseClient.sql(sql)
+                .bindValues(parameters)
+                .map(row -> intValue(row.get(0)) > 0)
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec spec, Media media) {
+        Song song = media instanceof Song s ? s : null;
+        Podcast podcast = media instanceof Podcast p ? p : null;
+        spec = spec.bind("name", media.getName())
+                .bind("duration", media.getDuration())
+                .bind("creator", media.getCreator())
+                .bind("price", song != null ? song.getPrice() : 0.0)
+                .bind("episodeNumber", podcast != null ? podcast.getEpisodeNumber() : 0);
+        spec = bindNullable(spec, "album", song != null ? song.getAlbum() : null);
+        spec = bindNullable(spec, "genre", song != null ? song.getGenre() : null);
+        spec = bindNullable(spec, "host", podcast != null ? podcast.getHost() : null);
+        return bindNullable(spec, "category", podcast != null ? podcast.getCategory() : null);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    static int intValue(Object value) {
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    /*
+      Wrap driver errors the way the JDBC repositories do; our own exceptions pass through
+     */
+    static Throwable failure(String message, Throwable e) {
+        if (e instanceof DatabaseOperationException || e instanceof ResourceNotFoundException) {
+            return e;
+        }
+        return new DatabaseOperationException(message + ": " + e.getMessage(), e);
+    }
+}
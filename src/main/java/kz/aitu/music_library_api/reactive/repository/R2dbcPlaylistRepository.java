@@ -0,0 +1,284 @@
+package kz.aitu.music_library_api.reactive.repository;
+
+import io.r2dbc.spi.Readable;
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static kz.aitu.music_library_api.reactive.repository.R2dbcMediaRepository.failure;
+import static kz.aitu.music_library_api.reactive.repository.R2dbcMediaRepository.intValue;
+
+/**
+ * PlaylistRepository over R2DBC. Items of any number of playlists are fetched with one
+ * join query, so a page of playlists costs two queries.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class R2dbcPlaylistRepository implements ReactivePlaylistRepository {
+
+    /* Playlists assembled per round trip when streaming all of them */
+    private static final int ASSEMBLY_BATCH = 100;
+
+    private static final String SUMMARY_SQL = """
+        SELECT p.id, p.name, p.description,
+               COUNT(m.id) AS item_count, COALESCE(SUM(m.duration), 0) AS total_duration
+        FROM playlists p
+        LEFT JOIN playlist_items pi ON pi.playlist_id = p.id
+        LEFT JOIN media m ON m.id = pi.media_id
+    """;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcMediaRepository mediaRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final int maxPlaylistSize;
+
+    @Autowired
+    public R2dbcPlaylistRepository(DatabaseClient databaseClient, R2dbcMediaRepository mediaRepository,
+                                   TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.mediaRepository = mediaRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.maxPlaylistSize = AppConfig.getInstance().getMaxPlaylistSize();
+    }
+
+    @Override
+    public Mono<Playlist> create(Playlist playlist) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("INSERT INTO playlists (name, description) VALUES (:name, :description)")
+                .bind("name", playlist.getName());
+        spec = playlist.getDescription() != null
+                ? spec.bind("description", playlist.getDescription())
+                : spec.bindNull("description", String.class);
+        return spec.filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> intValue(row.get("id")))
+                .one()
+                .flatMap(id -> {
+                    playlist.setId(id);
+                    return insertItems(playlist).thenReturn(playlist);
+                })
+                .onErrorMap(e -> failure("Failed to create playlist", e));
+    }
+
+    /*
+      The playlist is new and the service has checked its size, so positions are simply 1..n;
+      one multi-row INSERT (each Object[] expands to a row) instead of one per item
+     */
+    private Mono<Void> insertItems(Playlist playlist) {
+        Set<Integer> mediaIds = new LinkedHashSet<>();
+        for (Media media : playlist.getItems()) {
+            if (media.getId() > 0) {
+                mediaIds.add(media.getId());
+            }
+        }
+        if (mediaIds.isEmpty()) {
+            return Mono.empty();
+        }
+        List<Object[]> rows = new ArrayList<>(mediaIds.size());
+        int position = 0;
+        for (Integer mediaId : mediaIds) {
+            rows.add(new Object[]{playlist.getId(), mediaId, ++position});
+        }
+        return databaseClient.sql("INSERT INTO playlist_items (playlist_id, media_id, position) VALUES :rows")
+                .bind("rows", rows)
+                .then();
+    }
+
+    @Override
+    public Flux<Playlist> getAll() {
+        return databaseClient.sql("SELECT * FROM playlists ORDER BY id")
+                .map(row -> new Playlist(intValue(row.get("id")), row.get("name", String.class),
+                        row.get("description", String.class), new ArrayList<>()))
+                .all()
+                .buffer(ASSEMBLY_BATCH)
+                .concatMap(this::withItems)
+                .onErrorMap(e -> failure("Failed to retrieve all playlists", e));
+    }
+
+    @Override
+    public Mono<Playlist> getById(int id) {
+        return databaseClient.sql("SELECT * FROM playlists WHERE id = :id")
+                .bind("id", id)
+                .map(row -> new Playlist(intValue(row.get("id")), row.get("name", String.class),
+                        row.get("description", String.class), new ArrayList<>()))
+                .all()
+                .collectList()
+                .flatMapMany(this::withItems)
+                .next()
+                .onErrorMap(e -> failure("Failed to retrieve playlist by ID", e))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Playlist", id)));
+    }
+
+    @Override
+    public Flux<PlaylistSummary> getSummaries() {
+        return databaseClient.sql(SUMMARY_SQL + " GROUP BY p.id, p.name, p.description ORDER BY p.id")
+                .map(R2dbcPlaylistRepository::mapSummary)
+                .all()
+                .onErrorMap(e -> failure("Failed to retrieve playlist summaries", e));
+    }
+
+    @Override
+    public Mono<PlaylistSummary> getSummary(int id) {
+        return databaseClient.sql(SUMMARY_SQL + " WHERE p.id = :id GROUP BY p.id, p.name, p.description")
+                .bind("id", id)
+                .map(R2dbcPlaylistRepository::mapSummary)
+                .one()
+                .onErrorMap(e -> failure("Failed to retrieve playlist summary", e))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Playlist", id)));
+    }
+
+    private static PlaylistSummary mapSummary(Readable row) {
+        return new PlaylistSummary(intValue(row.get("id")), row.get("name", String.class),
+                row.get("description", String.class), intValue(row.get("item_count")), intValue(row.get("total_duration")));
+    }
+
+    /*
+      Keyset page on (position, media_id), like PlaylistRepositoryImpl.getItemsPage; one row past
+      the limit tells whether there is a next page
+     */
+    @Override
+    public Mono<PlaylistItemsPage> getItemsPage(int playlistId, int afterPosition, int afterMediaId, int limit) {
+        String sql = """
+            SELECT pi.position, m.* FROM playlist_items pi
+            INNER JOIN media m ON m.id = pi.media_id
+            WHERE pi.playlist_id = :playlistId AND (pi.position, pi.media_id) > (:afterPosition, :afterMediaId)
+            ORDER BY pi.position, pi.media_id
+            LIMIT :limit
+        """;
+        return databaseClient.sql(sql)
+                .bind("playlistId", playlistId)
+                .bind("afterPosition", afterPosition)
+                .bind("afterMediaId", afterMediaId)
+                .bind("limit", limit + 1)
+                .map(row -> Map.entry(intValue(row.get("position")), mediaRepository.mapMedia(row)))
+                .all()
+                .collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > limit;
+                    List<Map.Entry<Integer, Media>> page = hasNext ? rows.subList(0, limit) : rows;
+                    List<Media> items = new ArrayList<>(page.size());
+                    page.forEach(row -> items.add(row.getValue()));
+                    Map.Entry<Integer, Media> last = page.isEmpty() ? null : page.get(page.size() - 1);
+                    return new PlaylistItemsPage(items,
+                            hasNext ? PlaylistItemsPage.cursor(last.getKey(), last.getValue().getId()) : null);
+                })
+                .onErrorMap(e -> failure("Failed to get playlist items", e));
+    }
+
+    @Override
+    public Mono<Boolean> delete(int id) {
+        return databaseClient.sql("DELETE FROM playlists WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(e -> failure("Failed to delete playlist", e))
+                .flatMap(rows -> rows > 0 ? Mono.just(true) : Mono.error(new ResourceNotFoundException("Playlist", id)));
+    }
+
+    @Override
+    public Mono<Boolean> exists(int id) {
+        return databaseClient.sql("SELECT COUNT(*) FROM playlists WHERE id = :id")
+                .bind("id", id)
+                .map(row -> intValue(row.get(0)) > 0)
+                .one()
+                .onErrorMap(e -> failure("Failed to check playlist existence", e));
+    }
+
+    @Override
+    public Mono<Boolean> existsByName(String name) {
+        return databaseClient.sql("SELECT COUNT(*) FROM playlists WHERE LOWER(name) = LOWER(:name)")
+                .bind("name", name)
+                .map(row -> intValue(row.get(0)) > 0)
+                .one()
+                .onErrorMap(e -> failure("Failed to check playlist existence by name", e));
+    }
+
+    /*
+      Same as PlaylistRepositoryImpl.addMediaToPlaylist: adds to one playlist are serialized on
+      its row lock, and the capped insert runs as a second statement so it sees the items
+      committed by the add it waited for
+     */
+    @Override
+    public Mono<Boolean> addMediaToPlaylist(int playlistId, int mediaId) {
+        String sql = """
+            INSERT INTO playlist_items (playlist_id, media_id, position)
+            SELECT :playlistId, :mediaId, COALESCE(MAX(position), 0) + 1 FROM playlist_items WHERE playlist_id = :playlistId
+            HAVING COUNT(*) < :maxSize
+            ON CONFLICT DO NOTHING
+        """;
+        Mono<Long> insert = databaseClient.sql("SELECT id FROM playlists WHERE id = :playlistId FOR UPDATE")
+                .bind("playlistId", playlistId)
+                .then()
+                .then(databaseClient.sql(sql)
+                        .bind("playlistId", playlistId)
+                        .bind("mediaId", mediaId)
+                        .bind("maxSize", maxPlaylistSize)
+                        .fetch()
+                        .rowsUpdated());
+        return transactionalOperator.transactional(insert)
+                .map(rows -> rows > 0)
+                .onErrorMap(e -> failure("Failed to add media to playlist", e));
+    }
+
+    @Override
+    public Mono<Boolean> containsMedia(int playlistId, int mediaId) {
+        return databaseClient.sql("SELECT COUNT(*) FROM playlist_items WHERE playlist_id = :playlistId AND media_id = :mediaId")
+                .bind("playlistId", playlistId)
+                .bind("mediaId", mediaId)
+                .map(row -> intValue(row.get(0)) > 0)
+                .one()
+                .onErrorMap(e -> failure("Failed to check playlist membership", e));
+    }
+
+    @Override
+    public Mono<Void> removeMediaFromPlaylist(int playlistId, int mediaId) {
+        return databaseClient.sql("DELETE FROM playlist_items WHERE playlist_id = :playlistId AND media_id = :mediaId")
+                .bind("playlistId", playlistId)
+                .bind("mediaId", mediaId)
+                .then()
+                .onErrorMap(e -> failure("Failed to remove media from playlist", e));
+    }
+
+    /*
+      Fill in the items of the given playlists with one query, in playlist order
+     */
+    private Flux<Playlist> withItems(List<Playlist> playlists) {
+        if (playlists.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Integer> ids = new ArrayList<>(playlists.size());
+        playlists.forEach(playlist -> ids.add(playlist.getId()));
+        String sql = """
+            SELECT pi.playlist_id, m.* FROM playlist_items pi
+            INNER JOIN media m ON m.id = pi.media_id
+            WHERE pi.playlist_id IN (:ids)
+            ORDER BY pi.playlist_id, pi.position, m.id
+        """;
+        return databaseClient.sql(sql)
+                .bind("ids", ids)
+                .map(row -> Map.entry(intValue(row.get("playlist_id")), mediaRepository.mapMedia(row)))
+                .all()
+                .collect(HashMap<Integer, List<Media>>::new,
+                        (items, item) -> items.computeIfAbsent(item.getKey(), id -> new ArrayList<>()).add(item.getValue()))
+                .flatMapMany(items -> {
+                    playlists.forEach(playlist -> playlist.setItems(items.getOrDefault(playlist.getId(), new ArrayList<>())));
+                    return Flux.fromIterable(playlists);
+                });
+    }
+}
@@ -0,0 +1,36 @@
+package kz.aitu.music_library_api.reactive.repository;
+
+import kz.aitu.music_library_api.model.Media;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of MediaRepository. Failures are signalled as
+ * DatabaseOperationException, a missing id as ResourceNotFoundException.
+ */
+public interface ReactiveMediaRepository {
+
+    Mono<Media> create(Media media);
+
+    Flux<Media> getAll();
+
+    Mono<Media> getById(int id);
+
+    Mono<Media> update(int id, Media media);
+
+    Mono<Boolean> delete(int id);
+
+    Mono<Boolean> exists(int id);
+
+    Flux<Media> findByIds(Collection<Integer> ids);
+
+    Flux<Media> findByType(Media.MediaType type);
+
+    Flux<Media> findByCreator(String creator);
+
+    Flux<Media> searchByName(String keyword);
+
+    Mono<Boolean> existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator);
+}
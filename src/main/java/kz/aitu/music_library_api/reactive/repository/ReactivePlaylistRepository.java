@@ -0,0 +1,46 @@
+package kz.aitu.music_library_api.reactive.repository;
+
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
+import kz.aitu.music_library_api.model.Playlist;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of PlaylistRepository
+ */
+public interface ReactivePlaylistRepository {
+
+    Mono<Playlist> create(Playlist playlist);
+
+    Flux<Playlist> getAll();
+
+    Mono<Playlist> getById(int id);
+
+    /**
+     * Metadata of every playlist with item count and total duration, without the items
+     */
+    Flux<PlaylistSummary> getSummaries();
+
+    Mono<PlaylistSummary> getSummary(int id);
+
+    /**
+     * Up to limit items after the keyset cursor (afterPosition, afterMediaId), in playlist order
+     */
+    Mono<PlaylistItemsPage> getItemsPage(int playlistId, int afterPosition, int afterMediaId, int limit);
+
+    Mono<Boolean> delete(int id);
+
+    Mono<Boolean> exists(int id);
+
+    Mono<Boolean> existsByName(String name);
+
+    /**
+     * Append media to the playlist; false if it is already there or the playlist is full
+     */
+    Mono<Boolean> addMediaToPlaylist(int playlistId, int mediaId);
+
+    Mono<Boolean> containsMedia(int playlistId, int mediaId);
+
+    Mono<Void> removeMediaFromPlaylist(int playlistId, int mediaId);
+}
@@ -0,0 +1,129 @@
+package kz.aitu.music_library_api.reactive.service;
+
+import kz.aitu.music_library_api.cache.CacheTags;
+import kz.aitu.music_library_api.exception.DuplicateResourceException;
+import kz.aitu.music_library_api.exception.InvalidInputException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.reactive.cache.ReactiveCacheService;
+import kz.aitu.music_library_api.reactive.repository.ReactiveMediaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive counterpart of MediaServiceImpl: same validation, cache keys and tags.
+ * Lists are cached whole; on a miss they are streamed to the client as the database returns
+ * rows, and collected for the cache on the way (see ReactiveCacheService.getOrLoadMany).
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMediaService {
+
+    private static final String CACHE_KEY_ALL_MEDIA = "media:all";
+    private static final String CACHE_KEY_MEDIA_BY_ID = "media:id:";
+    private static final String CACHE_KEY_MEDIA_BY_TYPE = "media:type:";
+    private static final String CACHE_KEY_SEARCH = "media:search:";
+
+    private final ReactiveMediaRepository mediaRepository;
+    private final ReactiveCacheService cacheService;
+
+    @Autowired
+    public ReactiveMediaService(ReactiveMediaRepository mediaRepository, ReactiveCacheService cacheService) {
+        this.mediaRepository = mediaRepository;
+        this.cacheService = cacheService;
+    }
+
+    public Mono<Media> createMedia(Media media) {
+        return validate(media)
+                .then(Mono.defer(() -> mediaRepository.existsByNameAndTypeAndCreator(
+                        media.getName(), media.getType(), media.getCreator())))
+                .flatMap(exists -> exists
+                        ? Mono.error(new DuplicateResourceException("Media",
+                                String.format("%s '%s' by %s", media.getType(), media.getName(), media.getCreator())))
+                        : mediaRepository.create(media))
+                .doOnNext(created -> cacheService.invalidateTags(listTags(created, null)));
+    }
+
+    public Flux<Media> getAllMedia() {
+        return cacheService.getOrLoadMany(CACHE_KEY_ALL_MEDIA, mediaRepository.getAll(),
+                mediaList -> CacheTags.ofMediaList(mediaList, CacheTags.MEDIA_ALL));
+    }
+
+    public Mono<Media> getMediaById(int id) {
+        if (id <= 0) {
+            return Mono.error(new InvalidInputException("Invalid media ID: " + id));
+        }
+        Mono<Media> loader = mediaRepository.getById(id)
+                .onErrorResume(ResourceNotFoundException.class, e -> Mono.empty());
+        return cacheService.getOrLoad(CACHE_KEY_MEDIA_BY_ID + id, loader, CacheTags::ofMedia, Set.of(CacheTags.media(id)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Media", id)));
+    }
+
+    public Flux<Media> getMediaByIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.error(new InvalidInputException("At least one media ID is required"));
+        }
+        // Each id goes through the cache; misses are loaded concurrently and emitted in request order
+        return Flux.fromIterable(new LinkedHashSet<>(ids))
+                .flatMapSequential(id -> getMediaById(id).onErrorResume(ResourceNotFoundException.class, e -> Mono.empty()));
+    }
+
+    public Mono<Media> updateMedia(int id, Media media) {
+        return validate(media)
+                .then(mediaRepository.getById(id))
+                .flatMap(existing -> mediaRepository.update(id, media)
+                        .doOnNext(updated -> cacheService.invalidateTags(listTags(updated, existing))));
+    }
+
+    public Mono<Void> deleteMedia(int id) {
+        // The repository errors with ResourceNotFoundException (404) when no row was deleted.
+        // Entries containing the item (including playlists) and playlist summaries are affected.
+        return mediaRepository.delete(id)
+                .doOnNext(deleted -> cacheService.invalidateTags(Set.of(CacheTags.media(id), CacheTags.PLAYLIST_SUMMARY)))
+                .then();
+    }
+
+    public Flux<Media> getMediaByType(Media.MediaType type) {
+        return cacheService.getOrLoadMany(CACHE_KEY_MEDIA_BY_TYPE + type.name(), mediaRepository.findByType(type),
+                mediaList -> CacheTags.ofMediaList(mediaList, CacheTags.mediaType(type)));
+    }
+
+    public Flux<Media> searchMediaByName(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return Flux.error(new IllegalArgumentException("Search keyword cannot be empty"));
+        }
+        return cacheService.getOrLoadMany(CACHE_KEY_SEARCH + keyword.toLowerCase(), mediaRepository.searchByName(keyword),
+                mediaList -> CacheTags.ofMediaList(mediaList, CacheTags.MEDIA_SEARCH));
+    }
+
+    private static Mono<Void> validate(Media media) {
+        return Mono.fromCallable(() -> {
+            media.validate();
+            if (media.getDuration() > 86400) {
+                throw new InvalidInputException("Media duration cannot exceed 24 hours (86400 seconds)");
+            }
+            return media;
+        }).then();
+    }
+
+    /*
+      Entries holding the item plus every list it belongs or belonged to (before is null for a create)
+     */
+    private static Set<String> listTags(Media after, Media before) {
+        Set<String> tags = new HashSet<>(Set.of(CacheTags.media(after.getId()), CacheTags.MEDIA_ALL,
+                CacheTags.MEDIA_SEARCH, CacheTags.mediaType(after.getType()), CacheTags.mediaCreator(after.getCreator())));
+        if (before != null) {
+            tags.add(CacheTags.mediaType(before.getType()));
+            tags.add(CacheTags.mediaCreator(before.getCreator()));
+        }
+        return tags;
+    }
+}
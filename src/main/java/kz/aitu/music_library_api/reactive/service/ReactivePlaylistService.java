@@ -0,0 +1,162 @@
+package kz.aitu.music_library_api.reactive.service;
+
+import kz.aitu.music_library_api.cache.CacheTags;
+import kz.aitu.music_library_api.dto.NormalizedPlaylists;
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
+import kz.aitu.music_library_api.exception.DuplicateResourceException;
+import kz.aitu.music_library_api.exception.InvalidInputException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.reactive.cache.ReactiveCacheService;
+import kz.aitu.music_library_api.reactive.repository.ReactiveMediaRepository;
+import kz.aitu.music_library_api.reactive.repository.ReactivePlaylistRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive counterpart of PlaylistServiceImpl: same validation, cache keys and tags
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePlaylistService {
+
+    private static final String CACHE_KEY_ALL_PLAYLISTS = "playlist:all";
+    private static final String CACHE_KEY_PLAYLIST_BY_ID = "playlist:id:";
+    private static final String CACHE_KEY_PLAYLIST_SUMMARIES = "playlist:summaries";
+    private static final String CACHE_KEY_PLAYLIST_SUMMARY = "playlist:summary:";
+    private static final String CACHE_KEY_PLAYLIST_ITEMS = "playlist:items:";
+
+    private final ReactivePlaylistRepository playlistRepository;
+    private final ReactiveMediaRepository mediaRepository;
+    private final ReactiveCacheService cacheService;
+    private final int maxPlaylistSize;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @Autowired
+    public ReactivePlaylistService(ReactivePlaylistRepository playlistRepository,
+                                   ReactiveMediaRepository mediaRepository,
+                                   ReactiveCacheService cacheService) {
+        this.playlistRepository = playlistRepository;
+        this.mediaRepository = mediaRepository;
+        this.cacheService = cacheService;
+        AppConfig config = AppConfig.getInstance();
+        this.maxPlaylistSize = config.getMaxPlaylistSize();
+        this.defaultPageSize = Integer.parseInt(config.getProperty("playlist.page.default-limit", "100"));
+        this.maxPageSize = Integer.parseInt(config.getProperty("playlist.page.max-limit", "1000"));
+    }
+
+    public Mono<Playlist> createPlaylist(Playlist playlist) {
+        return Mono.fromCallable(() -> {
+                    playlist.validate();
+                    if (playlist.viewItems().size() > maxPlaylistSize) {
+                        throw new InvalidInputException("A playlist can hold at most " + maxPlaylistSize + " items");
+                    }
+                    return playlist;
+                })
+                .then(Mono.defer(() -> playlistRepository.existsByName(playlist.getName())))
+                .flatMap(exists -> exists
+                        ? Mono.error(new DuplicateResourceException("Playlist", playlist.getName()))
+                        : playlistRepository.create(playlist))
+                .doOnNext(created -> cacheService.invalidateTags(Set.of(
+                        CacheTags.playlist(created.getId()),
+                        CacheTags.PLAYLIST_ALL,
+                        CacheTags.playlistName(created.getName()))));
+    }
+
+    public Flux<Playlist> getAllPlaylists() {
+        return cacheService.getOrLoad(CACHE_KEY_ALL_PLAYLISTS, playlistRepository.getAll().collectList(),
+                        playlists -> CacheTags.ofPlaylists(playlists, CacheTags.PLAYLIST_ALL))
+                .flatMapIterable(playlists -> playlists);
+    }
+
+    /* Same playlists, with each distinct media item serialized once; built from the whole list */
+    public Mono<NormalizedPlaylists> getAllPlaylistsNormalized() {
+        return getAllPlaylists().collectList().map(NormalizedPlaylists::of);
+    }
+
+    public Flux<PlaylistSummary> getPlaylistSummaries() {
+        return cacheService.getOrLoadMany(CACHE_KEY_PLAYLIST_SUMMARIES, playlistRepository.getSummaries(),
+                summaries -> CacheTags.ofPlaylistSummaries(summaries, CacheTags.PLAYLIST_ALL));
+    }
+
+    public Mono<PlaylistSummary> getPlaylistSummary(int id) {
+        if (id <= 0) {
+            return Mono.error(new InvalidInputException("Invalid playlist ID: " + id));
+        }
+        Mono<PlaylistSummary> loader = playlistRepository.getSummary(id)
+                .onErrorResume(ResourceNotFoundException.class, e -> Mono.empty());
+        return cacheService.getOrLoad(CACHE_KEY_PLAYLIST_SUMMARY + id, loader,
+                        found -> CacheTags.ofPlaylistSummaries(List.of(found)), Set.of(CacheTags.playlist(id)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Playlist", id)));
+    }
+
+    public Mono<PlaylistItemsPage> getPlaylistItems(int id, String after, Integer limit) {
+        if (id <= 0) {
+            return Mono.error(new InvalidInputException("Invalid playlist ID: " + id));
+        }
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            return Mono.error(new InvalidInputException("limit must be between 1 and " + maxPageSize));
+        }
+        int[] cursor;
+        try {
+            cursor = PlaylistItemsPage.parseCursor(after);
+        } catch (InvalidInputException e) {
+            return Mono.error(e);
+        }
+        // An empty page is either the end of the playlist or no playlist at all
+        Mono<PlaylistItemsPage> loader = playlistRepository.getItemsPage(id, cursor[0], cursor[1], pageSize)
+                .filterWhen(page -> page.getItems().isEmpty() ? playlistRepository.exists(id) : Mono.just(true));
+        return cacheService.getOrLoad(CACHE_KEY_PLAYLIST_ITEMS + id + ":" + (after != null ? after : "") + ":" + pageSize,
+                        loader, page -> CacheTags.ofItemsPage(id, page), Set.of(CacheTags.playlist(id)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Playlist", id)));
+    }
+
+    public Mono<Playlist> getPlaylistById(int id) {
+        if (id <= 0) {
+            return Mono.error(new InvalidInputException("Invalid playlist ID: " + id));
+        }
+        Mono<Playlist> loader = playlistRepository.getById(id)
+                .onErrorResume(ResourceNotFoundException.class, e -> Mono.empty());
+        return cacheService.getOrLoad(CACHE_KEY_PLAYLIST_BY_ID + id, loader,
+                        CacheTags::ofPlaylist, Set.of(CacheTags.playlist(id)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Playlist", id)));
+    }
+
+    public Mono<Void> deletePlaylist(int id) {
+        return playlistRepository.delete(id)
+                .doOnNext(deleted -> cacheService.invalidateTags(Set.of(CacheTags.playlist(id))))
+                .then();
+    }
+
+    public Mono<Void> addMediaToPlaylist(int playlistId, int mediaId) {
+        return requireExists(playlistRepository.exists(playlistId), "Playlist", playlistId)
+                .then(requireExists(mediaRepository.exists(mediaId), "Media", mediaId))
+                .then(playlistRepository.addMediaToPlaylist(playlistId, mediaId))
+                .flatMap(added -> added
+                        ? Mono.<Void>empty()
+                        // Not added: already in the playlist (nothing to do), or the playlist is full
+                        : playlistRepository.containsMedia(playlistId, mediaId)
+                                .flatMap(contained -> contained ? Mono.<Void>empty() : Mono.error(new InvalidInputException(
+                                        "Playlist " + playlistId + " is full (at most " + maxPlaylistSize + " items)"))))
+                .doOnSuccess(done -> cacheService.invalidateTags(Set.of(CacheTags.playlist(playlistId))));
+    }
+
+    public Mono<Void> removeMediaFromPlaylist(int playlistId, int mediaId) {
+        return playlistRepository.removeMediaFromPlaylist(playlistId, mediaId)
+                .doOnSuccess(done -> cacheService.invalidateTags(Set.of(CacheTags.playlist(playlistId))));
+    }
+
+    private static Mono<Void> requireExists(Mono<Boolean> exists, String resource, int id) {
+        return exists.flatMap(found -> found ? Mono.<Void>empty() : Mono.error(new ResourceNotFoundException(resource, id)));
+    }
+}
@@ -0,0 +1,87 @@
+package kz.aitu.music_library_api.repository;
+
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.repository.interfaces.MediaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MediaRepository guarded by the database circuit breaker.
+ * While the circuit is open every call fails fast with ServiceUnavailableException
+ * instead of waiting on the connection pool.
+ */
+@Repository
+@Primary
+public class CircuitBreakingMediaRepository implements MediaRepository {
+
+    private final MediaRepositoryImpl delegate;
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    public CircuitBreakingMediaRepository(MediaRepositoryImpl delegate, DatabaseCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Media create(Media entity) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.create(entity));
+    }
+
+    @Override
+    public List<Media> getAll() throws DatabaseOperationException {
+        return circuitBreaker.call(delegate::getAll);
+    }
+
+    @Override
+    public Media getById(Integer id) throws ResourceNotFoundException, DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.getById(id));
+    }
+
+    @Override
+    public Media update(Integer id, Media entity) throws ResourceNotFoundException, DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.update(id, entity));
+    }
+
+    @Override
+    public boolean delete(Integer id) throws ResourceNotFoundException, DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.delete(id));
+    }
+
+    @Override
+    public boolean exists(Integer id) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.exists(id));
+    }
+
+    @Override
+    public List<Media> findByType(Media.MediaType type) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.findByType(type));
+    }
+
+    @Override
+    public List<Media> findByCreator(String creator) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.findByCreator(creator));
+    }
+
+    @Override
+    public List<Media> findByIds(Collection<Integer> ids) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.findByIds(ids));
+    }
+
+    @Override
+    public List<Media> searchByName(String keyword) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.searchByName(keyword));
+    }
+
+    @Override
+    public boolean existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator)
+            throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.existsByNameAndTypeAndCreator(name, type, creator));
+    }
+}
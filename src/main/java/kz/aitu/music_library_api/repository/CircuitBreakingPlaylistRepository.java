@@ -0,0 +1,110 @@
+package kz.aitu.music_library_api.repository;
+
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.repository.interfaces.PlaylistRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * PlaylistRepository guarded by the database circuit breaker (see CircuitBreakingMediaRepository)
+ */
+@Repository
+@Primary
+public class CircuitBreakingPlaylistRepository implements PlaylistRepository {
+
+    private final PlaylistRepositoryImpl delegate;
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    public CircuitBreakingPlaylistRepository(PlaylistRepositoryImpl delegate, DatabaseCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Playlist create(Playlist entity) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.create(entity));
+    }
+
+    @Override
+    public List<Playlist> getAll() throws DatabaseOperationException {
+        return circuitBreaker.call(delegate::getAll);
+    }
+
+    @Override
+    public Playlist getById(Integer id) throws ResourceNotFoundException, DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.getById(id));
+    }
+
+    @Override
+    public Playlist update(Integer id, Playlist entity) throws ResourceNotFoundException, DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.update(id, entity));
+    }
+
+    @Override
+    public boolean delete(Integer id) throws ResourceNotFoundException, DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.delete(id));
+    }
+
+    @Override
+    public boolean exists(Integer id) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.exists(id));
+    }
+
+    @Override
+    public boolean addMediaToPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.addMediaToPlaylist(playlistId, mediaId));
+    }
+
+    @Override
+    public boolean containsMedia(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.containsMedia(playlistId, mediaId));
+    }
+
+    @Override
+    public void removeMediaFromPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
+        circuitBreaker.call(() -> {
+            delegate.removeMediaFromPlaylist(playlistId, mediaId);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Media> getPlaylistMedia(Integer playlistId) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.getPlaylistMedia(playlistId));
+    }
+
+    @Override
+    public PlaylistItemsPage getItemsPage(Integer playlistId, int afterPosition, int afterMediaId, int limit)
+            throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.getItemsPage(playlistId, afterPosition, afterMediaId, limit));
+    }
+
+    @Override
+    public List<PlaylistSummary> getSummaries() throws DatabaseOperationException {
+        return circuitBreaker.call(delegate::getSummaries);
+    }
+
+    @Override
+    public PlaylistSummary getSummary(Integer id) throws ResourceNotFoundException, DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.getSummary(id));
+    }
+
+    @Override
+    public boolean existsByName(String name) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.existsByName(name));
+    }
+
+    @Override
+    public Playlist findByName(String name) throws DatabaseOperationException {
+        return circuitBreaker.call(() -> delegate.findByName(name));
+    }
+}
@@ -0,0 +1,18 @@
+package kz.aitu.music_library_api.repository;
+
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.patterns.CircuitBreaker;
+import org.springframework.stereotype.Component;
+
+/**
+ * The one circuit breaker shared by every repository, since they all depend on the same database
+ */
+@Component
+public class DatabaseCircuitBreaker extends CircuitBreaker {
+
+    public DatabaseCircuitBreaker() {
+        super("database",
+                Integer.parseInt(AppConfig.getInstance().getProperty("db.circuit.failure-threshold", "5")),
+                Long.parseLong(AppConfig.getInstance().getProperty("db.circuit.open-ms", "10000")));
+    }
+}
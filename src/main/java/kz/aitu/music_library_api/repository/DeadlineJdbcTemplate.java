@@ -0,0 +1,51 @@
+package kz.aitu.music_library_api.repository;
+
+import kz.aitu.music_library_api.exception.DeadlineExceededException;
+import kz.aitu.music_library_api.patterns.RequestDeadline;
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * JdbcTemplate that caps every statement's query timeout at the time left before the
+ * current request's deadline (see RequestDeadline), so the database cancels a query
+ * nobody will wait for. A statement is not started at all once the deadline has passed.
+ * Replaces the auto-configured JdbcTemplate, keeping its spring.jdbc.template.* settings.
+ */
+@Component
+public class DeadlineJdbcTemplate extends JdbcTemplate {
+
+    public DeadlineJdbcTemplate(DataSource dataSource, JdbcProperties properties) {
+        super(dataSource);
+        JdbcProperties.Template template = properties.getTemplate();
+        setFetchSize(template.getFetchSize());
+        setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        if (!RequestDeadline.isSet()) {
+            return;
+        }
+        int remainingSeconds;
+        try {
+            remainingSeconds = RequestDeadline.queryTimeoutSeconds();
+        } catch (DeadlineExceededException e) {
+            // Carried as the cause: the circuit breaker around the repositories rethrows it as is
+            throw new SQLTimeoutException(e.getMessage(), e);
+        }
+        int configured = stmt.getQueryTimeout();
+        if (configured == 0 || remainingSeconds < configured) {
+            stmt.setQueryTimeout(remainingSeconds);
+        }
+    }
+}
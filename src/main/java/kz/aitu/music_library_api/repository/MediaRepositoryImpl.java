@@ -3,8 +3,11 @@ package kz.aitu.music_library_api.repository;
 import kz.aitu.music_library_api.exception.DatabaseOperationException;
 import kz.aitu.music_library_api.exception.ResourceNotFoundException;
 import kz.aitu.music_library_api.model.*;
+import kz.aitu.music_library_api.patterns.AppConfig;
 import kz.aitu.music_library_api.patterns.MediaFactory;
 import kz.aitu.music_library_api.repository.interfaces.MediaRepository;
+import kz.aitu.music_library_api.repository.loader.DataLoader;
+import kz.aitu.music_library_api.repository.loader.DataLoaderScope;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -14,18 +17,41 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class MediaRepositoryImpl implements MediaRepository {
 
     private final JdbcTemplate jdbcTemplate;
     private final MediaFactory mediaFactory;
+    private final int maxBatchSize;
 
     @Autowired
     public MediaRepositoryImpl(JdbcTemplate jdbcTemplate, MediaFactory mediaFactory) {
         this.jdbcTemplate = jdbcTemplate;
         this.mediaFactory = mediaFactory;
+        this.maxBatchSize = Integer.parseInt(
+                AppConfig.getInstance().getProperty("db.loader.max-batch-size", "1000"));
+    }
+
+    /**
+     * Request-scoped loader batching media lookups by id into findByIds queries
+     * (see DataLoader); use it wherever media are looked up in a loop
+     */
+    public DataLoader<Media> loader() {
+        return DataLoaderScope.loader("media", () -> new DataLoader<>(this::loadByIds, maxBatchSize));
+    }
+
+    private Map<Integer, Media> loadByIds(Set<Integer> ids) throws DatabaseOperationException {
+        Map<Integer, Media> byId = new HashMap<>();
+        for (Media media : findByIds(ids)) {
+            byId.put(media.getId(), media);
+        }
+        return byId;
     }
 
     private RowMapper<Media> mediaRowMapper() {
@@ -85,10 +111,10 @@ public class MediaRepositoryImpl implements MediaRepository {
                 entity.setId(key.intValue());
             }
 
+            DataLoaderScope.clear();
             return entity;
 
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to create media: " + e.getMessage(), e);
         }
     }
@@ -99,7 +125,6 @@ public class MediaRepositoryImpl implements MediaRepository {
         try {
             return jdbcTemplate.query(sql, mediaRowMapper());
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to retrieve all media: " + e.getMessage(), e);
         }
     }
@@ -112,11 +137,12 @@ public class MediaRepositoryImpl implements MediaRepository {
             if (results.isEmpty()) {
                 throw new ResourceNotFoundException("Media", id);
             }
+            // Always read fresh (writers read under a lock), but later batched lookups can reuse it
+            loader().prime(id, results.get(0));
             return results.get(0);
         } catch (ResourceNotFoundException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to retrieve media by id: " + e.getMessage(), e);
         }
     }
@@ -149,10 +175,10 @@ public class MediaRepositoryImpl implements MediaRepository {
             );
 
             entity.setId(id);
+            DataLoaderScope.clear();
             return entity;
 
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to update media: " + e.getMessage(), e);
         }
     }
@@ -166,11 +192,11 @@ public class MediaRepositoryImpl implements MediaRepository {
         String sql = "DELETE FROM media WHERE id = ?";
         try {
             int rows = jdbcTemplate.update(sql, id);
+            DataLoaderScope.clear();
             return rows > 0;
         } catch (Exception e) {
-    e.printStackTrace();
-    throw new DatabaseOperationException("Failed to delete media: " + e.getMessage(), e);
-}
+            throw new DatabaseOperationException("Failed to delete media: " + e.getMessage(), e);
+        }
     }
 
     @Override
@@ -180,40 +206,54 @@ public class MediaRepositoryImpl implements MediaRepository {
             Integer count = jdbcTemplate.queryForObject(sql, Integer.class, id);
             return count != null && count > 0;
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to check media existence: " + e.getMessage(), e);
         }
     }
 
     @Override
     public List<Media> findByType(Media.MediaType type) throws DatabaseOperationException {
-        String sql = "SELECT * FROM media WHERE type = ? ORDER BY name";
+        String sql = "SELECT * FROM media WHERE type = ? ORDER BY LOWER(name), id";
         try {
             return jdbcTemplate.query(sql, mediaRowMapper(), type.name());
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to find media by type: " + e.getMessage(), e);
         }
     }
 
     @Override
     public List<Media> findByCreator(String creator) throws DatabaseOperationException {
-        String sql = "SELECT * FROM media WHERE LOWER(creator) = LOWER(?) ORDER BY name";
+        String sql = "SELECT * FROM media WHERE LOWER(creator) = LOWER(?) ORDER BY LOWER(name), id";
         try {
             return jdbcTemplate.query(sql, mediaRowMapper(), creator);
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to find media by creator: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public List<Media> findByIds(Collection<Integer> ids) throws DatabaseOperationException {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // One array parameter instead of an IN list, so the statement is the same for any batch size
+        String sql = "SELECT * FROM media WHERE id = ANY(?)";
+        try {
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                ps.setArray(1, connection.createArrayOf("integer", ids.toArray()));
+                return ps;
+            }, mediaRowMapper());
+        } catch (Exception e) {
+            throw new DatabaseOperationException("Failed to find media by ids: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Media> searchByName(String keyword) throws DatabaseOperationException {
-        String sql = "SELECT * FROM media WHERE LOWER(name) LIKE LOWER(?) ORDER BY name";
+        String sql = "SELECT * FROM media WHERE LOWER(name) LIKE LOWER(?) ORDER BY LOWER(name), id";
         try {
             return jdbcTemplate.query(sql, mediaRowMapper(), "%" + keyword + "%");
         } catch (Exception e) {
-            e.printStackTrace();
             throw new DatabaseOperationException("Failed to find media by name: " + e.getMessage(), e);
         }
     }
@@ -1,48 +1,162 @@
 package kz.aitu.music_library_api.repository;
 
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
 import kz.aitu.music_library_api.exception.DatabaseOperationException;
 import kz.aitu.music_library_api.exception.ResourceNotFoundException;
 import kz.aitu.music_library_api.model.Media;
 import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.repository.interfaces.MediaRepository;
 import kz.aitu.music_library_api.repository.interfaces.PlaylistRepository;
+import kz.aitu.music_library_api.repository.loader.DataLoader;
+import kz.aitu.music_library_api.repository.loader.DataLoaderScope;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class PlaylistRepositoryImpl implements PlaylistRepository {
 
     private final JdbcTemplate jdbcTemplate;
-    private final MediaRepositoryImpl mediaRepository;
+    private final MediaRepository mediaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final int maxPlaylistSize;
 
     @Autowired
-    public PlaylistRepositoryImpl(JdbcTemplate jdbcTemplate, MediaRepositoryImpl mediaRepository) {
+    public PlaylistRepositoryImpl(JdbcTemplate jdbcTemplate, MediaRepository mediaRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this(jdbcTemplate, mediaRepository, transactionTemplate, AppConfig.getInstance().getMaxPlaylistSize());
+    }
+
+    PlaylistRepositoryImpl(JdbcTemplate jdbcTemplate, MediaRepository mediaRepository,
+                           TransactionTemplate transactionTemplate, int maxPlaylistSize) {
         this.jdbcTemplate = jdbcTemplate;
         this.mediaRepository = mediaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = Integer.parseInt(
+                AppConfig.getInstance().getProperty("db.loader.max-batch-size", "1000"));
+        this.maxPlaylistSize = maxPlaylistSize;
+    }
+
+    /* Playlist row only; items are filled in for all rows at once by withItems */
+    private final RowMapper<Playlist> playlistRowMapper = (rs, rowNum) -> new Playlist(
+            rs.getInt("id"), rs.getString("name"), rs.getString("description"), new ArrayList<>());
+
+    private static final String SUMMARY_SQL = """
+        SELECT p.id, p.name, p.description,
+               COUNT(m.id) AS item_count, COALESCE(SUM(m.duration), 0) AS total_duration
+        FROM playlists p
+        LEFT JOIN playlist_items pi ON pi.playlist_id = p.id
+        LEFT JOIN media m ON m.id = pi.media_id
+    """;
+
+    private final RowMapper<PlaylistSummary> summaryRowMapper = (rs, rowNum) -> new PlaylistSummary(
+            rs.getInt("id"), rs.getString("name"), rs.getString("description"),
+            rs.getInt("item_count"), rs.getInt("total_duration"));
+
+    /**
+     * Request-scoped loader batching playlist lookups by id (see DataLoader)
+     */
+    public DataLoader<Playlist> loader() {
+        return DataLoaderScope.loader("playlists", () -> new DataLoader<>(this::loadByIds, maxBatchSize));
+    }
+
+    /*
+      Request-scoped loader for playlist items. It batches through MediaRepository.findByIds, so
+      with the circuit-breaking repository injected, item lookups are guarded like other media reads.
+     */
+    private DataLoader<Media> mediaLoader() {
+        return DataLoaderScope.loader("playlist-media", () -> new DataLoader<>(this::loadMediaByIds, maxBatchSize));
     }
 
-    private final RowMapper<Playlist> playlistRowMapper = (rs, rowNum) -> {
-        int id = rs.getInt("id");
-        String name = rs.getString("name");
-        String description = rs.getString("description");
+    private Map<Integer, Media> loadMediaByIds(Set<Integer> ids) throws DatabaseOperationException {
+        Map<Integer, Media> byId = new HashMap<>();
+        for (Media media : mediaRepository.findByIds(ids)) {
+            byId.put(media.getId(), media);
+        }
+        return byId;
+    }
 
-        List<Media> items = null;
+    private Map<Integer, Playlist> loadByIds(Set<Integer> ids) throws DatabaseOperationException {
+        String sql = "SELECT * FROM playlists WHERE id = ANY(?)";
         try {
-            items = getPlaylistMedia(id);
+            List<Playlist> playlists = jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                ps.setArray(1, connection.createArrayOf("integer", ids.toArray()));
+                return ps;
+            }, playlistRowMapper);
+            Map<Integer, Playlist> byId = new HashMap<>();
+            for (Playlist playlist : withItems(playlists)) {
+                byId.put(playlist.getId(), playlist);
+            }
+            return byId;
         } catch (DatabaseOperationException e) {
-            throw new RuntimeException(e);
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseOperationException("Failed to retrieve playlists by ID", e);
         }
+    }
 
-        return new Playlist(id, name, description, items);
-    };
+    /*
+      Fill in the items of all given playlists with one membership query and one
+      (batched, memoized) media query, however many playlists and items there are
+     */
+    private List<Playlist> withItems(List<Playlist> playlists) throws DatabaseOperationException {
+        if (playlists.isEmpty()) {
+            return playlists;
+        }
+        List<Integer> playlistIds = new ArrayList<>(playlists.size());
+        for (Playlist playlist : playlists) {
+            playlistIds.add(playlist.getId());
+        }
+        Map<Integer, List<Integer>> itemIds = getPlaylistMediaIds(playlistIds);
+
+        Set<Integer> allMediaIds = new LinkedHashSet<>();
+        itemIds.values().forEach(allMediaIds::addAll);
+        DataLoader<Media> media = mediaLoader();
+        media.loadMany(allMediaIds);
+        for (Playlist playlist : playlists) {
+            // Already loaded above, so no further queries
+            playlist.setItems(media.loadMany(itemIds.getOrDefault(playlist.getId(), List.of())));
+        }
+        return playlists;
+    }
+
+    /*
+      Media ids of each playlist, in playlist order
+     */
+    private Map<Integer, List<Integer>> getPlaylistMediaIds(Collection<Integer> playlistIds) {
+        String sql = """
+            SELECT pi.playlist_id, pi.media_id FROM playlist_items pi
+            WHERE pi.playlist_id = ANY(?)
+            ORDER BY pi.playlist_id, pi.position, pi.media_id
+        """;
+        Map<Integer, List<Integer>> itemIds = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("integer", playlistIds.toArray()));
+            return ps;
+        }, rs -> {
+            itemIds.computeIfAbsent(rs.getInt("playlist_id"), id -> new ArrayList<>()).add(rs.getInt("media_id"));
+        });
+        return itemIds;
+    }
 
     @Override
     public Playlist create(Playlist entity) throws DatabaseOperationException {
@@ -62,12 +176,24 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
             if (key != null) {
                 entity.setId(key.intValue());
             }
+            DataLoaderScope.clear();
 
+            // The playlist is new and the service has checked its size, so positions are simply 1..n
+            Set<Integer> mediaIds = new LinkedHashSet<>();
             for (Media media : entity.getItems()) {
-                if (media.getId() != 0 && media.getId() > 0) {
-                    addMediaToPlaylist(entity.getId(), media.getId());
+                if (media.getId() > 0) {
+                    mediaIds.add(media.getId());
                 }
             }
+            List<Object[]> rows = new ArrayList<>(mediaIds.size());
+            int position = 0;
+            for (Integer mediaId : mediaIds) {
+                rows.add(new Object[]{entity.getId(), mediaId, ++position});
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO playlist_items (playlist_id, media_id, position) VALUES (?, ?, ?)", rows);
+            }
 
             return entity;
 
@@ -80,7 +206,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
     public List<Playlist> getAll() throws DatabaseOperationException {
         String sql = "SELECT * FROM playlists ORDER BY id";
         try {
-            return jdbcTemplate.query(sql, playlistRowMapper);
+            return withItems(jdbcTemplate.query(sql, playlistRowMapper));
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to retrieve all playlists", e);
         }
@@ -88,18 +214,13 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
     @Override
     public Playlist getById(Integer id) throws ResourceNotFoundException, DatabaseOperationException {
-        String sql = "SELECT * FROM playlists WHERE id = ?";
-        try {
-            List<Playlist> results = jdbcTemplate.query(sql, playlistRowMapper, id);
-            if (results.isEmpty()) {
-                throw new ResourceNotFoundException("Playlist", id);
-            }
-            return results.get(0);
-        } catch (ResourceNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DatabaseOperationException("Failed to retrieve playlist by ID", e);
+        // Always read fresh, but later batched lookups can reuse it
+        Playlist playlist = loadByIds(Set.of(id)).get(id);
+        if (playlist == null) {
+            throw new ResourceNotFoundException("Playlist", id);
         }
+        loader().prime(id, playlist);
+        return playlist;
     }
 
     @Override
@@ -113,6 +234,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
         try {
             jdbcTemplate.update(sql, entity.getName(), entity.getDescription(), id);
             entity.setId(id);
+            DataLoaderScope.clear();
             return entity;
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to update playlist", e);
@@ -128,6 +250,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
         String sql = "DELETE FROM playlists WHERE id = ?";
         try {
             int rows = jdbcTemplate.update(sql, id);
+            DataLoaderScope.clear();
             return rows > 0;
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to delete playlist", e);
@@ -145,21 +268,50 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
         }
     }
 
+    /*
+      Adds to one playlist are serialized on its row lock. The insert must be a separate
+      statement after the lock: under READ COMMITTED each statement reads a fresh snapshot, so
+      it sees every item committed by the add it waited for, and the size limit and the next
+      position hold. The primary key still turns a repeated add into a no-op.
+     */
     @Override
-    public void addMediaToPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
-        String sql = "INSERT OR IGNORE INTO playlist_items (playlist_id, media_id) VALUES (?, ?)";
+    public boolean addMediaToPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
+        String lockSql = "SELECT id FROM playlists WHERE id = ? FOR UPDATE";
+        String sql = """
+            INSERT INTO playlist_items (playlist_id, media_id, position)
+            SELECT ?, ?, COALESCE(MAX(position), 0) + 1 FROM playlist_items WHERE playlist_id = ?
+            HAVING COUNT(*) < ?
+            ON CONFLICT DO NOTHING
+        """;
         try {
-            jdbcTemplate.update(sql, playlistId, mediaId);
+            Integer rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.query(lockSql, rs -> {}, playlistId);
+                return jdbcTemplate.update(sql, playlistId, mediaId, playlistId, maxPlaylistSize);
+            });
+            DataLoaderScope.clear();
+            return rows != null && rows > 0;
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to add media to playlist", e);
         }
     }
 
+    @Override
+    public boolean containsMedia(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
+        String sql = "SELECT COUNT(*) FROM playlist_items WHERE playlist_id = ? AND media_id = ?";
+        try {
+            Integer count = jdbcTemplate.queryForObject(sql, Integer.class, playlistId, mediaId);
+            return count != null && count > 0;
+        } catch (Exception e) {
+            throw new DatabaseOperationException("Failed to check playlist membership", e);
+        }
+    }
+
     @Override
     public void removeMediaFromPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
         String sql = "DELETE FROM playlist_items WHERE playlist_id = ? AND media_id = ?";
         try {
             jdbcTemplate.update(sql, playlistId, mediaId);
+            DataLoaderScope.clear();
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to remove media from playlist", e);
         }
@@ -167,30 +319,71 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
 
     @Override
     public List<Media> getPlaylistMedia(Integer playlistId) throws DatabaseOperationException {
+        try {
+            List<Integer> mediaIds = getPlaylistMediaIds(List.of(playlistId)).getOrDefault(playlistId, List.of());
+            // One query for all items; ids whose media no longer exists are skipped
+            return mediaLoader().loadMany(mediaIds);
+        } catch (Exception e) {
+            throw new DatabaseOperationException("Failed to get playlist media", e);
+        }
+    }
+
+    /*
+      Keyset page on (position, media_id), served by idx_playlist_items_order; one row past
+      the limit tells whether there is a next page
+     */
+    @Override
+    public PlaylistItemsPage getItemsPage(Integer playlistId, int afterPosition, int afterMediaId, int limit)
+            throws DatabaseOperationException {
         String sql = """
-            SELECT m.id FROM media m
-            INNER JOIN playlist_items pi ON m.id = pi.media_id
-            WHERE pi.playlist_id = ?
-            ORDER BY pi.position, m.id
+            SELECT media_id, position FROM playlist_items
+            WHERE playlist_id = ? AND (position, media_id) > (?, ?)
+            ORDER BY position, media_id
+            LIMIT ?
         """;
-
         try {
-            List<Integer> mediaIds = jdbcTemplate.queryForList(sql, Integer.class, playlistId);
-            List<Media> mediaList = new ArrayList<>();
-
-            for (Integer mediaId : mediaIds) {
-                try {
-                    Media media = mediaRepository.getById(mediaId);
-                    mediaList.add(media);
-                } catch (ResourceNotFoundException e) {
-                    // Skip if media not found
-                }
+            List<int[]> rows = jdbcTemplate.query(sql,
+                    (rs, rowNum) -> new int[]{rs.getInt("media_id"), rs.getInt("position")},
+                    playlistId, afterPosition, afterMediaId, limit + 1);
+            boolean hasNext = rows.size() > limit;
+            if (hasNext) {
+                rows = rows.subList(0, limit);
+            }
+            List<Integer> mediaIds = new ArrayList<>(rows.size());
+            for (int[] row : rows) {
+                mediaIds.add(row[0]);
             }
+            int[] last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            return new PlaylistItemsPage(mediaLoader().loadMany(mediaIds),
+                    hasNext ? PlaylistItemsPage.cursor(last[1], last[0]) : null);
+        } catch (Exception e) {
+            throw new DatabaseOperationException("Failed to get playlist items", e);
+        }
+    }
 
-            return mediaList;
+    @Override
+    public List<PlaylistSummary> getSummaries() throws DatabaseOperationException {
+        String sql = SUMMARY_SQL + " GROUP BY p.id, p.name, p.description ORDER BY p.id";
+        try {
+            return jdbcTemplate.query(sql, summaryRowMapper);
         } catch (Exception e) {
-            throw new DatabaseOperationException("Failed to get playlist media", e);
+            throw new DatabaseOperationException("Failed to retrieve playlist summaries", e);
+        }
+    }
+
+    @Override
+    public PlaylistSummary getSummary(Integer id) throws ResourceNotFoundException, DatabaseOperationException {
+        String sql = SUMMARY_SQL + " WHERE p.id = ? GROUP BY p.id, p.name, p.description";
+        List<PlaylistSummary> results;
+        try {
+            results = jdbcTemplate.query(sql, summaryRowMapper, id);
+        } catch (Exception e) {
+            throw new DatabaseOperationException("Failed to retrieve playlist summary", e);
+        }
+        if (results.isEmpty()) {
+            throw new ResourceNotFoundException("Playlist", id);
         }
+        return results.get(0);
     }
 
     @Override
@@ -208,7 +401,7 @@ public class PlaylistRepositoryImpl implements PlaylistRepository {
     public Playlist findByName(String name) throws DatabaseOperationException {
         String sql = "SELECT * FROM playlists WHERE LOWER(name) = LOWER(?)";
         try {
-            List<Playlist> results = jdbcTemplate.query(sql, playlistRowMapper, name);
+            List<Playlist> results = withItems(jdbcTemplate.query(sql, playlistRowMapper, name));
             return results.isEmpty() ? null : results.get(0);
         } catch (Exception e) {
             throw new DatabaseOperationException("Failed to find playlist by name", e);
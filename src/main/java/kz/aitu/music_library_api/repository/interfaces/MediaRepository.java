@@ -3,6 +3,7 @@ package kz.aitu.music_library_api.repository.interfaces;
 import kz.aitu.music_library_api.exception.DatabaseOperationException;
 import kz.aitu.music_library_api.model.Media;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MediaRepository extends CrudRepository<Media> {
@@ -11,6 +12,11 @@ public interface MediaRepository extends CrudRepository<Media> {
 
     List<Media> findByCreator(String creator) throws DatabaseOperationException;
 
+    /**
+     * All media with the given ids in one query, in no particular order; unknown ids are skipped
+     */
+    List<Media> findByIds(Collection<Integer> ids) throws DatabaseOperationException;
+
     List<Media> searchByName(String keyword) throws DatabaseOperationException;
 
     boolean existsByNameAndTypeAndCreator(String name, Media.MediaType type, String creator)
@@ -1,6 +1,9 @@
 package kz.aitu.music_library_api.repository.interfaces;
 
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
 import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
 import kz.aitu.music_library_api.model.Media;
 import kz.aitu.music_library_api.model.Playlist;
 
@@ -8,12 +11,28 @@ import java.util.List;
 
 public interface PlaylistRepository extends CrudRepository<Playlist> {
 
-    void addMediaToPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException;
+    /**
+     * Appends the item unless it is already in the playlist or the playlist holds
+     * AppConfig.getMaxPlaylistSize() items; returns whether it was added
+     */
+    boolean addMediaToPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException;
+
+    boolean containsMedia(Integer playlistId, Integer mediaId) throws DatabaseOperationException;
 
     void removeMediaFromPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException;
 
     List<Media> getPlaylistMedia(Integer playlistId) throws DatabaseOperationException;
 
+    /**
+     * Up to limit items after the keyset position (afterPosition, afterMediaId), in playlist order
+     */
+    PlaylistItemsPage getItemsPage(Integer playlistId, int afterPosition, int afterMediaId, int limit)
+            throws DatabaseOperationException;
+
+    List<PlaylistSummary> getSummaries() throws DatabaseOperationException;
+
+    PlaylistSummary getSummary(Integer id) throws ResourceNotFoundException, DatabaseOperationException;
+
     boolean existsByName(String name) throws DatabaseOperationException;
 
     Playlist findByName(String name) throws DatabaseOperationException;
@@ -0,0 +1,141 @@
+package kz.aitu.music_library_api.repository.loader;
+
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batches and memoizes lookups by id (DataLoader pattern).
+ *
+ * load(id) only queues the id and returns a handle; the first handle resolved dispatches every
+ * id queued so far as one batched query. So a loop that first asks for its ids and then reads
+ * the handles costs one query instead of one per id, and an id already loaded in this scope
+ * costs none. loadMany does both steps at once.
+ *
+ * Instances are request-scoped (see DataLoaderScope) and not thread-safe.
+ */
+public class DataLoader<V> {
+
+    /**
+     * Loads the given ids in one query; ids without a row are left out of the result
+     */
+    @FunctionalInterface
+    public interface BatchFunction<V> {
+        Map<Integer, V> load(Set<Integer> ids) throws DatabaseOperationException;
+    }
+
+    /**
+     * A queued load; get() dispatches the pending batch if this id has not been loaded yet
+     */
+    public final class Pending {
+        private final int id;
+
+        private Pending(int id) {
+            this.id = id;
+        }
+
+        /* The value, or null if there is no row with this id */
+        public V get() throws DatabaseOperationException {
+            if (!isLoaded(id)) {
+                dispatch();
+            }
+            return values.get(id);
+        }
+    }
+
+    private final BatchFunction<V> batchFunction;
+    private final int maxBatchSize;
+    private final Map<Integer, V> values = new HashMap<>();
+    private final Set<Integer> missing = new HashSet<>();
+    private final Set<Integer> queue = new LinkedHashSet<>();
+    private int dispatches;
+
+    public DataLoader(BatchFunction<V> batchFunction, int maxBatchSize) {
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    public Pending load(int id) {
+        if (!isLoaded(id)) {
+            queue.add(id);
+        }
+        return new Pending(id);
+    }
+
+    /**
+     * Values for ids in the same order, skipping ids without a row; at most one dispatch
+     */
+    public List<V> loadMany(Collection<Integer> ids) throws DatabaseOperationException {
+        for (Integer id : ids) {
+            load(id);
+        }
+        dispatch();
+        List<V> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            V value = values.get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Record a value loaded some other way, so later loads of its id need no query
+     */
+    public void prime(int id, V value) {
+        values.put(id, value);
+        missing.remove(id);
+        queue.remove(id);
+    }
+
+    /**
+     * Forget everything loaded so far, e.g. after a write made it outdated
+     */
+    public void clear() {
+        values.clear();
+        missing.clear();
+    }
+
+    /* Number of batched queries issued, for tests and debugging */
+    public int getDispatches() {
+        return dispatches;
+    }
+
+    /*
+      Issue one query (per maxBatchSize ids) for everything queued
+     */
+    public void dispatch() throws DatabaseOperationException {
+        while (!queue.isEmpty()) {
+            Set<Integer> batch = new LinkedHashSet<>();
+            for (Integer id : queue) {
+                batch.add(id);
+                if (batch.size() == maxBatchSize) {
+                    break;
+                }
+            }
+            queue.removeAll(batch);
+            dispatches++;
+            Map<Integer, V> loaded = batchFunction.load(batch);
+            for (Integer id : batch) {
+                V value = loaded.get(id);
+                if (value != null) {
+                    values.put(id, value);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+    }
+
+    private boolean isLoaded(int id) {
+        return values.containsKey(id) || missing.contains(id);
+    }
+}
@@ -0,0 +1,45 @@
+package kz.aitu.music_library_api.repository.loader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Binds DataLoaders to the current request (see DataLoaderScopeFilter), so lookups are
+ * batched and memoized across everything one request does. Outside a scope every call
+ * gets a fresh loader: batching within the call still applies, memoization does not.
+ */
+public final class DataLoaderScope {
+
+    private static final ThreadLocal<Map<String, DataLoader<?>>> LOADERS = new ThreadLocal<>();
+
+    private DataLoaderScope() {}
+
+    public static void begin() {
+        LOADERS.set(new HashMap<>());
+    }
+
+    public static void end() {
+        LOADERS.remove();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> DataLoader<V> loader(String name, Supplier<DataLoader<V>> factory) {
+        Map<String, DataLoader<?>> loaders = LOADERS.get();
+        if (loaders == null) {
+            return factory.get();
+        }
+        return (DataLoader<V>) loaders.computeIfAbsent(name, n -> factory.get());
+    }
+
+    /**
+     * Drop everything memoized in this scope; called on every write, since a changed media
+     * item also changes the playlists holding it
+     */
+    public static void clear() {
+        Map<String, DataLoader<?>> loaders = LOADERS.get();
+        if (loaders != null) {
+            loaders.values().forEach(DataLoader::clear);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package kz.aitu.music_library_api.service;
+
+import kz.aitu.music_library_api.dto.BatchOperation;
+import kz.aitu.music_library_api.dto.BatchResult;
+import kz.aitu.music_library_api.dto.MediaRequest;
+import kz.aitu.music_library_api.dto.PlaylistRequest;
+import kz.aitu.music_library_api.exception.*;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.patterns.MediaFactory;
+import kz.aitu.music_library_api.service.interfaces.BatchService;
+import kz.aitu.music_library_api.service.interfaces.MediaService;
+import kz.aitu.music_library_api.service.interfaces.PlaylistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch Service Implementation
+ * Runs the operations through MediaService/PlaylistService inside one transaction.
+ * While it is open, CacheServiceImpl bypasses the cache and collects invalidations, and
+ * ChangeFeedServiceImpl holds back events; both are applied once, after commit.
+ */
+@Service
+public class BatchServiceImpl implements BatchService {
+
+    private static final Set<String> OPERATIONS = Set.of(
+            "createMedia", "updateMedia", "deleteMedia",
+            "createPlaylist", "updatePlaylist", "deletePlaylist",
+            "addMediaToPlaylist", "removeMediaFromPlaylist");
+
+    private final MediaService mediaService;
+    private final PlaylistService playlistService;
+    private final MediaFactory mediaFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOperations;
+
+    @Autowired
+    public BatchServiceImpl(MediaService mediaService, PlaylistService playlistService,
+                            MediaFactory mediaFactory, TransactionTemplate transactionTemplate) {
+        this.mediaService = mediaService;
+        this.playlistService = playlistService;
+        this.mediaFactory = mediaFactory;
+        this.transactionTemplate = transactionTemplate;
+        this.maxOperations = Integer.parseInt(
+                AppConfig.getInstance().getProperty("batch.max-operations", "100"));
+    }
+
+    @Override
+    public List<BatchResult> execute(List<BatchOperation> operations)
+            throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException {
+        if (operations == null || operations.isEmpty()) {
+            throw new InvalidInputException("Batch must contain at least one operation");
+        }
+        if (operations.size() > maxOperations) {
+            throw new InvalidInputException("Batch cannot contain more than " + maxOperations + " operations");
+        }
+        // Reject malformed batches before opening a transaction
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            if (operation == null || !OPERATIONS.contains(operation.getOp())) {
+                throw new InvalidInputException("Operation " + i + ": unknown op "
+                        + (operation == null ? null : operation.getOp()));
+            }
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<String, Integer> refs = new HashMap<>();
+                List<BatchResult> results = new ArrayList<>(operations.size());
+                for (int i = 0; i < operations.size(); i++) {
+                    try {
+                        results.add(run(i, operations.get(i), refs));
+                    } catch (Exception e) {
+                        throw new BatchAbort(i, operations.get(i).getOp(), e);
+                    }
+                }
+                return results;
+            });
+        } catch (BatchAbort abort) {
+            throw abort.rethrow();
+        }
+    }
+
+    private BatchResult run(int index, BatchOperation operation, Map<String, Integer> refs) throws Exception {
+        String op = operation.getOp();
+        BatchResult result = switch (op) {
+            case "createMedia" -> {
+                Media created = mediaService.createMedia(toMedia(operation.getMedia()));
+                yield new BatchResult(index, op, operation.getRef(), created.getId(), created);
+            }
+            case "updateMedia" -> {
+                int id = resolve(operation.getId(), "id", refs);
+                yield new BatchResult(index, op, operation.getRef(), id,
+                        mediaService.updateMedia(id, toMedia(operation.getMedia())));
+            }
+            case "deleteMedia" -> {
+                int id = resolve(operation.getId(), "id", refs);
+                mediaService.deleteMedia(id);
+                yield new BatchResult(index, op, operation.getRef(), id, null);
+            }
+            case "createPlaylist" -> {
+                Playlist created = playlistService.createPlaylist(toPlaylist(operation.getPlaylist()));
+                yield new BatchResult(index, op, operation.getRef(), created.getId(), created);
+            }
+            case "updatePlaylist" -> {
+                int id = resolve(operation.getId(), "id", refs);
+                yield new BatchResult(index, op, operation.getRef(), id,
+                        playlistService.updatePlaylist(id, toPlaylist(operation.getPlaylist())));
+            }
+            case "deletePlaylist" -> {
+                int id = resolve(operation.getId(), "id", refs);
+                playlistService.deletePlaylist(id);
+                yield new BatchResult(index, op, operation.getRef(), id, null);
+            }
+            case "addMediaToPlaylist" -> {
+                int playlistId = resolve(operation.getPlaylistId(), "playlistId", refs);
+                playlistService.addMediaToPlaylist(playlistId, resolve(operation.getMediaId(), "mediaId", refs));
+                yield new BatchResult(index, op, operation.getRef(), playlistId, null);
+            }
+            case "removeMediaFromPlaylist" -> {
+                int playlistId = resolve(operation.getPlaylistId(), "playlistId", refs);
+                playlistService.removeMediaFromPlaylist(playlistId, resolve(operation.getMediaId(), "mediaId", refs));
+                yield new BatchResult(index, op, operation.getRef(), playlistId, null);
+            }
+            default -> throw new InvalidInputException("unknown op " + op);
+        };
+        if (operation.getRef() != null) {
+            if (refs.putIfAbsent(operation.getRef(), result.getId()) != null) {
+                throw new InvalidInputException("ref '" + operation.getRef() + "' is already defined");
+            }
+        }
+        return result;
+    }
+
+    /*
+      A literal id, or "$name" for the id of an earlier operation with ref "name"
+     */
+    private static int resolve(String value, String field, Map<String, Integer> refs) throws InvalidInputException {
+        if (value == null || value.isBlank()) {
+            throw new InvalidInputException(field + " is required");
+        }
+        if (value.startsWith("$")) {
+            Integer id = refs.get(value.substring(1));
+            if (id == null) {
+                throw new InvalidInputException(field + " refers to unknown ref '" + value.substring(1) + "'");
+            }
+            return id;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException(field + " must be a number or $ref: " + value);
+        }
+    }
+
+    private Media toMedia(MediaRequest request) throws InvalidInputException {
+        if (request == null || request.getType() == null) {
+            throw new InvalidInputException("media with a type is required");
+        }
+        return switch (request.getType()) {
+            case SONG -> mediaFactory.createSong(request.getName(), request.getDuration(), request.getCreator(),
+                    request.getAlbum(), request.getGenre(), request.getPrice() != null ? request.getPrice() : 0.0);
+            case PODCAST -> mediaFactory.createPodcast(request.getName(), request.getDuration(), request.getCreator(),
+                    request.getHost(), request.getEpisodeNumber() != null ? request.getEpisodeNumber() : 0,
+                    request.getCategory());
+        };
+    }
+
+    private static Playlist toPlaylist(PlaylistRequest request) throws InvalidInputException {
+        if (request == null) {
+            throw new InvalidInputException("playlist is required");
+        }
+        return new Playlist(request.getName(), request.getDescription());
+    }
+
+    /*
+      Carries a failed operation's checked exception out of the transaction callback,
+      which rolls back on it
+     */
+    private static final class BatchAbort extends RuntimeException {
+        private final Exception failure;
+
+        private BatchAbort(int index, String op, Exception failure) {
+            super("Operation " + index + " (" + op + "): " + failure.getMessage(), failure);
+            this.failure = failure;
+        }
+
+        private RuntimeException rethrow() throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException {
+            String message = getMessage();
+            if (failure instanceof ServiceUnavailableException || failure instanceof DeadlineExceededException) {
+                throw (DatabaseOperationException) failure;
+            }
+            if (failure instanceof DuplicateResourceException) {
+                throw new DuplicateResourceException(message);
+            }
+            if (failure instanceof InvalidInputException) {
+                throw new InvalidInputException(message, failure);
+            }
+            if (failure instanceof ResourceNotFoundException) {
+                throw new ResourceNotFoundException(message);
+            }
+            if (failure instanceof DatabaseOperationException) {
+                throw new DatabaseOperationException(message, failure);
+            }
+            if (failure instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            throw new DatabaseOperationException(message, failure);
+        }
+    }
+}
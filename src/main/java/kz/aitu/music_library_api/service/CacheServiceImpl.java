@@ -1,16 +1,31 @@
 package kz.aitu.music_library_api.service;
 
+import kz.aitu.music_library_api.cache.CacheLoader;
+import kz.aitu.music_library_api.cache.CachePatch;
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
 import kz.aitu.music_library_api.patterns.CacheManager;
 import kz.aitu.music_library_api.service.interfaces.CacheService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Cache Service Implementation
  * Delegates cache operations to the Singleton CacheManager
  * Follows Dependency Inversion Principle by depending on abstractions
+ *
+ * Inside a database transaction (e.g. POST /api/batch) the cache is bypassed: reads go
+ * to the loader, since a value read there may be uncommitted, and invalidations (patches
+ * included) are collected and applied once, after commit; a rollback leaves the cache as is.
  */
 @Service
 public class CacheServiceImpl implements CacheService {
@@ -23,32 +38,102 @@ public class CacheServiceImpl implements CacheService {
 
     @Override
     public <T> void cache(String key, T value) {
-        cacheManager.put(key, value);
+        if (!inTransaction()) {
+            cacheManager.put(key, value);
+        }
     }
 
     @Override
     public <T> void cacheList(String key, List<T> value) {
-        cacheManager.putList(key, value);
+        if (!inTransaction()) {
+            cacheManager.putList(key, value);
+        }
     }
 
     @Override
     public <T> Optional<T> getCached(String key, Class<T> type) {
-        return cacheManager.get(key, type);
+        return inTransaction() ? Optional.empty() : cacheManager.get(key, type);
     }
 
     @Override
     public <T> Optional<List<T>> getCachedList(String key) {
-        return cacheManager.getList(key);
+        return inTransaction() ? Optional.empty() : cacheManager.getList(key);
+    }
+
+    @Override
+    public <T> Map<String, Optional<T>> getAll(Collection<String> keys) {
+        return inTransaction() ? Collections.emptyMap() : cacheManager.getAll(keys);
+    }
+
+    @Override
+    public <T> int putAllIfCurrent(Map<String, T> values, Function<? super T, ? extends Collection<String>> tagger,
+                                   Function<String, ? extends Collection<String>> absentTagger, long generation) {
+        return inTransaction() ? 0 : cacheManager.putAllIfCurrent(values, tagger, absentTagger, generation);
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, CacheLoader<T> loader) throws DatabaseOperationException {
+        return inTransaction() ? loader.load() : cacheManager.getOrLoad(key, loader);
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, CacheLoader<T> loader,
+                           Function<? super T, ? extends Collection<String>> tagger) throws DatabaseOperationException {
+        return inTransaction() ? loader.load() : cacheManager.getOrLoad(key, loader, tagger);
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, CacheLoader<T> loader,
+                           Function<? super T, ? extends Collection<String>> tagger,
+                           Collection<String> absentTags) throws DatabaseOperationException {
+        return inTransaction() ? loader.load() : cacheManager.getOrLoad(key, loader, tagger, absentTags);
+    }
+
+    @Override
+    public long currentGeneration() {
+        return cacheManager.currentGeneration();
+    }
+
+    @Override
+    public <T> boolean putIfCurrent(String key, T value, Collection<String> tags, long generation) {
+        return !inTransaction() && cacheManager.putIfCurrent(key, value, tags, generation);
     }
 
     @Override
     public void invalidate(String key) {
-        cacheManager.invalidate(key);
+        if (inTransaction()) {
+            pendingInvalidation().keys.add(key);
+        } else {
+            cacheManager.invalidate(key);
+        }
+    }
+
+    @Override
+    public void invalidateTags(Collection<String> tags) {
+        if (inTransaction()) {
+            pendingInvalidation().tags.addAll(tags);
+        } else {
+            cacheManager.invalidateTags(tags);
+        }
+    }
+
+    @Override
+    public void patchTags(Collection<String> tags, CachePatch patch) {
+        if (inTransaction()) {
+            // Patches of several writes cannot be merged; dropping the entries is always correct
+            pendingInvalidation().tags.addAll(tags);
+        } else {
+            cacheManager.patchTags(tags, patch);
+        }
     }
 
     @Override
     public void invalidatePattern(String pattern) {
-        cacheManager.invalidatePattern(pattern);
+        if (inTransaction()) {
+            pendingInvalidation().patterns.add(pattern);
+        } else {
+            cacheManager.invalidatePattern(pattern);
+        }
     }
 
     @Override
@@ -60,4 +145,44 @@ public class CacheServiceImpl implements CacheService {
     public boolean isCached(String key) {
         return cacheManager.containsKey(key);
     }
+
+    private static boolean inTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    /*
+      Invalidations collected in the current transaction, applied together after it commits
+     */
+    private PendingInvalidation pendingInvalidation() {
+        PendingInvalidation pending = (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingInvalidation created = new PendingInvalidation();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheServiceImpl.this);
+                    if (status == STATUS_COMMITTED) {
+                        created.apply(cacheManager);
+                    }
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private static final class PendingInvalidation {
+        private final Set<String> keys = new LinkedHashSet<>();
+        private final Set<String> tags = new LinkedHashSet<>();
+        private final Set<String> patterns = new LinkedHashSet<>();
+
+        private void apply(CacheManager cacheManager) {
+            if (!tags.isEmpty()) {
+                cacheManager.invalidateTags(tags);
+            }
+            keys.forEach(cacheManager::invalidate);
+            patterns.forEach(cacheManager::invalidatePattern);
+        }
+    }
 }
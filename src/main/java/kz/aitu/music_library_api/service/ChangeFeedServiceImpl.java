@@ -0,0 +1,257 @@
+package kz.aitu.music_library_api.service;
+
+import kz.aitu.music_library_api.changes.ChangeEvent;
+import kz.aitu.music_library_api.changes.ChangeLog;
+import kz.aitu.music_library_api.exception.ServiceUnavailableException;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.patterns.LoggingService;
+import kz.aitu.music_library_api.service.interfaces.ChangeFeedService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Change feed over Server-Sent Events.
+ *
+ * Writers only append to the ChangeLog and queue the event per subscriber, under one lock
+ * so every stream sees events in id order; sending happens on a separate pool, one drain
+ * task per subscriber at a time. A subscriber that falls more than changes.subscriber-queue
+ * events behind is disconnected rather than buffered without bound: its EventSource
+ * reconnects with Last-Event-ID and catches up from the log, or gets a reset event
+ * (reload everything) once the log no longer holds what it missed.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final ChangeEvent HEARTBEAT = new ChangeEvent(-1, null, null, 0, null, 0);
+
+    private final ChangeLog changeLog;
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    /* A lock rather than a monitor: a virtual thread waiting for it or holding it is not pinned */
+    private final ReentrantLock feedLock = new ReentrantLock();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeat;
+    private final LoggingService loggingService;
+    private final int maxSubscribers;
+    private final int maxQueued;
+    private final long streamTimeoutMillis;
+
+    public ChangeFeedServiceImpl() {
+        AppConfig config = AppConfig.getInstance();
+        this.changeLog = new ChangeLog(Integer.parseInt(config.getProperty("changes.buffer-size", "4096")));
+        this.maxSubscribers = Integer.parseInt(config.getProperty("changes.max-subscribers", "1000"));
+        this.maxQueued = Integer.parseInt(config.getProperty("changes.subscriber-queue", "256"));
+        this.streamTimeoutMillis = Long.parseLong(config.getProperty("changes.stream-timeout-ms", "1800000"));
+        long heartbeatMillis = Long.parseLong(config.getProperty("changes.heartbeat-ms", "15000"));
+        this.loggingService = LoggingService.getInstance();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Keeps idle connections open through proxies and finds clients that went away
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(String entity, String action, int entityId) {
+        append(entity, action, entityId, null);
+    }
+
+    @Override
+    public void publishPlaylistItem(String action, int playlistId, int mediaId) {
+        append(ChangeEvent.PLAYLIST_ITEM, action, mediaId, playlistId);
+    }
+
+    private void append(String entity, String action, int entityId, Integer playlistId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only committed changes are announced, in commit order
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendNow(entity, action, entityId, playlistId);
+                }
+            });
+            return;
+        }
+        appendNow(entity, action, entityId, playlistId);
+    }
+
+    private void appendNow(String entity, String action, int entityId, Integer playlistId) {
+        feedLock.lock();
+        try {
+            ChangeEvent event = changeLog.append(entity, action, entityId, playlistId);
+            for (Subscriber subscriber : subscribers.values()) {
+                subscriber.offer(event);
+            }
+        } finally {
+            feedLock.unlock();
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) throws ServiceUnavailableException {
+        feedLock.lock();
+        try {
+            return register(lastEventId);
+        } finally {
+            feedLock.unlock();
+        }
+    }
+
+    private SseEmitter register(String lastEventId) throws ServiceUnavailableException {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change stream subscribers", 5);
+        }
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), new SseEmitter(streamTimeoutMillis));
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        // Ends the stream normally; the client reconnects with Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber.id));
+
+        if (lastEventId != null) {
+            List<ChangeEvent> missed = changeLog.since(lastEventId);
+            if (missed == null) {
+                // Events queued from now on follow this id, so a client reconnecting with it misses none
+                subscriber.resetId = changeLog.eventId(changeLog.getLastId());
+            } else {
+                // The replay may exceed the live queue limit; only later events count against it
+                subscriber.queue.addAll(missed);
+                subscriber.backlog.set(missed.size());
+            }
+        }
+        subscribers.put(subscriber.id, subscriber);
+        // Flushes the response headers, so the client sees the stream open right away
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdown();
+    }
+
+    private final class Subscriber {
+        private final long id;
+        private final SseEmitter emitter;
+        private final Queue<ChangeEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile String resetId;
+        private volatile boolean closed;
+
+        private Subscriber(long id, SseEmitter emitter) {
+            this.id = id;
+            this.emitter = emitter;
+        }
+
+        private void offer(ChangeEvent event) {
+            if (closed) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                close("fell " + maxQueued + " events behind");
+                return;
+            }
+            queue.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                String reset = resetId;
+                if (reset != null) {
+                    resetId = null;
+                    emitter.send(SseEmitter.event().id(reset)
+                            .name("reset").data("{\"reason\":\"events since Last-Event-ID are no longer available\"}",
+                                    MediaType.APPLICATION_JSON));
+                }
+                ChangeEvent event;
+                while (!closed && (event = queue.poll()) != null) {
+                    if (backlog.get() > 0) {
+                        backlog.decrementAndGet();
+                    } else {
+                        queued.decrementAndGet();
+                    }
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().id(changeLog.eventId(event.getId()))
+                                .name(event.getEntity()).data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away (or the emitter already completed)
+                closed = true;
+                subscribers.remove(id);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        /*
+          Called with the feed lock held: completing may wait for a send blocked on this slow
+          client, so it happens on the sender pool instead
+         */
+        private void close(String reason) {
+            closed = true;
+            subscribers.remove(id);
+            senders.execute(() -> {
+                loggingService.logWarn("Change stream subscriber " + id + " disconnected: " + reason);
+                emitter.complete();
+            });
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package kz.aitu.music_library_api.service;
+
+import kz.aitu.music_library_api.cache.CachePatch;
+import kz.aitu.music_library_api.cache.CacheTags;
+import kz.aitu.music_library_api.model.Media;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static kz.aitu.music_library_api.service.MediaServiceImpl.*;
+
+/**
+ * Write-through update of the cached media structures after one item was created,
+ * updated or deleted: the id entry and the all/type/creator lists are rebuilt from
+ * their cached copy with that one item added, replaced or removed.
+ * Search results (membership depends on the keyword) and anything else are dropped.
+ */
+class MediaCachePatch implements CachePatch {
+
+    /*
+      Same order as the repository queries: media:all by id, type/creator lists by
+      LOWER(name), id. Lowercased names compare by code point here, as under the C collation
+     */
+    private static final Comparator<Media> BY_ID = Comparator.comparingInt(Media::getId);
+    static final Comparator<Media> BY_NAME =
+            Comparator.comparing((Media media) -> media.getName().toLowerCase(Locale.ROOT)).thenComparing(BY_ID);
+
+    private final int id;
+    private final Media media;
+
+    private MediaCachePatch(int id, Media media) {
+        this.id = id;
+        this.media = media;
+    }
+
+    static MediaCachePatch saved(Media media) {
+        return new MediaCachePatch(media.getId(), media);
+    }
+
+    static MediaCachePatch deleted(int id) {
+        return new MediaCachePatch(id, null);
+    }
+
+    /*
+      Tags of every entry a save can affect: those holding the item, plus the lists it may
+      newly join (before is null for a create)
+     */
+    static Set<String> affectedTags(Media before, Media after) {
+        Set<String> tags = new HashSet<>();
+        tags.add(CacheTags.media(after.getId()));
+        if (before == null) {
+            tags.add(CacheTags.MEDIA_ALL);
+        }
+        if (before == null || before.getType() != after.getType()) {
+            tags.add(CacheTags.mediaType(after.getType()));
+        }
+        if (before == null || !before.getCreator().equalsIgnoreCase(after.getCreator())) {
+            tags.add(CacheTags.mediaCreator(after.getCreator()));
+        }
+        if (before == null || !before.getName().equalsIgnoreCase(after.getName())) {
+            tags.add(CacheTags.MEDIA_SEARCH);
+        }
+        if (before != null && before.getDuration() != after.getDuration()) {
+            tags.add(CacheTags.PLAYLIST_SUMMARY);
+        }
+        return tags;
+    }
+
+    @Override
+    public Object apply(String key, Object current) {
+        if (key.startsWith(CACHE_KEY_MEDIA_BY_ID)) {
+            return key.equals(CACHE_KEY_MEDIA_BY_ID + id) ? media : null;
+        }
+        if (!(current instanceof List<?> list)) {
+            return null;
+        }
+        if (key.equals(CACHE_KEY_ALL_MEDIA)) {
+            return upsert(list, media != null, BY_ID);
+        }
+        if (key.startsWith(CACHE_KEY_MEDIA_BY_TYPE)) {
+            boolean member = media != null && key.equals(CACHE_KEY_MEDIA_BY_TYPE + media.getType().name());
+            return upsert(list, member, BY_NAME);
+        }
+        if (key.startsWith(CACHE_KEY_MEDIA_BY_CREATOR)) {
+            boolean member = media != null && key.equals(CACHE_KEY_MEDIA_BY_CREATOR + media.getCreator().toLowerCase());
+            return upsert(list, member, BY_NAME);
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<String> tags(String key, Object patched) {
+        if (patched instanceof Media patchedMedia) {
+            return CacheTags.ofMedia(patchedMedia);
+        }
+        @SuppressWarnings("unchecked")
+        List<Media> list = (List<Media>) patched;
+        if (key.startsWith(CACHE_KEY_MEDIA_BY_TYPE)) {
+            Media.MediaType type = Media.MediaType.valueOf(key.substring(CACHE_KEY_MEDIA_BY_TYPE.length()));
+            return CacheTags.ofMediaList(list, CacheTags.mediaType(type));
+        }
+        if (key.startsWith(CACHE_KEY_MEDIA_BY_CREATOR)) {
+            return CacheTags.ofMediaList(list, CacheTags.mediaCreator(key.substring(CACHE_KEY_MEDIA_BY_CREATOR.length())));
+        }
+        return CacheTags.ofMediaList(list, CacheTags.MEDIA_ALL);
+    }
+
+    /*
+      Copy of list without the item, plus the saved item at its sorted position if it belongs there
+     */
+    private List<Media> upsert(List<?> list, boolean member, Comparator<Media> order) {
+        List<Media> patched = new ArrayList<>(list.size() + 1);
+        for (Object element : list) {
+            Media item = (Media) element;
+            if (item.getId() != id) {
+                patched.add(item);
+            }
+        }
+        if (member) {
+            int position = 0;
+            while (position < patched.size() && order.compare(patched.get(position), media) < 0) {
+                position++;
+            }
+            patched.add(position, media);
+        }
+        return patched;
+    }
+}
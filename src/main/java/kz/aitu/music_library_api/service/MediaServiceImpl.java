@@ -1,38 +1,66 @@
 package kz.aitu.music_library_api.service;
 
+import kz.aitu.music_library_api.cache.CacheTags;
+import kz.aitu.music_library_api.changes.ChangeEvent;
 import kz.aitu.music_library_api.exception.*;
 import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.patterns.AppConfig;
 import kz.aitu.music_library_api.repository.interfaces.MediaRepository;
 import kz.aitu.music_library_api.service.interfaces.CacheService;
+import kz.aitu.music_library_api.service.interfaces.ChangeFeedService;
 import kz.aitu.music_library_api.service.interfaces.MediaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Media Service Implementation with Caching
  * Implements caching for frequently accessed data (getAllMedia)
- * Automatically invalidates cache on create/update/delete operations
+ * Cache misses are loaded through CacheService.getOrLoad so concurrent misses share one query
+ * Create/update/delete invalidate only the entries tagged with the affected item (see CacheTags),
+ * or with cache.write-through=true patch them in place (see MediaCachePatch)
  */
 @Service
 public class MediaServiceImpl implements MediaService {
 
     private final MediaRepository mediaRepository;
     private final CacheService cacheService;
+    private final ChangeFeedService changeFeedService;
+
+    private final boolean writeThrough;
+    private final int maxBatchIds;
+    /* Orders write + cache patch per item, so patches land in the same order as the writes */
+    private final ReentrantLock[] writeLocks;
 
     // Cache key constants
-    private static final String CACHE_KEY_ALL_MEDIA = "media:all";
-    private static final String CACHE_KEY_MEDIA_BY_ID = "media:id:";
-    private static final String CACHE_KEY_MEDIA_BY_TYPE = "media:type:";
-    private static final String CACHE_KEY_MEDIA_BY_CREATOR = "media:creator:";
+    static final String CACHE_KEY_ALL_MEDIA = "media:all";
+    static final String CACHE_KEY_MEDIA_BY_ID = "media:id:";
+    static final String CACHE_KEY_MEDIA_BY_TYPE = "media:type:";
+    static final String CACHE_KEY_MEDIA_BY_CREATOR = "media:creator:";
     private static final String CACHE_KEY_SEARCH = "media:search:";
 
     @Autowired
-    public MediaServiceImpl(MediaRepository mediaRepository, CacheService cacheService) {
+    public MediaServiceImpl(MediaRepository mediaRepository, CacheService cacheService,
+                            ChangeFeedService changeFeedService) {
         this.mediaRepository = mediaRepository;
         this.cacheService = cacheService;
+        this.changeFeedService = changeFeedService;
+        this.writeThrough = Boolean.parseBoolean(
+                AppConfig.getInstance().getProperty("cache.write-through", "true"));
+        this.maxBatchIds = Integer.parseInt(
+                AppConfig.getInstance().getProperty("media.batch.max-ids", "500"));
+        this.writeLocks = new ReentrantLock[64];
+        for (int i = 0; i < writeLocks.length; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
     }
 
     @Override
@@ -50,28 +78,23 @@ public class MediaServiceImpl implements MediaService {
 
         Media createdMedia = mediaRepository.create(media);
         
-        // Invalidate all media-related caches after creation
-        invalidateMediaCaches();
+        // A new item can join the full list, its type/creator lists and any search result
+        ReentrantLock lock = writeLock(createdMedia.getId());
+        lock.lock();
+        try {
+            applyWrite(MediaCachePatch.affectedTags(null, createdMedia), MediaCachePatch.saved(createdMedia));
+            changeFeedService.publish(ChangeEvent.MEDIA, ChangeEvent.CREATED, createdMedia.getId());
+        } finally {
+            lock.unlock();
+        }
         
         return createdMedia;
     }
 
     @Override
     public List<Media> getAllMedia() throws DatabaseOperationException {
-        // Try to get from cache first
-        Optional<List<Media>> cachedMedia = cacheService.getCachedList(CACHE_KEY_ALL_MEDIA);
-        
-        if (cachedMedia.isPresent()) {
-            return cachedMedia.get();
-        }
-        
-        // Cache miss - fetch from database
-        List<Media> mediaList = mediaRepository.getAll();
-        
-        // Store in cache for future requests
-        cacheService.cacheList(CACHE_KEY_ALL_MEDIA, mediaList);
-        
-        return mediaList;
+        return cacheService.getOrLoad(CACHE_KEY_ALL_MEDIA, mediaRepository::getAll,
+                mediaList -> CacheTags.ofMediaList(mediaList, CacheTags.MEDIA_ALL));
     }
 
     @Override
@@ -80,42 +103,93 @@ public class MediaServiceImpl implements MediaService {
             throw new InvalidInputException("Invalid media ID: " + id);
         }
         
-        String cacheKey = CACHE_KEY_MEDIA_BY_ID + id;
-        
-        // Try to get from cache first
-        Optional<Media> cachedMedia = cacheService.getCached(cacheKey, Media.class);
-        
-        if (cachedMedia.isPresent()) {
-            return cachedMedia.get();
+        Media media = cacheService.getOrLoad(CACHE_KEY_MEDIA_BY_ID + id, () -> {
+            try {
+                return mediaRepository.getById(id);
+            } catch (ResourceNotFoundException e) {
+                return null;
+            }
+        }, CacheTags::ofMedia, Set.of(CacheTags.media(id)));
+
+        if (media == null) {
+            throw new ResourceNotFoundException("Media", id);
         }
         
-        // Cache miss - fetch from database
-        Media media = mediaRepository.getById(id);
-        
-        // Store in cache
-        cacheService.cache(cacheKey, media);
-        
         return media;
     }
 
+    /*
+      Batch lookup for clients that need many items at once (e.g. a player queue).
+      Cached items come from one multi-get and all misses from one query; the result follows
+      the order of ids, without duplicates or ids that do not exist.
+     */
     @Override
-    public Media updateMedia(Integer id, Media media) throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
-        media.validate();
+    public List<Media> getMediaByIds(List<Integer> ids) throws InvalidInputException, DatabaseOperationException {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidInputException("At least one media ID is required");
+        }
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            if (id == null || id <= 0) {
+                throw new InvalidInputException("Invalid media ID: " + id);
+            }
+            keys.put(CACHE_KEY_MEDIA_BY_ID + id, id);
+        }
+        if (keys.size() > maxBatchIds) {
+            throw new InvalidInputException("Too many media IDs: " + keys.size() + " (max " + maxBatchIds + ")");
+        }
 
-        if (!mediaRepository.exists(id)) {
-            throw new ResourceNotFoundException("Media", id);
+        long generation = cacheService.currentGeneration();
+        Map<String, Optional<Media>> cached = cacheService.getAll(keys.keySet());
+        Map<String, Media> loaded = new HashMap<>();
+        if (cached.size() < keys.size()) {
+            List<Integer> misses = new ArrayList<>();
+            keys.forEach((key, id) -> {
+                if (!cached.containsKey(key)) {
+                    misses.add(id);
+                    loaded.put(key, null);
+                }
+            });
+            for (Media media : mediaRepository.findByIds(misses)) {
+                loaded.put(CACHE_KEY_MEDIA_BY_ID + media.getId(), media);
+            }
+            cacheService.putAllIfCurrent(loaded, CacheTags::ofMedia,
+                    key -> Set.of(CacheTags.media(keys.get(key))), generation);
         }
 
-        if (media.getDuration() > 86400) {
-            throw new InvalidInputException("Media duration cannot exceed 24 hours");
+        List<Media> result = new ArrayList<>(keys.size());
+        for (String key : keys.keySet()) {
+            Optional<Media> hit = cached.get(key);
+            Media media = hit != null ? hit.orElse(null) : loaded.get(key);
+            if (media != null) {
+                result.add(media);
+            }
         }
+        return result;
+    }
 
-        Media updatedMedia = mediaRepository.update(id, media);
-        
-        // Invalidate all media-related caches after update
-        invalidateMediaCaches();
-        
-        return updatedMedia;
+    @Override
+    public Media updateMedia(Integer id, Media media) throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
+        media.validate();
+
+        ReentrantLock lock = writeLock(id);
+        lock.lock();
+        try {
+            Media existing = mediaRepository.getById(id);
+
+            if (media.getDuration() > 86400) {
+                throw new InvalidInputException("Media duration cannot exceed 24 hours");
+            }
+
+            Media updatedMedia = mediaRepository.update(id, media);
+
+            // Every entry containing this item, plus the lists it may newly belong to
+            applyWrite(MediaCachePatch.affectedTags(existing, updatedMedia), MediaCachePatch.saved(updatedMedia));
+            changeFeedService.publish(ChangeEvent.MEDIA, ChangeEvent.UPDATED, id);
+            return updatedMedia;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -124,10 +198,29 @@ public class MediaServiceImpl implements MediaService {
             throw new ResourceNotFoundException("Media", id);
         }
 
-        mediaRepository.delete(id);
-        
-        // Invalidate all media-related caches after deletion
-        invalidateMediaCaches();
+        ReentrantLock lock = writeLock(id);
+        lock.lock();
+        try {
+            mediaRepository.delete(id);
+
+            // Only entries containing the deleted item (including playlists) and playlist summaries are affected
+            applyWrite(Set.of(CacheTags.media(id), CacheTags.PLAYLIST_SUMMARY), MediaCachePatch.deleted(id));
+            changeFeedService.publish(ChangeEvent.MEDIA, ChangeEvent.DELETED, id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyWrite(Set<String> tags, MediaCachePatch patch) {
+        if (writeThrough) {
+            cacheService.patchTags(tags, patch);
+        } else {
+            cacheService.invalidateTags(tags);
+        }
+    }
+
+    private ReentrantLock writeLock(int id) {
+        return writeLocks[Math.floorMod(id, writeLocks.length)];
     }
 
     @Override
@@ -136,22 +229,9 @@ public class MediaServiceImpl implements MediaService {
             throw new IllegalArgumentException("Media type cannot be null");
         }
         
-        String cacheKey = CACHE_KEY_MEDIA_BY_TYPE + type.name();
-        
-        // Try to get from cache first
-        Optional<List<Media>> cachedMedia = cacheService.getCachedList(cacheKey);
-        
-        if (cachedMedia.isPresent()) {
-            return cachedMedia.get();
-        }
-        
-        // Cache miss - fetch from database
-        List<Media> mediaList = mediaRepository.findByType(type);
-        
-        // Store in cache
-        cacheService.cacheList(cacheKey, mediaList);
-        
-        return mediaList;
+        return cacheService.getOrLoad(CACHE_KEY_MEDIA_BY_TYPE + type.name(),
+                () -> mediaRepository.findByType(type),
+                mediaList -> CacheTags.ofMediaList(mediaList, CacheTags.mediaType(type)));
     }
 
     @Override
@@ -160,22 +240,9 @@ public class MediaServiceImpl implements MediaService {
             throw new IllegalArgumentException("Creator name cannot be empty");
         }
         
-        String cacheKey = CACHE_KEY_MEDIA_BY_CREATOR + creator.toLowerCase();
-        
-        // Try to get from cache first
-        Optional<List<Media>> cachedMedia = cacheService.getCachedList(cacheKey);
-        
-        if (cachedMedia.isPresent()) {
-            return cachedMedia.get();
-        }
-        
-        // Cache miss - fetch from database
-        List<Media> mediaList = mediaRepository.findByCreator(creator);
-        
-        // Store in cache
-        cacheService.cacheList(cacheKey, mediaList);
-        
-        return mediaList;
+        return cacheService.getOrLoad(CACHE_KEY_MEDIA_BY_CREATOR + creator.toLowerCase(),
+                () -> mediaRepository.findByCreator(creator),
+                mediaList -> CacheTags.ofMediaList(mediaList, CacheTags.mediaCreator(creator)));
     }
 
     @Override
@@ -184,27 +251,13 @@ public class MediaServiceImpl implements MediaService {
             throw new IllegalArgumentException("Search keyword cannot be empty");
         }
         
-        String cacheKey = CACHE_KEY_SEARCH + keyword.toLowerCase();
-        
-        // Try to get from cache first
-        Optional<List<Media>> cachedMedia = cacheService.getCachedList(cacheKey);
-        
-        if (cachedMedia.isPresent()) {
-            return cachedMedia.get();
-        }
-        
-        // Cache miss - fetch from database
-        List<Media> mediaList = mediaRepository.searchByName(keyword);
-        
-        // Store in cache
-        cacheService.cacheList(cacheKey, mediaList);
-        
-        return mediaList;
+        return cacheService.getOrLoad(CACHE_KEY_SEARCH + keyword.toLowerCase(),
+                () -> mediaRepository.searchByName(keyword),
+                mediaList -> CacheTags.ofMediaList(mediaList, CacheTags.MEDIA_SEARCH));
     }
 
     /**
      * Invalidate all media-related cache entries
-     * Called after create, update, or delete operations
      */
     private void invalidateMediaCaches() {
         cacheService.invalidatePattern("media:*");
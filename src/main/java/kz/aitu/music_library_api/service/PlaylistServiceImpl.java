@@ -1,21 +1,28 @@
 package kz.aitu.music_library_api.service;
 
+import kz.aitu.music_library_api.cache.CacheTags;
+import kz.aitu.music_library_api.changes.ChangeEvent;
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
 import kz.aitu.music_library_api.exception.*;
 import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.patterns.AppConfig;
 import kz.aitu.music_library_api.repository.interfaces.MediaRepository;
 import kz.aitu.music_library_api.repository.interfaces.PlaylistRepository;
 import kz.aitu.music_library_api.service.interfaces.CacheService;
+import kz.aitu.music_library_api.service.interfaces.ChangeFeedService;
 import kz.aitu.music_library_api.service.interfaces.PlaylistService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 /**
  * Playlist Service Implementation with Caching
  * Implements caching for frequently accessed data (getAllPlaylists)
- * Automatically invalidates cache on create/update/delete operations
+ * Cache misses are loaded through CacheService.getOrLoad so concurrent misses share one query
+ * Writes invalidate only the entries tagged with the affected playlist (see CacheTags)
  */
 @Service
 public class PlaylistServiceImpl implements PlaylistService {
@@ -23,24 +30,41 @@ public class PlaylistServiceImpl implements PlaylistService {
     private final PlaylistRepository playlistRepository;
     private final MediaRepository mediaRepository;
     private final CacheService cacheService;
+    private final ChangeFeedService changeFeedService;
 
     // Cache key constants
     private static final String CACHE_KEY_ALL_PLAYLISTS = "playlist:all";
     private static final String CACHE_KEY_PLAYLIST_BY_ID = "playlist:id:";
     private static final String CACHE_KEY_PLAYLIST_BY_NAME = "playlist:name:";
+    private static final String CACHE_KEY_PLAYLIST_SUMMARIES = "playlist:summaries";
+    private static final String CACHE_KEY_PLAYLIST_SUMMARY = "playlist:summary:";
+    private static final String CACHE_KEY_PLAYLIST_ITEMS = "playlist:items:";
+
+    private final int maxPlaylistSize;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     @Autowired
     public PlaylistServiceImpl(PlaylistRepository playlistRepository, 
                                MediaRepository mediaRepository,
-                               CacheService cacheService) {
+                               CacheService cacheService,
+                               ChangeFeedService changeFeedService) {
         this.playlistRepository = playlistRepository;
         this.mediaRepository = mediaRepository;
         this.cacheService = cacheService;
+        this.changeFeedService = changeFeedService;
+        AppConfig config = AppConfig.getInstance();
+        this.maxPlaylistSize = config.getMaxPlaylistSize();
+        this.defaultPageSize = Integer.parseInt(config.getProperty("playlist.page.default-limit", "100"));
+        this.maxPageSize = Integer.parseInt(config.getProperty("playlist.page.max-limit", "1000"));
     }
 
     @Override
     public Playlist createPlaylist(Playlist playlist) throws InvalidInputException, DuplicateResourceException, DatabaseOperationException {
         playlist.validate();
+        if (playlist.viewItems().size() > maxPlaylistSize) {
+            throw new InvalidInputException("A playlist can hold at most " + maxPlaylistSize + " items");
+        }
 
         if (playlistRepository.existsByName(playlist.getName())) {
             throw new DuplicateResourceException("Playlist", playlist.getName());
@@ -48,28 +72,70 @@ public class PlaylistServiceImpl implements PlaylistService {
 
         Playlist createdPlaylist = playlistRepository.create(playlist);
         
-        // Invalidate all playlist-related caches after creation
-        invalidatePlaylistCaches();
+        cacheService.invalidateTags(Set.of(
+                CacheTags.playlist(createdPlaylist.getId()),
+                CacheTags.PLAYLIST_ALL,
+                CacheTags.playlistName(createdPlaylist.getName())));
+        changeFeedService.publish(ChangeEvent.PLAYLIST, ChangeEvent.CREATED, createdPlaylist.getId());
         
         return createdPlaylist;
     }
 
     @Override
     public List<Playlist> getAllPlaylists() throws DatabaseOperationException {
-        // Try to get from cache first
-        Optional<List<Playlist>> cachedPlaylists = cacheService.getCachedList(CACHE_KEY_ALL_PLAYLISTS);
-        
-        if (cachedPlaylists.isPresent()) {
-            return cachedPlaylists.get();
+        return cacheService.getOrLoad(CACHE_KEY_ALL_PLAYLISTS, playlistRepository::getAll,
+                playlists -> CacheTags.ofPlaylists(playlists, CacheTags.PLAYLIST_ALL));
+    }
+
+    @Override
+    public List<PlaylistSummary> getPlaylistSummaries() throws DatabaseOperationException {
+        return cacheService.getOrLoad(CACHE_KEY_PLAYLIST_SUMMARIES, playlistRepository::getSummaries,
+                summaries -> CacheTags.ofPlaylistSummaries(summaries, CacheTags.PLAYLIST_ALL));
+    }
+
+    @Override
+    public PlaylistSummary getPlaylistSummary(Integer id) throws ResourceNotFoundException, DatabaseOperationException, InvalidInputException {
+        if (id == null || id <= 0) {
+            throw new InvalidInputException("Invalid playlist ID: " + id);
         }
-        
-        // Cache miss - fetch from database
-        List<Playlist> playlists = playlistRepository.getAll();
-        
-        // Store in cache for future requests
-        cacheService.cacheList(CACHE_KEY_ALL_PLAYLISTS, playlists);
-        
-        return playlists;
+
+        PlaylistSummary summary = cacheService.getOrLoad(CACHE_KEY_PLAYLIST_SUMMARY + id, () -> {
+            try {
+                return playlistRepository.getSummary(id);
+            } catch (ResourceNotFoundException e) {
+                return null;
+            }
+        }, found -> CacheTags.ofPlaylistSummaries(List.of(found)), Set.of(CacheTags.playlist(id)));
+
+        if (summary == null) {
+            throw new ResourceNotFoundException("Playlist", id);
+        }
+        return summary;
+    }
+
+    @Override
+    public PlaylistItemsPage getPlaylistItems(Integer id, String after, Integer limit)
+            throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
+        if (id == null || id <= 0) {
+            throw new InvalidInputException("Invalid playlist ID: " + id);
+        }
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new InvalidInputException("limit must be between 1 and " + maxPageSize);
+        }
+        int[] cursor = PlaylistItemsPage.parseCursor(after);
+
+        PlaylistItemsPage page = cacheService.getOrLoad(
+                CACHE_KEY_PLAYLIST_ITEMS + id + ":" + (after != null ? after : "") + ":" + pageSize, () -> {
+                    PlaylistItemsPage loaded = playlistRepository.getItemsPage(id, cursor[0], cursor[1], pageSize);
+                    // An empty page is either the end of the playlist or no playlist at all
+                    return loaded.getItems().isEmpty() && !playlistRepository.exists(id) ? null : loaded;
+                }, loaded -> CacheTags.ofItemsPage(id, loaded), Set.of(CacheTags.playlist(id)));
+
+        if (page == null) {
+            throw new ResourceNotFoundException("Playlist", id);
+        }
+        return page;
     }
 
     @Override
@@ -78,21 +144,18 @@ public class PlaylistServiceImpl implements PlaylistService {
             throw new InvalidInputException("Invalid playlist ID: " + id);
         }
         
-        String cacheKey = CACHE_KEY_PLAYLIST_BY_ID + id;
-        
-        // Try to get from cache first
-        Optional<Playlist> cachedPlaylist = cacheService.getCached(cacheKey, Playlist.class);
-        
-        if (cachedPlaylist.isPresent()) {
-            return cachedPlaylist.get();
+        Playlist playlist = cacheService.getOrLoad(CACHE_KEY_PLAYLIST_BY_ID + id, () -> {
+            try {
+                return playlistRepository.getById(id);
+            } catch (ResourceNotFoundException e) {
+                return null;
+            }
+        }, CacheTags::ofPlaylist, Set.of(CacheTags.playlist(id)));
+
+        if (playlist == null) {
+            throw new ResourceNotFoundException("Playlist", id);
         }
         
-        // Cache miss - fetch from database
-        Playlist playlist = playlistRepository.getById(id);
-        
-        // Store in cache
-        cacheService.cache(cacheKey, playlist);
-        
         return playlist;
     }
 
@@ -113,8 +176,10 @@ public class PlaylistServiceImpl implements PlaylistService {
 
         Playlist updatedPlaylist = playlistRepository.update(id, playlist);
         
-        // Invalidate all playlist-related caches after update
-        invalidatePlaylistCaches();
+        cacheService.invalidateTags(Set.of(
+                CacheTags.playlist(id),
+                CacheTags.playlistName(updatedPlaylist.getName())));
+        changeFeedService.publish(ChangeEvent.PLAYLIST, ChangeEvent.UPDATED, id);
         
         return updatedPlaylist;
     }
@@ -127,12 +192,12 @@ public class PlaylistServiceImpl implements PlaylistService {
 
         playlistRepository.delete(id);
         
-        // Invalidate all playlist-related caches after deletion
-        invalidatePlaylistCaches();
+        cacheService.invalidateTags(Set.of(CacheTags.playlist(id)));
+        changeFeedService.publish(ChangeEvent.PLAYLIST, ChangeEvent.DELETED, id);
     }
 
     @Override
-    public void addMediaToPlaylist(Integer playlistId, Integer mediaId) throws ResourceNotFoundException, DatabaseOperationException {
+    public void addMediaToPlaylist(Integer playlistId, Integer mediaId) throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException {
         if (!playlistRepository.exists(playlistId)) {
             throw new ResourceNotFoundException("Playlist", playlistId);
         }
@@ -141,19 +206,24 @@ public class PlaylistServiceImpl implements PlaylistService {
             throw new ResourceNotFoundException("Media", mediaId);
         }
 
-        playlistRepository.addMediaToPlaylist(playlistId, mediaId);
+        if (!playlistRepository.addMediaToPlaylist(playlistId, mediaId)) {
+            if (playlistRepository.containsMedia(playlistId, mediaId)) {
+                return; // already in the playlist: nothing changed
+            }
+            throw new InvalidInputException("Playlist " + playlistId + " is full (at most " + maxPlaylistSize + " items)");
+        }
         
-        // Invalidate playlist caches after adding media
-        // This affects the specific playlist and the "all playlists" list
-        invalidatePlaylistCaches();
+        // Affects every entry holding this playlist (by id, by name and the full list)
+        cacheService.invalidateTags(Set.of(CacheTags.playlist(playlistId)));
+        changeFeedService.publishPlaylistItem(ChangeEvent.ADDED, playlistId, mediaId);
     }
 
     @Override
     public void removeMediaFromPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException {
         playlistRepository.removeMediaFromPlaylist(playlistId, mediaId);
         
-        // Invalidate playlist caches after removing media
-        invalidatePlaylistCaches();
+        cacheService.invalidateTags(Set.of(CacheTags.playlist(playlistId)));
+        changeFeedService.publishPlaylistItem(ChangeEvent.REMOVED, playlistId, mediaId);
     }
 
     @Override
@@ -162,30 +232,20 @@ public class PlaylistServiceImpl implements PlaylistService {
             throw new IllegalArgumentException("Playlist name cannot be empty");
         }
 
-        String cacheKey = CACHE_KEY_PLAYLIST_BY_NAME + name.toLowerCase();
-        
-        // Try to get from cache first
-        Optional<Playlist> cachedPlaylist = cacheService.getCached(cacheKey, Playlist.class);
-        
-        if (cachedPlaylist.isPresent()) {
-            return cachedPlaylist.get();
-        }
-        
-        // Cache miss - fetch from database
-        Playlist playlist = playlistRepository.findByName(name);
+        Playlist playlist = cacheService.getOrLoad(CACHE_KEY_PLAYLIST_BY_NAME + name.toLowerCase(),
+                () -> playlistRepository.findByName(name),
+                found -> CacheTags.ofPlaylist(found, CacheTags.playlistName(name)),
+                Set.of(CacheTags.playlistName(name)));
+
         if (playlist == null) {
             throw new ResourceNotFoundException("Playlist", name);
         }
         
-        // Store in cache
-        cacheService.cache(cacheKey, playlist);
-        
         return playlist;
     }
 
     /**
      * Invalidate all playlist-related cache entries
-     * Called after create, update, delete, or modification operations
      */
     private void invalidatePlaylistCaches() {
         cacheService.invalidatePattern("playlist:*");
@@ -0,0 +1,23 @@
+package kz.aitu.music_library_api.service.interfaces;
+
+import kz.aitu.music_library_api.dto.BatchOperation;
+import kz.aitu.music_library_api.dto.BatchResult;
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.InvalidInputException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+
+import java.util.List;
+
+/**
+ * Batch Service Interface
+ * Runs an ordered list of media/playlist writes as one unit
+ */
+public interface BatchService {
+
+    /**
+     * Run the operations in order in one database transaction. Any failure rolls back
+     * all of them and is reported with the index of the failing operation.
+     */
+    List<BatchResult> execute(List<BatchOperation> operations)
+            throws InvalidInputException, ResourceNotFoundException, DatabaseOperationException;
+}
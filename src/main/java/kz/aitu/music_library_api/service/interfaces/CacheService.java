@@ -1,7 +1,14 @@
 package kz.aitu.music_library_api.service.interfaces;
 
+import kz.aitu.music_library_api.cache.CacheLoader;
+import kz.aitu.music_library_api.cache.CachePatch;
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Cache Service Interface
@@ -29,11 +36,71 @@ public interface CacheService {
      */
     <T> Optional<List<T>> getCachedList(String key);
     
+    /**
+     * Retrieve several cached entries at once, in the order of keys.
+     * Keys that are not cached are absent from the result; a cached "not found" maps to Optional.empty().
+     */
+    <T> Map<String, Optional<T>> getAll(Collection<String> keys);
+    
+    /**
+     * Cache the values loaded for the misses of getAll in one pass, tagging each with tagger(value).
+     * Keys mapped to null are cached as "not found" tagged with absentTagger(key).
+     * Entries invalidated after generation are skipped; returns the number cached.
+     */
+    <T> int putAllIfCurrent(Map<String, T> values, Function<? super T, ? extends Collection<String>> tagger,
+                            Function<String, ? extends Collection<String>> absentTagger, long generation);
+    
+    /**
+     * Retrieve a cached value, or load and cache it on a miss.
+     * Only one loader runs per key at a time; concurrent callers wait for its result
+     * (bounded by cache.load-timeout-ms) and receive the same value or exception.
+     */
+    <T> T getOrLoad(String key, CacheLoader<T> loader) throws DatabaseOperationException;
+    
+    /**
+     * Same as getOrLoad(key, loader), tagging the cached value with tagger(value)
+     * (see CacheTags) so it can be dropped precisely by invalidateTags
+     */
+    <T> T getOrLoad(String key, CacheLoader<T> loader,
+                    Function<? super T, ? extends Collection<String>> tagger) throws DatabaseOperationException;
+    
+    /**
+     * Same as getOrLoad(key, loader, tagger), also caching a null (not found) result for a
+     * short TTL. The cached miss carries absentTags, so invalidating one of them (e.g. on create)
+     * drops it.
+     */
+    <T> T getOrLoad(String key, CacheLoader<T> loader,
+                    Function<? super T, ? extends Collection<String>> tagger,
+                    Collection<String> absentTags) throws DatabaseOperationException;
+    
+    /**
+     * Current invalidation generation. Take it before loading a value that will be
+     * cached with putIfCurrent.
+     */
+    long currentGeneration();
+    
+    /**
+     * Cache a value unless anything it depends on (its key or tags) was invalidated
+     * after generation. Returns false if the value was discarded as stale.
+     */
+    <T> boolean putIfCurrent(String key, T value, Collection<String> tags, long generation);
+    
     /**
      * Invalidate a specific cache entry
      */
     void invalidate(String key);
     
+    /**
+     * Invalidate all entries carrying any of the given tags
+     */
+    void invalidateTags(Collection<String> tags);
+    
+    /**
+     * Apply a write to every entry carrying any of the given tags instead of dropping them
+     * (write-through). Entries the patch cannot update are dropped as with invalidateTags.
+     */
+    void patchTags(Collection<String> tags, CachePatch patch);
+    
     /**
      * Invalidate all entries matching a pattern
      */
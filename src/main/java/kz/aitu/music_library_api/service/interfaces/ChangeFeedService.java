@@ -0,0 +1,29 @@
+package kz.aitu.music_library_api.service.interfaces;
+
+import kz.aitu.music_library_api.exception.ServiceUnavailableException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Change Feed Service Interface
+ * Services publish committed writes; clients follow them as a Server-Sent Events stream
+ * instead of polling the list endpoints
+ */
+public interface ChangeFeedService {
+
+    /**
+     * Record a committed create/update/delete of a media item or playlist
+     */
+    void publish(String entity, String action, int entityId);
+
+    /**
+     * Record a media item added to or removed from a playlist
+     */
+    void publishPlaylistItem(String action, int playlistId, int mediaId);
+
+    /**
+     * Open a stream, first replaying the events after lastEventId (null for live events only)
+     */
+    SseEmitter subscribe(String lastEventId) throws ServiceUnavailableException;
+
+    int getSubscriberCount();
+}
@@ -12,6 +12,8 @@ public interface MediaService {
 
     Media getMediaById(Integer id) throws ResourceNotFoundException, DatabaseOperationException, InvalidInputException;
 
+    List<Media> getMediaByIds(List<Integer> ids) throws InvalidInputException, DatabaseOperationException;
+
     Media updateMedia(Integer id, Media media) throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException;
 
     void deleteMedia(Integer id) throws ResourceNotFoundException, DatabaseOperationException;
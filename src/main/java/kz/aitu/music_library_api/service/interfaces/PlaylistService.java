@@ -1,5 +1,7 @@
 package kz.aitu.music_library_api.service.interfaces;
 
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
 import kz.aitu.music_library_api.exception.*;
 import kz.aitu.music_library_api.model.Playlist;
 import java.util.List;
@@ -10,13 +12,23 @@ public interface PlaylistService {
 
     List<Playlist> getAllPlaylists() throws DatabaseOperationException;
 
+    List<PlaylistSummary> getPlaylistSummaries() throws DatabaseOperationException;
+
+    PlaylistSummary getPlaylistSummary(Integer id) throws ResourceNotFoundException, DatabaseOperationException, InvalidInputException;
+
+    /**
+     * Items after the cursor (null for the first page); limit null for the default page size
+     */
+    PlaylistItemsPage getPlaylistItems(Integer id, String after, Integer limit)
+            throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException;
+
     Playlist getPlaylistById(Integer id) throws ResourceNotFoundException, DatabaseOperationException, InvalidInputException;
 
     Playlist updatePlaylist(Integer id, Playlist playlist) throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException;
 
     void deletePlaylist(Integer id) throws ResourceNotFoundException, DatabaseOperationException;
 
-    void addMediaToPlaylist(Integer playlistId, Integer mediaId) throws ResourceNotFoundException, DatabaseOperationException;
+    void addMediaToPlaylist(Integer playlistId, Integer mediaId) throws ResourceNotFoundException, InvalidInputException, DatabaseOperationException;
 
     void removeMediaFromPlaylist(Integer playlistId, Integer mediaId) throws DatabaseOperationException;
 
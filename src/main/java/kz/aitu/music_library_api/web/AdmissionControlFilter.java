@@ -0,0 +1,99 @@
+package kz.aitu.music_library_api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kz.aitu.music_library_api.dto.ApiResponse;
+import kz.aitu.music_library_api.patterns.AdaptiveLimiter;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.patterns.LoggingService;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulkheads for the API: each EndpointClass gets its own AdaptiveLimiter, so a burst of
+ * full-table list loads cannot take every database connection away from point reads.
+ * Requests over their class's limit are rejected at once with 503 and Retry-After.
+ *
+ * Runs inside ResponseCacheFilter: cached responses cost no database work and are never shed.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final Map<EndpointClass, AdaptiveLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final ObjectMapper objectMapper;
+    private final LoggingService loggingService;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlFilter(ObjectMapper objectMapper) {
+        AppConfig config = AppConfig.getInstance();
+        this.objectMapper = objectMapper;
+        this.loggingService = LoggingService.getInstance();
+        this.enabled = Boolean.parseBoolean(config.getProperty("bulkhead.enabled", "true"));
+        this.retryAfterSeconds = Long.parseLong(config.getProperty("bulkhead.retry-after-seconds", "1"));
+        double backoffRatio = Double.parseDouble(config.getProperty("bulkhead.backoff-ratio", "0.9"));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "bulkhead." + endpointClass.getKey() + ".";
+            limiters.put(endpointClass, new AdaptiveLimiter(endpointClass.getKey(),
+                    Integer.parseInt(config.getProperty(prefix + "initial-limit", String.valueOf(endpointClass.getInitialLimit()))),
+                    Integer.parseInt(config.getProperty(prefix + "min-limit", String.valueOf(endpointClass.getMinLimit()))),
+                    Integer.parseInt(config.getProperty(prefix + "max-limit", String.valueOf(endpointClass.getMaxLimit()))),
+                    Long.parseLong(config.getProperty(prefix + "latency-target-ms", String.valueOf(endpointClass.getLatencyTargetMillis()))),
+                    backoffRatio));
+        }
+    }
+
+    public List<AdaptiveLimiter> getLimiters() {
+        return new ArrayList<>(limiters.values());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || EndpointClass.of(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AdaptiveLimiter limiter = limiters.get(endpointClass);
+        long start = limiter.tryAcquire();
+        if (start < 0) {
+            shed(endpointClass, limiter, response);
+            return;
+        }
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            // A 504 is the request's own deadline; its latency alone decides whether to back off
+            failed = response.getStatus() >= 500 && response.getStatus() != HttpStatus.GATEWAY_TIMEOUT.value();
+        } finally {
+            limiter.release(start, failed);
+        }
+    }
+
+    private void shed(EndpointClass endpointClass, AdaptiveLimiter limiter,
+                      HttpServletResponse response) throws IOException {
+        loggingService.logDebug("Shed {} request, limit {} reached", endpointClass.getKey(), limiter.getLimit());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Server is busy with " + endpointClass.getKey() + " requests, retry later"));
+    }
+}
@@ -0,0 +1,18 @@
+package kz.aitu.music_library_api.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * application/cbor (RFC 8949) bodies, written with the same configuration and serializers
+ * (MusicLibraryJsonModule) as JSON, so fields and values are identical
+ */
+@Component
+public class ApiCborConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public ApiCborConverter(Jackson2ObjectMapperBuilder builder) {
+        super(builder.factory(new CBORFactory()).build());
+    }
+}
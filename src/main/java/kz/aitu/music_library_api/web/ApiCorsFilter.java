@@ -0,0 +1,35 @@
+package kz.aitu.music_library_api.web;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+import java.util.List;
+
+/**
+ * CORS for /api/** as a servlet filter rather than @CrossOrigin on the controllers, so it
+ * also covers responses that never reach DispatcherServlet (ResponseCacheFilter hits,
+ * AdmissionControlFilter 503s). Same policy @CrossOrigin(origins = "*") applied.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class ApiCorsFilter extends CorsFilter {
+
+    public ApiCorsFilter() {
+        super(corsSource());
+    }
+
+    private static UrlBasedCorsConfigurationSource corsSource() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.addAllowedOrigin(CorsConfiguration.ALL);
+        config.addAllowedHeader(CorsConfiguration.ALL);
+        config.setAllowedMethods(List.of("GET", "HEAD", "POST", "PUT", "DELETE"));
+        config.setMaxAge(1800L);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", config);
+        return source;
+    }
+}
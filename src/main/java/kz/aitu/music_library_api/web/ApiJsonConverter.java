@@ -0,0 +1,49 @@
+package kz.aitu.music_library_api.web;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * JSON converter for API bodies. Output is compact; indentation only costs bytes for
+ * machine clients, so it is applied only when the request asks for it with ?pretty=true.
+ * Replaces Spring Boot's default JSON converter and keeps its place ahead of CBOR and
+ * Smile, so JSON stays the default for clients that accept anything or send no Accept.
+ */
+@Component
+public class ApiJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String PRETTY_PARAMETER = "pretty";
+
+    public ApiJsonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+        return isPrettyRequested() ? writer.withDefaultPrettyPrinter() : writer;
+    }
+
+    /*
+      Only on request threads; change feed events are written from the sender pool and stay
+      compact, which also keeps each one on a single SSE data line
+     */
+    private static boolean isPrettyRequested() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        return isPrettyRequested(attributes.getRequest());
+    }
+
+    /* Any value but false; ResponseCacheFilter keys JSON responses by the same test */
+    static boolean isPrettyRequested(HttpServletRequest request) {
+        String pretty = request.getParameter(PRETTY_PARAMETER);
+        return pretty != null && !"false".equalsIgnoreCase(pretty);
+    }
+}
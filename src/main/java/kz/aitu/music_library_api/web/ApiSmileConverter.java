@@ -0,0 +1,18 @@
+package kz.aitu.music_library_api.web;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * application/x-jackson-smile bodies. Smile back-references repeated field names, which suits
+ * long media lists; same configuration and serializers as JSON.
+ */
+@Component
+public class ApiSmileConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public ApiSmileConverter(Jackson2ObjectMapperBuilder builder) {
+        super(builder.factory(new SmileFactory()).build());
+    }
+}
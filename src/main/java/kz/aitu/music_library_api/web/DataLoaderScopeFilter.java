@@ -0,0 +1,32 @@
+package kz.aitu.music_library_api.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kz.aitu.music_library_api.repository.loader.DataLoaderScope;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Gives each request its own batching/memoizing DataLoaders (see DataLoaderScope)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class DataLoaderScopeFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        DataLoaderScope.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataLoaderScope.end();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package kz.aitu.music_library_api.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoint classes with their own bulkhead (AdmissionControlFilter) and default
+ * deadline (RequestDeadlineFilter). Defaults are overridable per class key in
+ * application.properties.
+ */
+public enum EndpointClass {
+    POINT_READ("point-read", 40, 4, 100, 100, 2000),
+    LIST_READ("list-read", 8, 2, 20, 500, 10000),
+    SEARCH("search", 10, 2, 30, 300, 5000),
+    WRITE("write", 10, 2, 30, 300, 5000),
+    BULK("bulk", 4, 1, 10, 1000, 10000);
+
+    private final String key;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetMillis;
+    private final long deadlineMillis;
+
+    EndpointClass(String key, int initialLimit, int minLimit, int maxLimit,
+                  long latencyTargetMillis, long deadlineMillis) {
+        this.key = key;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetMillis = latencyTargetMillis;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Class of a request, or null for endpoints outside the classes (cache admin etc.)
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        if (!path.startsWith("/api/media") && !path.startsWith("/api/playlists")
+                && !path.startsWith("/api/songs") && !path.startsWith("/api/podcasts")
+                && !path.equals("/api/batch")) {
+            return null;
+        }
+        if (path.equals("/api/media/batch-get") || path.equals("/api/batch")
+                || ("GET".equals(method) && path.equals("/api/media") && request.getParameter("ids") != null)) {
+            return BULK;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        if (path.equals("/api/media/search")) {
+            return SEARCH;
+        }
+        if (path.equals("/api/media") || path.equals("/api/playlists") || path.startsWith("/api/media/type/")) {
+            return LIST_READ;
+        }
+        return POINT_READ;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public long getLatencyTargetMillis() {
+        return latencyTargetMillis;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+}
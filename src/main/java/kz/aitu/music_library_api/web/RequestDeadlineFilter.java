@@ -0,0 +1,76 @@
+package kz.aitu.music_library_api.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.patterns.RequestDeadline;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Gives each API request a deadline (see RequestDeadline): the client's own timeout from the
+ * X-Request-Timeout header (milliseconds), else the default of its EndpointClass, capped
+ * at deadline.max-ms. A client that stops waiting after 2s thus stops the server's queries
+ * after 2s too, instead of leaving them running against the pool.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Map<EndpointClass, Long> defaults = new EnumMap<>(EndpointClass.class);
+    private final boolean enabled;
+    private final long maxMillis;
+
+    public RequestDeadlineFilter() {
+        AppConfig config = AppConfig.getInstance();
+        this.enabled = Boolean.parseBoolean(config.getProperty("deadline.enabled", "true"));
+        this.maxMillis = Long.parseLong(config.getProperty("deadline.max-ms", "30000"));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            defaults.put(endpointClass, Long.parseLong(config.getProperty(
+                    "deadline." + endpointClass.getKey() + ".default-ms",
+                    String.valueOf(endpointClass.getDeadlineMillis()))));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || EndpointClass.of(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestDeadline.begin(timeoutMillis(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.end();
+        }
+    }
+
+    private long timeoutMillis(HttpServletRequest request) {
+        long timeout = defaults.get(EndpointClass.of(request));
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                long requested = Long.parseLong(header.trim());
+                if (requested > 0) {
+                    timeout = requested;
+                }
+            } catch (NumberFormatException e) {
+                // Malformed header: keep the endpoint default
+            }
+        }
+        return Math.min(timeout, maxMillis);
+    }
+}
@@ -0,0 +1,212 @@
+package kz.aitu.music_library_api.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kz.aitu.music_library_api.cache.CacheDependencyTracker;
+import kz.aitu.music_library_api.cache.CachedResponse;
+import kz.aitu.music_library_api.cache.StaleValueTracker;
+import kz.aitu.music_library_api.patterns.AppConfig;
+import kz.aitu.music_library_api.patterns.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Response-level cache for the hot GET endpoints.
+ * Stores the final serialized body (plus a gzip copy) in CacheManager, tagged with
+ * every data entry the request read, so a hit skips the controller and Jackson entirely
+ * and any invalidation of the underlying data also drops the cached response.
+ * Ordered before AdmissionControlFilter, so hits bypass the bulkheads.
+ *
+ * Keys hold only the query parameters the endpoints read and the negotiated format, so
+ * cache-busting parameters and Accept header variants cannot multiply the entries. Bodies
+ * over cache.http.max-body-bytes, or that would take the cached responses past
+ * cache.http.max-bytes, are served but not stored.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final List<String> CACHED_PATHS = List.of(
+            "/api/media", "/api/media/*", "/api/media/type/*", "/api/media/search",
+            "/api/playlists", "/api/playlists/*", "/api/playlists/*/items");
+
+    /* Formats negotiated by Accept (ApiJsonConverter, ApiCborConverter, ApiSmileConverter) */
+    private static final List<MediaType> CACHED_TYPES = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    /* Every query parameter read by a cached endpoint, in key order; any other parameter is ignored */
+    private static final List<String> KEY_PARAMS = List.of("after", "expand", "ids", "include", "keyword", "limit");
+
+    /* Higher quality first, then concrete types before wildcards, as Spring's negotiation ranks them */
+    private static final Comparator<MediaType> ACCEPT_ORDER = Comparator
+            .comparingDouble(MediaType::getQualityValue).reversed()
+            .thenComparing(MediaType::isWildcardType)
+            .thenComparing(MediaType::isWildcardSubtype);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final long maxBodyBytes;
+    private final long maxBytes;
+
+    public ResponseCacheFilter() {
+        AppConfig config = AppConfig.getInstance();
+        this.cacheManager = CacheManager.getInstance();
+        this.enabled = Boolean.parseBoolean(config.getProperty("cache.http.enabled", "true"));
+        this.maxBodyBytes = Long.parseLong(config.getProperty("cache.http.max-body-bytes", "262144"));
+        this.maxBytes = Long.parseLong(config.getProperty("cache.http.max-bytes", "33554432"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return CACHED_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        MediaType negotiated = negotiatedType(request);
+        if (negotiated == null) {
+            // None of the cached formats is acceptable; let the controller answer (406)
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = cacheKey(request, negotiated);
+
+        Optional<CachedResponse> cached = cacheManager.get(key, CachedResponse.class);
+        if (cached.isPresent()) {
+            writeCached(request, response, cached.get());
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        long generation = cacheManager.currentGeneration();
+        Set<String> dependencies;
+        CacheDependencyTracker.begin();
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            dependencies = CacheDependencyTracker.end();
+        }
+
+        String contentType = wrapper.getContentType();
+        // A response built from stale data (database unavailable) must not outlive the outage
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && !dependencies.isEmpty() && !StaleValueTracker.isStale()
+                && isType(contentType, negotiated) && wrapper.getContentSize() <= maxBodyBytes) {
+            CachedResponse cachedResponse = new CachedResponse(contentType, wrapper.getContentAsByteArray());
+            if (cacheManager.getEstimatedBytes("http:") + cachedResponse.getSize() <= maxBytes) {
+                cacheManager.putIfCurrent(key, cachedResponse, dependencies, generation);
+            }
+        }
+
+        wrapper.setHeader("X-Cache", "MISS");
+        wrapper.addHeader(HttpHeaders.VARY, VARY);
+        wrapper.copyBodyToResponse();
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response,
+                             CachedResponse cached) throws IOException {
+        byte[] body = cached.getBody();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (cached.hasGzip() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = cached.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        response.setHeader("X-Cache", "HIT");
+        response.addHeader(HttpHeaders.VARY, VARY);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /*
+      Served as the negotiated type; anything else (an error body, another format) is not stored
+      under its key
+     */
+    private static boolean isType(String contentType, MediaType negotiated) {
+        if (contentType == null) {
+            return false;
+        }
+        return negotiated.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    /*
+      The cached format this request will be answered in, so every Accept header naming the same
+      format shares one entry; null when no cached format is acceptable or Accept is malformed
+     */
+    private static MediaType negotiatedType(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return CACHED_TYPES.get(0);
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        acceptable.sort(ACCEPT_ORDER);
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType cachedType : CACHED_TYPES) {
+                if (type.includes(cachedType)) {
+                    return cachedType;
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+      http:<resource>:<uri>?<known params>|<negotiated type>[|pretty], so stats group responses by
+      resource (http:media, http:playlists). Indented JSON (ApiJsonConverter) is a separate body
+     */
+    private static String cacheKey(HttpServletRequest request, MediaType negotiated) {
+        String uri = request.getRequestURI();
+        String resource = uri.startsWith("/api/playlists") ? "playlists" : "media";
+        StringBuilder key = new StringBuilder("http:").append(resource).append(':').append(uri);
+        char separator = '?';
+        for (String name : KEY_PARAMS) {
+            String[] values = request.getParameterValues(name);
+            if (values == null) {
+                continue;
+            }
+            for (String value : values) {
+                key.append(separator).append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        key.append('|').append(negotiated);
+        if (MediaType.APPLICATION_JSON.equals(negotiated) && ApiJsonConverter.isPrettyRequested(request)) {
+            key.append("|pretty");
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package kz.aitu.music_library_api.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kz.aitu.music_library_api.cache.StaleValueTracker;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes the stale-data flag (StaleValueTracker) to one request. Runs outside
+ * ResponseCacheFilter so the flag is still set when that filter decides whether to cache.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class StaleResponseFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        StaleValueTracker.clear();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            StaleValueTracker.clear();
+        }
+    }
+}
@@ -84,5 +84,6 @@ INSERT INTO playlist_items (playlist_id, media_id, position) VALUES
 CREATE INDEX IF NOT EXISTS idx_media_type ON media(type);
 CREATE INDEX IF NOT EXISTS idx_media_creator ON media(creator);
 CREATE INDEX IF NOT EXISTS idx_media_name ON media(name);
-CREATE INDEX IF NOT EXISTS idx_playlist_items_playlist ON playlist_items(playlist_id);
+-- Playlist order; serves ordered loads and keyset paging of /api/playlists/{id}/items
+CREATE INDEX IF NOT EXISTS idx_playlist_items_order ON playlist_items(playlist_id, position, media_id);
 CREATE INDEX IF NOT EXISTS idx_playlist_items_media ON playlist_items(media_id);
\ No newline at end of file
@@ -0,0 +1,31 @@
+package kz.aitu.music_library_api;
+
+import kz.aitu.music_library_api.changes.ChangeEvent;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.ReflectionHintsPredicates;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MusicLibraryRuntimeHintsTest {
+
+    @Test
+    void registersTheTypesJacksonOnlyMeetsAtRuntime() {
+        RuntimeHints hints = new RuntimeHints();
+        new MusicLibraryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        ReflectionHintsPredicates reflection = RuntimeHintsPredicates.reflection();
+
+        assertTrue(reflection.onMethod(Song.class, "getAlbum").test(hints));
+        assertTrue(reflection.onMethod(Podcast.class, "getEpisodeNumber").test(hints));
+        // Inherited getters and the enum they return come with the subtypes
+        assertTrue(reflection.onMethod(Media.class, "getFormattedDuration").test(hints));
+        assertTrue(reflection.onType(Media.MediaType.class).test(hints));
+        assertTrue(reflection.onMethod(ChangeEvent.class, "getPlaylistId").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("static/schema/music-library.schema.json").test(hints));
+    }
+}
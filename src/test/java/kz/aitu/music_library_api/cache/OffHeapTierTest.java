@@ -0,0 +1,93 @@
+package kz.aitu.music_library_api.cache;
+
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTierTest {
+
+    @Test
+    void codecRoundTripsMediaAndPlaylists() {
+        Song song = new Song(1, "Bohemian Rhapsody", 354, "Queen", "A Night at the Opera", "Rock", 1.29);
+        Podcast podcast = new Podcast(9, "Hardcore History", 14400, "Dan Carlin", "Dan Carlin", 68, null);
+        Playlist playlist = new Playlist(3, "Mixed", "Songs and shows", List.of(song, podcast));
+
+        Playlist decoded = (Playlist) MediaCodec.decode(MediaCodec.encode(playlist));
+
+        assertEquals("Mixed", decoded.getName());
+        assertEquals("Songs and shows", decoded.getDescription());
+        Song decodedSong = (Song) decoded.getItems().get(0);
+        assertEquals(1, decodedSong.getId());
+        assertEquals("A Night at the Opera", decodedSong.getAlbum());
+        assertEquals(1.29, decodedSong.getPrice());
+        Podcast decodedPodcast = (Podcast) decoded.getItems().get(1);
+        assertEquals(68, decodedPodcast.getEpisodeNumber());
+        assertNull(decodedPodcast.getCategory());
+        assertEquals(Media.MediaType.PODCAST, decodedPodcast.getType());
+    }
+
+    @Test
+    void takePromotesEntryAndFreesItsPages() {
+        OffHeapTier tier = new OffHeapTier(1024 * 1024);
+        Song song = new Song(1, "Imagine", 183, "John Lennon", "Imagine", "Pop", 0.99);
+
+        assertTrue(tier.put("media:id:1", song, Set.of("media#1"), new HashMap<>()));
+        assertTrue(tier.contains("media:id:1"));
+
+        OffHeapTier.Promoted promoted = tier.take("media:id:1");
+        assertEquals("Imagine", ((Song) promoted.getValue()).getName());
+        assertEquals(Set.of("media#1"), promoted.getTags());
+        assertFalse(tier.contains("media:id:1"));
+        assertEquals(0, tier.getStats().getUsedBytes());
+    }
+
+    @Test
+    void fullTierEvictsOldestEntries() {
+        OffHeapTier tier = new OffHeapTier(4 * 512);
+        Map<String, Set<String>> evicted = new HashMap<>();
+
+        for (int i = 1; i <= 5; i++) {
+            tier.put("media:id:" + i, new Song(i, "Song " + i, 100, "Artist", null, null, 0.99),
+                    Set.of("media#" + i), evicted);
+        }
+
+        assertEquals(Set.of("media:id:1"), evicted.keySet());
+        assertFalse(tier.contains("media:id:1"));
+        assertTrue(tier.contains("media:id:5"));
+    }
+
+    @Test
+    void redemotedEntryMovesToTheBackOfTheEvictionOrder() {
+        OffHeapTier tier = new OffHeapTier(4 * 512);
+        Map<String, Set<String>> evicted = new HashMap<>();
+        for (int i = 1; i <= 4; i++) {
+            tier.put("media:id:" + i, new Song(i, "Song " + i, 100, "Artist", null, null, 0.99),
+                    Set.of("media#" + i), evicted);
+        }
+
+        // Promoted to the heap and demoted again: now the most recently used
+        OffHeapTier.Promoted promoted = tier.take("media:id:1");
+        tier.put("media:id:1", promoted.getValue(), promoted.getTags(), evicted);
+        assertNull(tier.take("media:id:404"));
+        tier.put("media:id:5", new Song(5, "Song 5", 100, "Artist", null, null, 0.99), Set.of("media#5"), evicted);
+
+        assertEquals(Set.of("media:id:2"), evicted.keySet());
+        assertTrue(tier.contains("media:id:1"));
+    }
+
+    @Test
+    void rejectsUnsupportedValues() {
+        OffHeapTier tier = new OffHeapTier(1024 * 1024);
+        assertFalse(tier.put("misc", new Object(), Set.of(), new HashMap<>()));
+        assertEquals(1, tier.getStats().getRejections());
+    }
+}
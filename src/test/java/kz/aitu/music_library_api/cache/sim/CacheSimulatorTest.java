@@ -0,0 +1,67 @@
+package kz.aitu.music_library_api.cache.sim;
+
+import kz.aitu.music_library_api.cache.trace.AccessTraceRecorder;
+import kz.aitu.music_library_api.cache.trace.TraceEvent;
+import kz.aitu.music_library_api.cache.trace.TraceReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSimulatorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordedTraceReadsBack() throws Exception {
+        Path file = dir.resolve("trace.bin");
+        AccessTraceRecorder recorder = new AccessTraceRecorder(file, 1.0, 1 << 20);
+        recorder.record(TraceEvent.GET, "media:id:1", 0);
+        recorder.record(TraceEvent.PUT, "media:id:1", 120);
+        recorder.record(TraceEvent.INVALIDATE, "media:id:1", 0);
+        recorder.close();
+
+        try (TraceReader reader = TraceReader.open(file)) {
+            assertEquals(1.0, reader.getSampleRate());
+            TraceEvent get = reader.next();
+            assertEquals(TraceEvent.GET, get.getOp());
+            assertEquals(TraceEvent.hashKey("media:id:1"), get.getKey());
+            TraceEvent put = reader.next();
+            assertEquals(TraceEvent.PUT, put.getOp());
+            assertEquals(120, put.getBytes());
+            assertTrue(put.getTimeMicros() >= get.getTimeMicros());
+            assertEquals(TraceEvent.INVALIDATE, reader.next().getOp());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void frequencyAwarePolicySurvivesScans() throws Exception {
+        Path file = dir.resolve("scan.bin");
+        AccessTraceRecorder recorder = new AccessTraceRecorder(file, 1.0, 1 << 24);
+        int scanned = 0;
+        for (int round = 0; round < 20; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                recorder.record(TraceEvent.GET, "media:id:" + hot, 100);
+            }
+            // One-off keys, e.g. a crawler walking every id
+            for (int i = 0; i < 200; i++) {
+                recorder.record(TraceEvent.GET, "media:id:" + (1000 + scanned++), 100);
+            }
+        }
+        recorder.close();
+        assertEquals(0, recorder.getDropped());
+
+        SimulationResult lru = CacheSimulator.simulate(file, "lru", 100);
+        SimulationResult tinyLfu = CacheSimulator.simulate(file, "w-tinylfu", 100);
+        SimulationResult shortTtl = CacheSimulator.simulate(file, "w-tinylfu+ttl=0ms", 100);
+
+        assertEquals(0, lru.getHits());
+        assertTrue(tinyLfu.getHitRatio() > 0.1, tinyLfu.toString());
+        assertEquals(0, shortTtl.getHits());
+        assertTrue(tinyLfu.getPeakBytes() <= 100 * 100);
+    }
+}
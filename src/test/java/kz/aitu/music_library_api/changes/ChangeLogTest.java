@@ -0,0 +1,54 @@
+package kz.aitu.music_library_api.changes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    @Test
+    void replaysEventsAfterTheGivenId() {
+        ChangeLog log = new ChangeLog(8);
+        assertEquals(List.of(), log.since(0));
+
+        log.append(ChangeEvent.MEDIA, ChangeEvent.CREATED, 1, null);
+        log.append(ChangeEvent.PLAYLIST, ChangeEvent.CREATED, 1, null);
+        log.append(ChangeEvent.PLAYLIST_ITEM, ChangeEvent.ADDED, 1, 1);
+
+        List<ChangeEvent> missed = log.since(1);
+        assertEquals(2, missed.size());
+        assertEquals(2, missed.get(0).getId());
+        assertEquals(ChangeEvent.PLAYLIST_ITEM, missed.get(1).getEntity());
+        assertEquals(1, missed.get(1).getPlaylistId());
+        assertEquals(List.of(), log.since(3));
+    }
+
+    @Test
+    void reportsAGapOnceTheRingHasWrapped() {
+        ChangeLog log = new ChangeLog(4);
+        for (int i = 1; i <= 10; i++) {
+            log.append(ChangeEvent.MEDIA, ChangeEvent.UPDATED, i, null);
+        }
+
+        // Events 7..10 are held: resuming after 6 works, after 5 lost event 6
+        assertEquals(4, log.since(6).size());
+        assertNull(log.since(5));
+        // An id from before a restart
+        assertNull(log.since(42));
+    }
+
+    @Test
+    void idsFromAnotherEpochAreNotResumed() {
+        ChangeLog log = new ChangeLog(8, 1000);
+        log.append(ChangeEvent.MEDIA, ChangeEvent.CREATED, 1, null);
+        log.append(ChangeEvent.MEDIA, ChangeEvent.UPDATED, 1, null);
+
+        assertEquals("1000-2", log.eventId(2));
+        assertEquals(1, log.since("1000-1").size());
+        // Same number, but issued before a restart (or by a server without epochs)
+        assertNull(log.since("999-1"));
+        assertNull(log.since("1"));
+    }
+}
@@ -0,0 +1,101 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kz.aitu.music_library_api.dto.ApiResponse;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput and allocation of reflective vs hand-written serialization for a
+ * GET /api/media-sized response (1000 items) and a playlist list (50 x 20 items).
+ * Not a unit test; run with scripts/bench-json.sh.
+ */
+public class JsonSerializationBenchmark {
+
+    private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        List<Media> media = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            media.add(i % 4 == 0
+                    ? new Podcast(i, "Episode " + i, 1800 + i, "Network " + i % 10, "Host " + i % 7, i, "Tech")
+                    : new Song(i, "Track " + i, 120 + i % 240, "Artist " + i % 50, "Album " + i % 80, "Pop", 0.99));
+            media.get(media.size() - 1).freeze();
+        }
+        List<Playlist> playlists = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            playlists.add(new Playlist(i, "Playlist " + i, "Mix " + i,
+                    new ArrayList<>(media.subList(i * 10, i * 10 + 20))).freeze());
+        }
+
+        run("media list", ApiResponse.success(media), seconds);
+        run("playlist list", ApiResponse.success(playlists), seconds);
+    }
+
+    private static void run(String name, Object value, int seconds) throws Exception {
+        ObjectMapper reflective = mapper();
+        ObjectMapper handWritten = mapper().registerModule(new MusicLibraryJsonModule());
+        if (!reflective.writeValueAsString(value).equals(handWritten.writeValueAsString(value))) {
+            throw new IllegalStateException(name + ": outputs differ");
+        }
+        System.out.printf("%s (%d bytes)%n", name, reflective.writeValueAsBytes(value).length);
+        for (int round = 0; round < 2; round++) {
+            // First round is warm-up
+            Result before = measure(reflective, value, seconds);
+            Result after = measure(handWritten, value, seconds);
+            if (round == 1) {
+                System.out.printf("  reflective   %,10.0f ops/s %,12d B/op%n", before.opsPerSecond, before.bytesPerOp);
+                System.out.printf("  hand-written %,10.0f ops/s %,12d B/op  (%.2fx)%n",
+                        after.opsPerSecond, after.bytesPerOp, after.opsPerSecond / before.opsPerSecond);
+            }
+        }
+    }
+
+    private static Result measure(ObjectMapper mapper, Object value, int seconds) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long start = System.nanoTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long ops = 0;
+        while (System.nanoTime() < end) {
+            mapper.writeValue(DISCARD, value);
+            ops++;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        return new Result(ops / elapsed, allocated / ops);
+    }
+
+    private static ObjectMapper mapper() {
+        // As configured in application.properties, minus indentation
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+
+    private static final class Result {
+        private final double opsPerSecond;
+        private final long bytesPerOp;
+
+        private Result(double opsPerSecond, long bytesPerOp) {
+            this.opsPerSecond = opsPerSecond;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package kz.aitu.music_library_api.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kz.aitu.music_library_api.dto.ApiResponse;
+import kz.aitu.music_library_api.dto.NormalizedPlaylists;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MusicLibraryJsonModuleTest {
+
+    /* The reflective output the hand-written serializers must reproduce */
+    private final ObjectMapper reflective = mapper();
+    private final ObjectMapper handWritten = mapper().registerModule(new MusicLibraryJsonModule());
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    private static ObjectMapper configure(ObjectMapper binary) {
+        return binary
+                .registerModule(new JavaTimeModule())
+                .registerModule(new MusicLibraryJsonModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static List<Object> samples() {
+        Song song = new Song(1, "Imagine", 183, "John Lennon", "Imagine", "Pop", 0.99);
+        Song untitled = new Song(2, "Intro \"live\"", 5, "Ünïcode ✓", null, null, 0.0);
+        Podcast podcast = new Podcast(3, "Talk", 3600, "Radio", "Host", 5, null);
+        Playlist playlist = new Playlist(4, "Mix", "Road trip", new ArrayList<>(List.of(song, untitled, podcast)));
+        Playlist frozen = new Playlist(5, "Frozen", null, new ArrayList<>(List.of(song))).freeze();
+        return List.of(song, untitled, podcast, playlist, frozen, new Playlist(6, "Empty"),
+                ApiResponse.success("ok", List.of(song, podcast)),
+                ApiResponse.success("one", playlist),
+                ApiResponse.error("bad", "details"));
+    }
+
+    /*
+      Compared as trees: reflection lists getter-only properties (totalDuration,
+      formattedTotalDuration) in no fixed order, so the reflective byte order varies by run
+     */
+    @Test
+    void writesTheSameFieldsAndValuesAsReflectiveSerialization() throws Exception {
+        for (Object sample : samples()) {
+            assertEquals(reflective.readTree(reflective.writeValueAsString(sample)),
+                    handWritten.readTree(handWritten.writeValueAsString(sample)));
+        }
+    }
+
+    @Test
+    void binaryFormatsCarryTheSameFieldsAsJson() throws Exception {
+        ObjectMapper cbor = configure(new CBORMapper());
+        ObjectMapper smile = configure(new SmileMapper());
+        for (Object sample : samples()) {
+            JsonNode expected = handWritten.readTree(handWritten.writeValueAsBytes(sample));
+            assertEquals(expected, cbor.readTree(cbor.writeValueAsBytes(sample)));
+            assertEquals(expected, smile.readTree(smile.writeValueAsBytes(sample)));
+        }
+        Song song = new Song(1, "Imagine", 183, "John Lennon", "Imagine", "Pop", 0.99);
+        assertEquals(handWritten.writeValueAsString(song),
+                handWritten.writeValueAsString(cbor.readValue(cbor.writeValueAsBytes(song), Media.class)));
+    }
+
+    @Test
+    void normalizedPlaylistsCarryItemIdsAndEachMediaOnce() throws Exception {
+        Song song = new Song(1, "Imagine", 183, "John Lennon", "Imagine", "Pop", 0.99);
+        Podcast podcast = new Podcast(3, "Talk", 3600, "Radio", "Host", 5, null);
+        Playlist mix = new Playlist(4, "Mix", "Road trip", new ArrayList<>(List.of(podcast, song)));
+        Playlist single = new Playlist(5, "Single", null, new ArrayList<>(List.of(song))).freeze();
+        List<Playlist> playlists = List.of(mix, single);
+
+        JsonNode normalized = handWritten.readTree(
+                handWritten.writeValueAsString(NormalizedPlaylists.of(playlists)));
+
+        assertEquals(2, normalized.get("included").size());
+        assertEquals(handWritten.readTree(handWritten.writeValueAsString(song)), normalized.get("included").get("1"));
+        assertEquals(handWritten.readTree(handWritten.writeValueAsString(podcast)), normalized.get("included").get("3"));
+        for (int i = 0; i < playlists.size(); i++) {
+            ObjectNode expected = (ObjectNode) handWritten.readTree(handWritten.writeValueAsString(playlists.get(i)));
+            ArrayNode itemIds = expected.arrayNode();
+            expected.remove("items").forEach(item -> itemIds.add(item.get("id").asInt()));
+            expected.set("itemIds", itemIds);
+            assertEquals(expected, normalized.get("playlists").get(i));
+        }
+    }
+
+    @Test
+    void readsMediaBackByItsTypeDiscriminator() throws Exception {
+        String json = handWritten.writeValueAsString(new Podcast(3, "Talk", 3600, "Radio", "Host", 5, "News"));
+
+        Media media = handWritten.readValue(json, Media.class);
+
+        Podcast podcast = assertInstanceOf(Podcast.class, media);
+        assertEquals("Talk", podcast.getName());
+        assertEquals(5, podcast.getEpisodeNumber());
+        assertEquals(json, handWritten.writeValueAsString(podcast));
+
+        Media song = handWritten.readValue("{\"name\":\"A\",\"duration\":60,\"creator\":\"B\",\"type\":\"song\"}", Media.class);
+        assertEquals(0.99, assertInstanceOf(Song.class, song).getPrice());
+        assertThrows(Exception.class, () -> handWritten.readValue("{\"name\":\"A\"}", Media.class));
+    }
+}
@@ -0,0 +1,60 @@
+package kz.aitu.music_library_api.patterns;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    @Test
+    void rejectsCallsOverTheLimitWithoutQueuing() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 2, 1, 10, 1000, 0.5);
+
+        long first = limiter.tryAcquire();
+        long second = limiter.tryAcquire();
+        assertTrue(first >= 0 && second >= 0);
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release(first, false);
+        assertTrue(limiter.tryAcquire() >= 0);
+    }
+
+    @Test
+    void limitShrinksOnSlowOrFailedCallsAndGrowsBackWhenFast() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 8, 2, 10, 1000, 0.5);
+
+        // Two calls in flight during one slow spell back off once
+        Thread.sleep(1);
+        long a = limiter.tryAcquire();
+        long b = limiter.tryAcquire();
+        limiter.release(a, true);
+        limiter.release(b, true);
+        assertEquals(4, limiter.getLimit());
+
+        limiter.release(limiter.tryAcquire(), true);
+        assertEquals(2, limiter.getLimit());
+        limiter.release(limiter.tryAcquire(), true);
+        assertEquals(2, limiter.getLimit()); // min
+
+        // Grows only while the limit is actually in use
+        for (int i = 0; i < 100; i++) {
+            limiter.release(limiter.tryAcquire(), false);
+        }
+        assertEquals(2, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            List<Long> started = new ArrayList<>();
+            for (long start = limiter.tryAcquire(); start >= 0; start = limiter.tryAcquire()) {
+                started.add(start);
+            }
+            for (long start : started) {
+                limiter.release(start, false);
+            }
+        }
+        assertEquals(10, limiter.getLimit()); // max
+    }
+}
@@ -0,0 +1,356 @@
+package kz.aitu.music_library_api.patterns;
+
+import kz.aitu.music_library_api.cache.CacheDependencyTracker;
+import kz.aitu.music_library_api.cache.CacheLoader;
+import kz.aitu.music_library_api.cache.RegionStats;
+import kz.aitu.music_library_api.cache.StaleValueTracker;
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.DeadlineExceededException;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.model.Song;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheManagerTest {
+
+    private final CacheManager cacheManager = CacheManager.getInstance();
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.clearAll();
+    }
+
+    @Test
+    void getOrLoadRunsOneLoaderForConcurrentMisses() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cacheManager.getOrLoad("test:stampede", () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                })));
+            }
+
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertTrue(cacheManager.containsKey("test:stampede"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrLoadPropagatesLoaderFailureAndDoesNotCache() {
+        DatabaseOperationException failure = new DatabaseOperationException("boom", null);
+
+        DatabaseOperationException thrown = assertThrows(DatabaseOperationException.class,
+                () -> cacheManager.getOrLoad("test:failure", () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertFalse(cacheManager.containsKey("test:failure"));
+    }
+
+    @Test
+    void getOrLoadDoesNotCacheNullResults() throws Exception {
+        assertNull(cacheManager.getOrLoad("test:absent", () -> null));
+        assertFalse(cacheManager.containsKey("test:absent"));
+    }
+
+    @Test
+    void getOrLoadCachesNotFoundUntilItsTagIsInvalidated() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CacheLoader<String> loader = () -> {
+            loads.incrementAndGet();
+            return null;
+        };
+
+        assertNull(cacheManager.getOrLoad("media:id:404", loader, value -> Set.of(), Set.of("media#404")));
+        assertNull(cacheManager.getOrLoad("media:id:404", loader, value -> Set.of(), Set.of("media#404")));
+        assertEquals(1, loads.get());
+        assertTrue(cacheManager.get("media:id:404", String.class).isEmpty());
+        assertEquals(1, cacheManager.getStats().getNegativeEntries());
+
+        // e.g. a media item with that id was created
+        cacheManager.invalidateTags(Set.of("media#404"));
+        assertEquals(0, cacheManager.getStats().getNegativeEntries());
+        assertNull(cacheManager.getOrLoad("media:id:404", loader, value -> Set.of(), Set.of("media#404")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadsOverlappingAnInvalidationAreNotCached() throws Exception {
+        // A writer invalidates while the read is still in the database
+        String byTag = cacheManager.getOrLoad("media:id:7", () -> {
+            cacheManager.invalidateTags(Set.of("media#7"));
+            return "old";
+        }, value -> Set.of("media#7"));
+        assertEquals("old", byTag);
+        assertFalse(cacheManager.containsKey("media:id:7"));
+
+        cacheManager.getOrLoad("media:type:SONG", () -> {
+            cacheManager.invalidatePattern("media:*");
+            return "old";
+        });
+        assertFalse(cacheManager.containsKey("media:type:SONG"));
+        assertEquals(2, cacheManager.getStats().getRegions().get("media:type").getStaleFills()
+                + cacheManager.getStats().getRegions().get("media:id").getStaleFills());
+
+        long generation = cacheManager.currentGeneration();
+        cacheManager.invalidate("media:all");
+        assertFalse(cacheManager.putIfCurrent("media:all", "old", Set.of(), generation));
+        assertTrue(cacheManager.putIfCurrent("media:all", "new", Set.of(), cacheManager.currentGeneration()));
+
+        // Unrelated invalidations do not reject a fill
+        generation = cacheManager.currentGeneration();
+        cacheManager.invalidateTags(Set.of("playlist#1"));
+        assertTrue(cacheManager.putIfCurrent("media:id:8", "fresh", Set.of("media#8"), generation));
+    }
+
+    @Test
+    void servesLastKnownValueWhenTheDatabaseFailsAfterInvalidation() throws Exception {
+        cacheManager.getOrLoad("media:id:9", () -> "cached", value -> Set.of("media#9"));
+        cacheManager.invalidateTags(Set.of("media#9"));
+
+        try {
+            String value = cacheManager.getOrLoad("media:id:9", () -> {
+                throw new DatabaseOperationException("connection refused", null);
+            }, v -> Set.of("media#9"));
+
+            assertEquals("cached", value);
+            assertTrue(StaleValueTracker.isStale());
+            assertFalse(cacheManager.containsKey("media:id:9"));
+            assertEquals(1, cacheManager.getStats().getRegions().get("media:id").getStaleServed());
+        } finally {
+            StaleValueTracker.clear();
+        }
+
+        // Once reloaded the old value is no longer kept
+        cacheManager.invalidateTags(Set.of("media#9"));
+        cacheManager.getOrLoad("media:id:9", () -> "fresh", value -> Set.of("media#9"));
+        assertThrows(DatabaseOperationException.class, () -> cacheManager.getOrLoad("media:id:10", () -> {
+            throw new DatabaseOperationException("connection refused", null);
+        }));
+    }
+
+    @Test
+    void waitsOnAnotherRequestsLoadAreBoundedByTheRequestDeadline() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = pool.submit(() -> cacheManager.getOrLoad("test:slow", () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "value";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            RequestDeadline.begin(100);
+            long start = System.nanoTime();
+            try {
+                assertThrows(DeadlineExceededException.class,
+                        () -> cacheManager.getOrLoad("test:slow", () -> "other"));
+            } finally {
+                RequestDeadline.end();
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+
+            release.countDown();
+            assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void getAllReturnsCachedEntriesAndPutAllFillsTheMisses() {
+        cacheManager.put("media:id:1", "a", Set.of("media#1"));
+        long generation = cacheManager.currentGeneration();
+
+        Map<String, Optional<String>> cached = cacheManager.getAll(List.of("media:id:1", "media:id:2", "media:id:3"));
+        assertEquals(Map.of("media:id:1", Optional.of("a")), cached);
+
+        Map<String, String> loaded = new HashMap<>();
+        loaded.put("media:id:2", "b");
+        loaded.put("media:id:3", null); // not found
+        assertEquals(2, cacheManager.putAllIfCurrent(loaded, value -> Set.of("media#2"),
+                key -> Set.of("media#3"), generation));
+
+        cached = cacheManager.getAll(List.of("media:id:3", "media:id:2", "media:id:1"));
+        assertEquals(List.of("media:id:3", "media:id:2", "media:id:1"), new ArrayList<>(cached.keySet()));
+        assertEquals(Optional.empty(), cached.get("media:id:3"));
+        assertEquals(Optional.of("b"), cached.get("media:id:2"));
+
+        // A miss loaded across an invalidation is not cached
+        generation = cacheManager.currentGeneration();
+        cacheManager.invalidateTags(Set.of("media#4"));
+        assertEquals(0, cacheManager.putAllIfCurrent(Map.of("media:id:4", "d"), value -> Set.of("media#4"),
+                key -> Set.of(), generation));
+    }
+
+    @Test
+    void invalidateTagsDropsOnlyTaggedEntries() {
+        cacheManager.putList("media:all", List.of("a", "b"), Set.of("media#1", "media#2", "media-all"));
+        cacheManager.put("media:id:1", "a", Set.of("media#1"));
+        cacheManager.put("media:id:2", "b", Set.of("media#2"));
+
+        cacheManager.invalidateTags(Set.of("media#1"));
+
+        assertFalse(cacheManager.containsKey("media:all"));
+        assertFalse(cacheManager.containsKey("media:id:1"));
+        assertTrue(cacheManager.containsKey("media:id:2"));
+
+        // The index no longer points at removed keys, so a re-put is tracked afresh
+        cacheManager.put("media:id:1", "a2", Set.of("media#1"));
+        cacheManager.invalidateTags(Set.of("media#1"));
+        assertFalse(cacheManager.containsKey("media:id:1"));
+    }
+
+    @Test
+    void invalidatePatternMatchesGlobs() {
+        cacheManager.put("media:id:1", "a");
+        cacheManager.put("media:search:a.b", "b");
+        cacheManager.put("playlist:id:1", "c");
+
+        cacheManager.invalidatePattern("media:search:a.*");
+        assertTrue(cacheManager.containsKey("media:id:1"));
+        assertFalse(cacheManager.containsKey("media:search:a.b"));
+
+        cacheManager.invalidatePattern("*:id:*");
+        assertFalse(cacheManager.containsKey("media:id:1"));
+        assertFalse(cacheManager.containsKey("playlist:id:1"));
+    }
+
+    @Test
+    void statsTrackHitsMissesAndLoadsPerRegion() throws Exception {
+        cacheManager.getOrLoad("stats:id:1", () -> "a");
+        cacheManager.getOrLoad("stats:id:1", () -> "a");
+        cacheManager.getOrLoad("stats:id:2", () -> "b");
+        cacheManager.invalidate("stats:id:2");
+
+        RegionStats region = cacheManager.getStats().getRegions().get("stats:id");
+        assertTrue(region.getHits() >= 1);
+        assertTrue(region.getMisses() >= 2);
+        assertTrue(region.getLoads() >= 2);
+        assertTrue(region.getInvalidations() >= 1);
+    }
+
+    @Test
+    void listKeysPagesInOrder() {
+        for (int i = 0; i < 5; i++) {
+            cacheManager.put("page:id:" + i, i);
+        }
+        cacheManager.put("other:id:1", 1);
+
+        CacheManager.KeyPage first = cacheManager.listKeys("page:", null, 2);
+        assertEquals(List.of("page:id:0", "page:id:1"), first.getKeys());
+        assertEquals("page:id:1", first.getNextCursor());
+
+        CacheManager.KeyPage rest = cacheManager.listKeys("page:", first.getNextCursor(), 10);
+        assertEquals(List.of("page:id:2", "page:id:3", "page:id:4"), rest.getKeys());
+        assertNull(rest.getNextCursor());
+    }
+
+    @Test
+    void cachedValuesAreSharedAndReadOnly() throws Exception {
+        Song song = new Song(1, "Imagine", 183, "John Lennon", "Imagine", "Pop", 0.99);
+        List<Media> loaded = cacheManager.getOrLoad("media:all", () -> new ArrayList<>(List.of(song)));
+
+        assertSame(loaded, cacheManager.getOrLoad("media:all", List::of));
+        assertThrows(UnsupportedOperationException.class, () -> loaded.add(song));
+        assertThrows(IllegalStateException.class, () -> ((Song) loaded.get(0)).setPrice(0.0));
+
+        Playlist playlist = new Playlist(1, "Pop", null, new ArrayList<>(List.of(song)));
+        cacheManager.put("playlist:id:1", playlist);
+        Playlist cached = cacheManager.get("playlist:id:1", Playlist.class).orElseThrow();
+        assertSame(cached.getItems(), cached.getItems());
+        assertThrows(IllegalStateException.class, () -> cached.setName("Rock"));
+        // Already frozen, so stored again without another copy
+        cacheManager.put("playlist:id:2", cached);
+        assertSame(cached, cacheManager.get("playlist:id:2", Playlist.class).orElseThrow());
+    }
+
+    @Test
+    void cachingLeavesTheCallersObjectsMutable() {
+        Song song = new Song(1, "Imagine", 183, "John Lennon", "Imagine", "Pop", 0.99);
+        Playlist playlist = new Playlist(1, "Pop", null, new ArrayList<>(List.of(song)));
+        cacheManager.put("media:id:1", song);
+        cacheManager.putList("media:all", List.of(song));
+        cacheManager.put("playlist:id:1", playlist);
+
+        song.setPrice(1.29);
+        playlist.setName("Rock");
+        playlist.addMedia(new Song(2, "Yesterday", 125, "The Beatles", "Help!", "Pop", 0.99));
+
+        assertEquals(0.99, ((Song) cacheManager.get("media:id:1", Media.class).orElseThrow()).getPrice());
+        assertEquals(0.99, ((Song) cacheManager.<Media>getList("media:all").orElseThrow().get(0)).getPrice());
+        Playlist cached = cacheManager.get("playlist:id:1", Playlist.class).orElseThrow();
+        assertEquals("Pop", cached.getName());
+        assertEquals(1, cached.getItems().size());
+    }
+
+    @Test
+    void derivedEntriesAreRemovedWithTheirSources() throws Exception {
+        CacheDependencyTracker.begin();
+        cacheManager.getOrLoad("media:id:7", () -> "song", value -> Set.of("media#7"));
+        Set<String> dependencies = CacheDependencyTracker.end();
+        cacheManager.put("http:media:/api/media/7", "{}", dependencies);
+
+        cacheManager.invalidatePattern("media:*");
+
+        assertFalse(cacheManager.containsKey("http:media:/api/media/7"));
+    }
+
+    @Test
+    void heapOverflowEvictsTheLeastRecentlyUsedEntry() {
+        int capacity = Integer.parseInt(AppConfig.getInstance().getProperty("cache.heap.max-entries", "10000"));
+        for (int i = 0; i < capacity; i++) {
+            cacheManager.put("lru:" + i, "value " + i);
+        }
+        cacheManager.get("lru:0", String.class);
+        cacheManager.put("lru:" + capacity, "value " + capacity);
+
+        // Strings are not demoted off-heap, so the victim leaves the cache entirely
+        assertEquals(capacity, cacheManager.getStats().getSize());
+        assertTrue(cacheManager.containsKey("lru:0"));
+        assertFalse(cacheManager.containsKey("lru:1"));
+        assertTrue(cacheManager.containsKey("lru:" + capacity));
+    }
+}
@@ -0,0 +1,68 @@
+package kz.aitu.music_library_api.patterns;
+
+import kz.aitu.music_library_api.exception.DatabaseOperationException;
+import kz.aitu.music_library_api.exception.DeadlineExceededException;
+import kz.aitu.music_library_api.exception.ResourceNotFoundException;
+import kz.aitu.music_library_api.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesAfterASuccessfulProbe() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreaker.Call<String, RuntimeException> failing = () -> {
+            calls.incrementAndGet();
+            throw new DatabaseOperationException("connection refused", null);
+        };
+
+        assertThrows(DatabaseOperationException.class, () -> breaker.call(failing));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertThrows(DatabaseOperationException.class, () -> breaker.call(failing));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // Open: fails fast without reaching the database
+        ServiceUnavailableException open = assertThrows(ServiceUnavailableException.class, () -> breaker.call(failing));
+        assertTrue(open.getRetryAfterSeconds() >= 1);
+        assertEquals(2, calls.get());
+
+        Thread.sleep(150);
+        assertEquals("ok", breaker.call(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void businessExceptionsDoNotCountAsFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 10_000);
+
+        assertThrows(ResourceNotFoundException.class, () -> breaker.call(() -> {
+            throw new ResourceNotFoundException("Media", 1);
+        }));
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void aStatementRefusedPastTheDeadlineSurfacesAsDeadlineExceeded() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 10_000);
+        DeadlineExceededException refused = new DeadlineExceededException("refused", null);
+        RequestDeadline.begin(20);
+        try {
+            DeadlineExceededException thrown = assertThrows(DeadlineExceededException.class, () -> breaker.call(() -> {
+                Thread.sleep(30);
+                // As DeadlineJdbcTemplate reports it, through the repository's wrapping
+                throw new DatabaseOperationException("query failed", new SQLTimeoutException("refused", refused));
+            }));
+            assertSame(refused, thrown);
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        } finally {
+            RequestDeadline.end();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package kz.aitu.music_library_api.patterns;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggingServiceTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingService.class);
+    private final Level level = logger.getLevel();
+    private final LoggingService loggingService = LoggingService.getInstance();
+
+    @AfterEach
+    void restoreLevel() {
+        logger.setLevel(level);
+    }
+
+    @Test
+    void messagesOfDisabledLevelsAreNeverBuilt() {
+        logger.setLevel(Level.INFO);
+        AtomicInteger built = new AtomicInteger();
+
+        loggingService.logDebug(() -> "debug " + built.incrementAndGet());
+        loggingService.logInfo(() -> "info " + built.incrementAndGet());
+
+        assertFalse(loggingService.isDebugEnabled());
+        assertEquals(1, built.get());
+    }
+}
@@ -0,0 +1,34 @@
+package kz.aitu.music_library_api.patterns;
+
+import kz.aitu.music_library_api.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineTest {
+
+    @AfterEach
+    void endDeadline() {
+        RequestDeadline.end();
+    }
+
+    @Test
+    void queryTimeoutIsRoundedUpToAtLeastOneSecond() throws Exception {
+        assertEquals(0, RequestDeadline.queryTimeoutSeconds());
+
+        RequestDeadline.begin(1500);
+        assertEquals(2, RequestDeadline.queryTimeoutSeconds());
+
+        RequestDeadline.begin(20);
+        assertEquals(1, RequestDeadline.queryTimeoutSeconds());
+    }
+
+    @Test
+    void anExpiredDeadlineFailsFast() throws Exception {
+        RequestDeadline.begin(1);
+        Thread.sleep(5);
+
+        assertThrows(DeadlineExceededException.class, RequestDeadline::queryTimeoutSeconds);
+    }
+}
@@ -0,0 +1,219 @@
+package kz.aitu.music_library_api.reactive;
+
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.patterns.MediaFactory;
+import kz.aitu.music_library_api.reactive.repository.ReactivePlaylistRepository;
+import kz.aitu.music_library_api.patterns.CacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(classes = ReactiveMusicLibraryApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive-test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:reactive-schema.sql"
+        })
+class ReactiveMusicLibraryApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactivePlaylistRepository playlistRepository;
+
+    @BeforeEach
+    void clearCache() {
+        CacheManager.getInstance().clearAll();
+    }
+
+    @Test
+    void runsOnNetty(@Autowired ReactiveWebServerApplicationContext context) {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+
+    @Test
+    void streamsMediaAsNdjsonAndServesPlaylistsWithTheirItems() {
+        List<Map> media = webTestClient.get().uri("/api/media")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Map.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(3, media.size());
+        assertEquals("Bohemian Rhapsody", media.get(0).get("name"));
+
+        webTestClient.get().uri("/api/playlists/1?expand=items")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Classic Rock Anthems")
+                .jsonPath("$.items[0].name").isEqualTo("Imagine")
+                .jsonPath("$.items[1].name").isEqualTo("Bohemian Rhapsody");
+
+        webTestClient.get().uri("/api/media/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void writesAreVisibleThroughTheCache() {
+        webTestClient.get().uri("/api/media/type/{type}", Media.MediaType.PODCAST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+
+        webTestClient.post().uri(uri -> uri.path("/api/podcasts")
+                        .queryParam("name", "The Daily")
+                        .queryParam("duration", 1800)
+                        .queryParam("creator", "The New York Times")
+                        .queryParam("host", "Michael Barbaro")
+                        .queryParam("episodeNumber", 1500)
+                        .queryParam("category", "News")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isNumber();
+
+        webTestClient.get().uri("/api/media/type/{type}", Media.MediaType.PODCAST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+
+        webTestClient.post().uri("/api/playlists/1/media/3")
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/playlists/1")
+                .exchange()
+                .expectBody().jsonPath("$.itemCount").isEqualTo(3);
+    }
+
+    @Test
+    void playlistListingsMatchTheServletApi() {
+        webTestClient.get().uri("/api/playlists")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("Classic Rock Anthems")
+                .jsonPath("$[0].itemCount").isEqualTo(2)
+                .jsonPath("$[0].items").doesNotExist();
+
+        webTestClient.get().uri("/api/playlists?expand=items")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].items.length()").isEqualTo(2);
+
+        webTestClient.get().uri("/api/playlists?include=media")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.playlists[0].itemIds[0]").isEqualTo(2)
+                .jsonPath("$.included.1.name").isEqualTo("Bohemian Rhapsody");
+
+        webTestClient.get().uri("/api/playlists?expand=items&include=media")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/api/playlists/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deletingMediaDropsItFromCachedPlaylistsAndUnknownIdsAre404() {
+        webTestClient.delete().uri("/api/media/999")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        Map created = webTestClient.post().uri(uri -> uri.path("/api/songs")
+                        .queryParam("name", "Short Lived")
+                        .queryParam("duration", 120)
+                        .queryParam("creator", "Nobody")
+                        .queryParam("album", "Singles")
+                        .queryParam("genre", "Pop")
+                        .queryParam("price", 0.99)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        int before = playlistSize(1);
+        webTestClient.post().uri("/api/playlists/1/media/{id}", created.get("id"))
+                .exchange()
+                .expectStatus().isOk();
+        assertEquals(before + 1, playlistSize(1));
+
+        webTestClient.delete().uri("/api/media/{id}", created.get("id"))
+                .exchange()
+                .expectStatus().isOk();
+        assertEquals(before, playlistSize(1));
+    }
+
+    @Test
+    void itemsKeepTheOrderTheyWereAddedIn() {
+        Integer playlistId = databaseClient.sql("INSERT INTO playlists (name) VALUES ('Added Out Of Order')")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .block();
+        for (int mediaId : new int[]{3, 1, 2}) {
+            webTestClient.post().uri("/api/playlists/{id}/media/{mediaId}", playlistId, mediaId)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        Map first = webTestClient.get().uri("/api/playlists/{id}/items?limit=2", playlistId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        assertEquals(List.of(3, 1), ((List<Map>) first.get("items")).stream().map(item -> item.get("id")).toList());
+        webTestClient.get().uri("/api/playlists/{id}/items?limit=2&after={after}", playlistId, first.get("next"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].id").isEqualTo(2)
+                .jsonPath("$.next").doesNotExist();
+
+        List<Media> items = new ArrayList<>();
+        for (int mediaId : new int[]{3, 1, 3}) {
+            Media media = new MediaFactory().createMedia(Media.MediaType.SONG, "Item", 60, "Someone");
+            media.setId(mediaId);
+            items.add(media);
+        }
+        Playlist created = playlistRepository.create(new Playlist(0, "Created Out Of Order", null, items)).block();
+        List<Media> stored = playlistRepository.getById(created.getId()).block().getItems();
+        assertEquals(List.of(3, 1), stored.stream().map(Media::getId).toList());
+    }
+
+    private int playlistSize(int id) {
+        Map summary = webTestClient.get().uri("/api/playlists/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        return (Integer) summary.get("itemCount");
+    }
+}
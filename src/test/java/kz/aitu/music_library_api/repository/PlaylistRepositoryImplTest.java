@@ -0,0 +1,131 @@
+package kz.aitu.music_library_api.repository;
+
+import kz.aitu.music_library_api.dto.PlaylistItemsPage;
+import kz.aitu.music_library_api.dto.PlaylistSummary;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Playlist;
+import kz.aitu.music_library_api.patterns.MediaFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistRepositoryImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private PlaylistRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:playlist-" + System.nanoTime() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("reactive-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = withMaxSize(1000);
+    }
+
+    private PlaylistRepositoryImpl withMaxSize(int maxPlaylistSize) {
+        return new PlaylistRepositoryImpl(jdbcTemplate, new MediaRepositoryImpl(jdbcTemplate, new MediaFactory()),
+                transactionTemplate, maxPlaylistSize);
+    }
+
+    @Test
+    void addingAppendsOnceAndSummaryCountsItems() throws Exception {
+        assertTrue(repository.addMediaToPlaylist(1, 3));
+        assertFalse(repository.addMediaToPlaylist(1, 3));
+        assertTrue(repository.containsMedia(1, 3));
+
+        PlaylistSummary summary = repository.getSummary(1);
+        assertEquals(3, summary.getItemCount());
+        assertEquals(183 + 354 + 14400, summary.getTotalDuration());
+        assertEquals(List.of(2, 1, 3), ids(repository.getItemsPage(1, -1, -1, 10)));
+    }
+
+    @Test
+    void pagesFollowTheCursorInPlaylistOrder() throws Exception {
+        repository.addMediaToPlaylist(1, 3);
+
+        PlaylistItemsPage first = repository.getItemsPage(1, -1, -1, 2);
+        assertEquals(List.of(2, 1), ids(first));
+        assertNotNull(first.getNext());
+
+        String[] cursor = first.getNext().split("\\.");
+        PlaylistItemsPage second = repository.getItemsPage(1,
+                Integer.parseInt(cursor[0]), Integer.parseInt(cursor[1]), 2);
+        assertEquals(List.of(3), ids(second));
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void addingToAFullPlaylistIsRejected() throws Exception {
+        PlaylistRepositoryImpl small = withMaxSize(3);
+        assertTrue(small.addMediaToPlaylist(1, 3));
+        jdbcTemplate.update("INSERT INTO media (name, duration, type, creator) VALUES ('Extra', 60, 'SONG', 'Someone')");
+        Integer extra = jdbcTemplate.queryForObject("SELECT MAX(id) FROM media", Integer.class);
+
+        assertFalse(small.addMediaToPlaylist(1, extra));
+        assertFalse(small.containsMedia(1, extra));
+        assertEquals(3, small.getSummary(1).getItemCount());
+    }
+
+    @Test
+    void concurrentAddsStopAtTheLimitWithDistinctPositions() throws Exception {
+        List<Integer> mediaIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            jdbcTemplate.update("INSERT INTO media (name, duration, type, creator) VALUES (?, 60, 'SONG', 'Someone')",
+                    "Track " + i);
+            mediaIds.add(jdbcTemplate.queryForObject("SELECT MAX(id) FROM media", Integer.class));
+        }
+        PlaylistRepositoryImpl small = withMaxSize(5);
+        List<Callable<Boolean>> adds = new ArrayList<>();
+        for (Integer mediaId : mediaIds) {
+            adds.add(() -> small.addMediaToPlaylist(1, mediaId));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(mediaIds.size());
+        try {
+            pool.invokeAll(adds);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM playlist_items WHERE playlist_id = 1", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT position) FROM playlist_items WHERE playlist_id = 1", Integer.class));
+    }
+
+    @Test
+    void creatingInsertsItemsInOrderOnce() throws Exception {
+        List<Media> items = new ArrayList<>();
+        for (int id : new int[]{3, 1, 3, 0}) {
+            Media media = new MediaFactory().createMedia(Media.MediaType.SONG, "Item", 60, "Someone");
+            media.setId(id);
+            items.add(media);
+        }
+        Playlist created = repository.create(new Playlist(0, "Road trip", "", items));
+
+        assertEquals(List.of(3, 1), ids(repository.getItemsPage(created.getId(), -1, -1, 10)));
+    }
+
+    private static List<Integer> ids(PlaylistItemsPage page) {
+        List<Integer> ids = new ArrayList<>();
+        for (Media media : page.getItems()) {
+            ids.add(media.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,61 @@
+package kz.aitu.music_library_api.repository.loader;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataLoaderTest {
+
+    private final List<Set<Integer>> batches = new ArrayList<>();
+
+    /* Ids up to 100 exist */
+    private final DataLoader<String> loader = new DataLoader<>(ids -> {
+        batches.add(Set.copyOf(ids));
+        Map<Integer, String> found = new HashMap<>();
+        for (Integer id : ids) {
+            if (id <= 100) {
+                found.put(id, "media-" + id);
+            }
+        }
+        return found;
+    }, 3);
+
+    @Test
+    void loadsQueuedInALoopAreDispatchedTogetherAndMemoized() throws Exception {
+        List<DataLoader<String>.Pending> pending = new ArrayList<>();
+        for (int id : List.of(1, 2, 1, 404)) {
+            pending.add(loader.load(id));
+        }
+        assertTrue(batches.isEmpty());
+
+        List<String> values = new ArrayList<>();
+        for (DataLoader<String>.Pending value : pending) {
+            values.add(value.get());
+        }
+
+        assertEquals(List.of(Set.of(1, 2, 404)), batches);
+        assertEquals(List.of("media-1", "media-2", "media-1"), values.subList(0, 3));
+        assertNull(values.get(3));
+
+        // Known ids, including known misses, cost no further queries
+        assertEquals(List.of("media-2", "media-1"), loader.loadMany(List.of(2, 404, 1)));
+        assertEquals(1, loader.getDispatches());
+    }
+
+    @Test
+    void loadManySplitsByMaxBatchSizeAndClearForgetsValues() throws Exception {
+        assertEquals(List.of("media-5", "media-4", "media-3", "media-2", "media-1"),
+                loader.loadMany(List.of(5, 4, 3, 2, 1)));
+        assertEquals(2, loader.getDispatches());
+
+        loader.clear();
+        loader.load(1).get();
+        assertEquals(3, loader.getDispatches());
+    }
+}
@@ -0,0 +1,66 @@
+package kz.aitu.music_library_api.service;
+
+import kz.aitu.music_library_api.patterns.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheServiceImplTest {
+
+    private final CacheManager cacheManager = CacheManager.getInstance();
+    private final CacheServiceImpl cacheService = new CacheServiceImpl();
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.clearAll();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidationsInATransactionApplyOnceAfterCommit() throws Exception {
+        cacheManager.put("media:id:1", "old", Set.of("media#1"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cacheService.invalidateTags(Set.of("media#1"));
+        // Reads inside the transaction neither see nor fill the cache
+        assertEquals("uncommitted", cacheService.getOrLoad("media:id:1", () -> "uncommitted"));
+        assertEquals("uncommitted", cacheService.getOrLoad("media:id:2", () -> "uncommitted"));
+        assertTrue(cacheManager.containsKey("media:id:1"));
+        assertFalse(cacheManager.containsKey("media:id:2"));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertFalse(cacheManager.containsKey("media:id:1"));
+    }
+
+    @Test
+    void rollbackLeavesTheCacheAsItWas() {
+        cacheManager.put("media:id:1", "old", Set.of("media#1"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cacheService.invalidateTags(Set.of("media#1"));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(cacheManager.containsKey("media:id:1"));
+        assertNull(TransactionSynchronizationManager.getResource(cacheService));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
@@ -0,0 +1,93 @@
+package kz.aitu.music_library_api.service;
+
+import kz.aitu.music_library_api.cache.CacheTags;
+import kz.aitu.music_library_api.model.Media;
+import kz.aitu.music_library_api.model.Podcast;
+import kz.aitu.music_library_api.model.Song;
+import kz.aitu.music_library_api.patterns.CacheManager;
+import kz.aitu.music_library_api.patterns.MediaFactory;
+import kz.aitu.music_library_api.repository.MediaRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaCachePatchTest {
+
+    private final CacheManager cacheManager = CacheManager.getInstance();
+
+    private final Song imagine = new Song(1, "Imagine", 183, "John Lennon", "Imagine", "Pop", 0.99);
+    private final Song yesterday = new Song(2, "Yesterday", 125, "The Beatles", "Help!", "Pop", 0.99);
+
+    @BeforeEach
+    void seedCache() {
+        cacheManager.clearAll();
+        List<Media> all = List.of(imagine, yesterday);
+        cacheManager.putList("media:all", all, CacheTags.ofMediaList(all, CacheTags.MEDIA_ALL));
+        cacheManager.putList("media:type:SONG", all,
+                CacheTags.ofMediaList(all, CacheTags.mediaType(Media.MediaType.SONG)));
+        cacheManager.put("media:id:1", imagine, CacheTags.ofMedia(imagine));
+        cacheManager.putList("media:search:ima", List.of(imagine),
+                CacheTags.ofMediaList(List.of(imagine), CacheTags.MEDIA_SEARCH));
+    }
+
+    @Test
+    void updatePatchesListsInPlaceAndDropsSearches() {
+        Podcast updated = new Podcast(1, "A Podcast", 3600, "John Lennon", "Host", 1, "Talk");
+
+        cacheManager.patchTags(MediaCachePatch.affectedTags(imagine, updated), MediaCachePatch.saved(updated));
+
+        List<Media> all = cacheManager.<Media>getList("media:all").orElseThrow();
+        assertEquals(List.of(1, 2), ids(all));
+        assertEquals("A Podcast", all.get(0).getName());
+        assertEquals(List.of(2), ids(cacheManager.<Media>getList("media:type:SONG").orElseThrow()));
+        assertEquals(Media.MediaType.PODCAST, cacheManager.get("media:id:1", Media.class).orElseThrow().getType());
+        assertFalse(cacheManager.containsKey("media:search:ima"));
+
+        // The patched entries are re-tagged: the item no longer belongs to the SONG list
+        cacheManager.invalidateTags(Set.of(CacheTags.media(1)));
+        assertTrue(cacheManager.containsKey("media:type:SONG"));
+        assertFalse(cacheManager.containsKey("media:all"));
+    }
+
+    @Test
+    void createAndDeleteKeepListsOrdered() {
+        Song added = new Song(3, "Hey Jude", 431, "The Beatles", "Hey Jude", "Rock", 1.29);
+
+        cacheManager.patchTags(MediaCachePatch.affectedTags(null, added), MediaCachePatch.saved(added));
+        assertEquals(List.of(1, 2, 3), ids(cacheManager.<Media>getList("media:all").orElseThrow()));
+        assertEquals(List.of(3, 1, 2), ids(cacheManager.<Media>getList("media:type:SONG").orElseThrow()));
+
+        cacheManager.patchTags(Set.of(CacheTags.media(2)), MediaCachePatch.deleted(2));
+        assertEquals(List.of(1, 3), ids(cacheManager.<Media>getList("media:all").orElseThrow()));
+        assertEquals(List.of(3, 1), ids(cacheManager.<Media>getList("media:type:SONG").orElseThrow()));
+    }
+
+    @Test
+    void patchedListsUseTheRepositoryOrder() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:media-order;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("reactive-schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String name : new String[]{"abc", "ABC", "Abd", "ab", "a c", "Zed", "abc "}) {
+            jdbcTemplate.update("INSERT INTO media (name, duration, type, creator) VALUES (?, 60, 'SONG', 'Someone')", name);
+        }
+
+        List<Media> songs = new MediaRepositoryImpl(jdbcTemplate, new MediaFactory()).findByType(Media.MediaType.SONG);
+        List<Media> sorted = new ArrayList<>(songs);
+        sorted.sort(MediaCachePatch.BY_NAME);
+        assertEquals(songs.stream().map(Media::getId).toList(), sorted.stream().map(Media::getId).toList());
+    }
+
+    private static List<Integer> ids(List<Media> media) {
+        return media.stream().map(Media::getId).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package kz.aitu.music_library_api.web;
+
+import jakarta.servlet.FilterChain;
+import kz.aitu.music_library_api.cache.CacheDependencyTracker;
+import kz.aitu.music_library_api.patterns.CacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private final CacheManager cacheManager = CacheManager.getInstance();
+    private final ResponseCacheFilter filter = new ResponseCacheFilter();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.clearAll();
+    }
+
+    @Test
+    void unknownParamsAndAcceptVariantsShareOneEntry() throws Exception {
+        assertEquals("MISS", get("/api/media", "_=1", "application/json", 100).getHeader("X-Cache"));
+        assertEquals("HIT", get("/api/media", "_=2", "application/json, */*;q=0.8", 100).getHeader("X-Cache"));
+        assertEquals("HIT", get("/api/media", null, null, 100).getHeader("X-Cache"));
+        assertEquals(1, calls.get());
+
+        assertEquals("MISS", get("/api/media/search", "keyword=rock", "application/json", 100).getHeader("X-Cache"));
+        assertEquals("MISS", get("/api/media/search", "keyword=pop", "application/json", 100).getHeader("X-Cache"));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void prettyJsonIsCachedSeparately() throws Exception {
+        assertEquals("MISS", get("/api/media", null, "application/json", 100).getHeader("X-Cache"));
+        assertEquals("MISS", get("/api/media", "pretty=true", "application/json", 100).getHeader("X-Cache"));
+        assertEquals("HIT", get("/api/media", "pretty=1", "application/json", 100).getHeader("X-Cache"));
+        assertEquals("HIT", get("/api/media", "pretty=false", "application/json", 100).getHeader("X-Cache"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void bodiesOverTheLimitAreServedButNotCached() throws Exception {
+        MockHttpServletResponse first = get("/api/media", null, "application/json", 300_000);
+        assertEquals(300_000, first.getContentAsByteArray().length);
+        assertEquals("MISS", get("/api/media", null, "application/json", 300_000).getHeader("X-Cache"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void cachedResponsesCarryCorsHeaders() throws Exception {
+        ApiCorsFilter cors = new ApiCorsFilter();
+        for (String expected : new String[]{"MISS", "HIT"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/media");
+            request.addHeader("Origin", "https://example.com");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            cors.doFilter(request, response, (req, res) -> filter.doFilter(req, res, (innerReq, innerRes) -> {
+                calls.incrementAndGet();
+                CacheDependencyTracker.record("media:all", Set.of("media"));
+                innerRes.setContentType("application/json");
+                innerRes.getOutputStream().write(new byte[100]);
+            }));
+            assertEquals(expected, response.getHeader("X-Cache"));
+            assertEquals("*", response.getHeader("Access-Control-Allow-Origin"));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    private MockHttpServletResponse get(String uri, String query, String accept, int bodySize) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (query != null) {
+            request.setQueryString(query);
+            String[] param = query.split("=", 2);
+            request.addParameter(param[0], param[1]);
+        }
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain controller = (req, res) -> {
+            calls.incrementAndGet();
+            CacheDependencyTracker.record("media:all", Set.of("media"));
+            res.setContentType("application/json");
+            res.getOutputStream().write(new byte[bodySize]);
+        };
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
@@ -0,0 +1,39 @@
+-- Tables used by the repositories, for the in-memory H2 database of the reactive API tests
+CREATE TABLE IF NOT EXISTS media (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    duration INTEGER NOT NULL CHECK (duration > 0),
+    type VARCHAR(16) NOT NULL CHECK (type IN ('SONG', 'PODCAST')),
+    creator VARCHAR(255) NOT NULL,
+    album VARCHAR(255),
+    genre VARCHAR(255),
+    price NUMERIC(5, 2) DEFAULT 0.99 CHECK (price >= 0),
+    host VARCHAR(255),
+    episode_number INTEGER DEFAULT 0 CHECK (episode_number >= 0),
+    category VARCHAR(255),
+    UNIQUE (name, type, creator)
+);
+
+CREATE TABLE IF NOT EXISTS playlists (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(1000)
+);
+
+CREATE TABLE IF NOT EXISTS playlist_items (
+    playlist_id INTEGER NOT NULL REFERENCES playlists (id) ON DELETE CASCADE,
+    media_id INTEGER NOT NULL REFERENCES media (id) ON DELETE CASCADE,
+    position INTEGER DEFAULT 0 CHECK (position >= 0),
+    PRIMARY KEY (playlist_id, media_id)
+);
+
+INSERT INTO media (name, duration, type, creator, album, genre, price) VALUES
+    ('Bohemian Rhapsody', 354, 'SONG', 'Queen', 'A Night at the Opera', 'Rock', 1.29),
+    ('Imagine', 183, 'SONG', 'John Lennon', 'Imagine', 'Pop', 0.99);
+
+INSERT INTO media (name, duration, type, creator, host, episode_number, category) VALUES
+    ('Hardcore History', 14400, 'PODCAST', 'Dan Carlin', 'Dan Carlin', 68, 'History');
+
+INSERT INTO playlists (name, description) VALUES ('Classic Rock Anthems', 'The greatest rock songs of all time');
+
+INSERT INTO playlist_items (playlist_id, media_id, position) VALUES (1, 2, 1), (1, 1, 2);